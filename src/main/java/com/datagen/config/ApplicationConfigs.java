@@ -28,6 +28,23 @@ public enum ApplicationConfigs {
   GENERATION_THREADS_DEFAULT,
   GENERATION_BATCHES_DEFAULT,
   GENERATION_ROWS_DEFAULT,
+  GENERATION_CHUNK_SIZE,
+  GENERATION_QUEUE_SIZE,
+  GENERATION_DELIVERY_DEPTH,
+  GENERATION_DELIVERY_DEPTH_PER_CONNECTOR,
+  GENERATION_DELIVERY_OVERFLOW_POLICY,
+  GENERATION_POOL_THREADS,
+  GENERATION_SEED,
+  GENERATION_STREAMING_RATE,
+  GENERATION_STREAMING_PROFILE,
+  GENERATION_STREAMING_PERIOD_SECONDS,
+  GENERATION_STREAMING_DURATION_SECONDS,
+  GENERATION_STREAMING_MAX_ROWS,
+  GENERATION_MEMORY_BUDGET_PERCENT,
+  GENERATION_MEMORY_MAX_WAIT_SECONDS,
+  GENERATION_SHARD_NAME,
+  GENERATION_SHARD_FIRST_ROW,
+  GENERATION_SHARD_INCREMENT_ORIGINS,
   GENERATION_JS_EVALUATOR_CONTEXT_NUMBER,
   GENERATION_JS_EVALUATOR_CONTEXT_LANGUAGE,
   DATAGEN_HOME_DIRECTORY,
@@ -40,6 +57,10 @@ public enum ApplicationConfigs {
   DATAGEN_SCHEDULER_FILE_PATH,
   DATAGEN_USERS_FILE_PATH,
   DATAGEN_COMMANDS_PATH,
+  DATAGEN_SPILL_PATH,
+  DATAGEN_WORKERS,
+  DATAGEN_WORKERS_USER,
+  DATAGEN_WORKERS_PASSWORD,
   DATAGEN_LOAD_DEFAULT_MODELS,
 
   DATAGEN_ADMIN_USER,
@@ -75,6 +75,12 @@ public class ConnectorParser {
     SOLR
     ;
 
+    // Connectors writing files, others write to services (tables, topics, indexes)
+    public boolean writesFiles() {
+      return this != HIVE && this != HBASE && this != KAFKA && this != KUDU &&
+          this != SOLR;
+    }
+
     public static Comparator<Connector> connectorInitPrecedence = new Comparator<>() {
       @Override
       public int compare(Connector s1, Connector s2) {
@@ -19,6 +19,7 @@ package com.datagen.connector;
 
 import com.datagen.model.Model;
 import com.datagen.model.Row;
+import com.datagen.model.RowBatch;
 
 import java.util.List;
 
@@ -30,6 +31,41 @@ public interface ConnectorInterface {
 
     void sendOneBatchOfRows(List<Row> rows);
 
+    /**
+     * Send a batch of rows stored by columns
+     * By default, it is converted to rows, connectors able to use columns directly should override it
+     * and supportsRowBatch()
+     */
+    default void sendOneRowBatch(RowBatch rowBatch) {
+        sendOneBatchOfRows(rowBatch.toRows());
+    }
+
+    default boolean supportsRowBatch() {
+        return false;
+    }
+
+    /**
+     * Write rows still held by the connector (i.e. pending in its MicroBatcher)
+     * It is called before each checkpoint of a command, so a checkpoint never accounts for rows not written
+     */
+    default void flush() {}
+
+    /**
+     * Called once all rows of a batch have been sent (and flushed), as rows of a batch are sent by many chunks
+     * Connectors writing one file per batch close it here, so a batch is never split in many files
+     */
+    default void endBatch() {}
+
+    /**
+     * Number of files written so far, by connectors writing one file per chunk
+     * It is saved with each checkpoint of a command, so a resumed command does not overwrite previous files
+     */
+    default int getCounter() {
+        return 0;
+    }
+
+    default void setCounter(int counter) {}
+
     Model generateModel(Boolean deepAnalysis);
 
 }
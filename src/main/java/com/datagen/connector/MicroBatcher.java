@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.connector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Re-chunk what is sent to a connector into writes of the size it handles best, whatever the size of generated batches
+ * Items are written once (flushSize) of them are pending, or when (flushIntervalMs) elapsed since last write
+ * (checked when items are added and by a timer, so items do not wait for next ones),
+ * remaining ones are written by flush() before each checkpoint, and by close() when connector terminates
+ */
+@Slf4j
+public class MicroBatcher<T> {
+
+  // Shared by all micro batchers, writes are made by it only when no items are added for a while
+  private static final ScheduledExecutorService TIMER =
+      Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "datagen-micro-batcher");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  private final String name;
+  private final int flushSize;
+  private final long flushIntervalMs;
+  private final Consumer<List<T>> writer;
+  private List<T> pending;
+  private long lastFlush;
+  private final ScheduledFuture<?> timer;
+
+  /**
+   * @param name            of the connector, for logs
+   * @param flushSize       maximum number of items per write
+   * @param flushIntervalMs maximum time items wait to be written, 0 to only write by size
+   * @param writer          writes a list of items to the connector
+   */
+  public MicroBatcher(String name, int flushSize, long flushIntervalMs,
+                      Consumer<List<T>> writer) {
+    this.name = name;
+    this.flushSize = Math.max(1, flushSize);
+    this.flushIntervalMs = flushIntervalMs;
+    this.writer = writer;
+    this.pending = new ArrayList<>(this.flushSize);
+    this.lastFlush = System.currentTimeMillis();
+    this.timer = flushIntervalMs > 0 ?
+        TIMER.scheduleWithFixedDelay(this::flushIfDue, flushIntervalMs,
+            flushIntervalMs, TimeUnit.MILLISECONDS) : null;
+    log.info("Writes to {} are made by {} items at most, or every {} ms",
+        name, this.flushSize, flushIntervalMs);
+  }
+
+  public synchronized void add(List<T> items) {
+    for (T item : items) {
+      pending.add(item);
+      if (pending.size() >= flushSize) {
+        flush();
+      }
+    }
+    if (flushIntervalMs > 0 &&
+        System.currentTimeMillis() - lastFlush >= flushIntervalMs) {
+      flush();
+    }
+  }
+
+  // Run by the timer, a failed write must not stop it
+  private synchronized void flushIfDue() {
+    try {
+      if (System.currentTimeMillis() - lastFlush >= flushIntervalMs) {
+        flush();
+      }
+    } catch (Exception e) {
+      log.warn("Could not write pending items to {}: ", name, e);
+    }
+  }
+
+  /**
+   * Write all pending items
+   */
+  public synchronized void flush() {
+    lastFlush = System.currentTimeMillis();
+    if (pending.isEmpty()) {
+      return;
+    }
+    List<T> toWrite = pending;
+    pending = new ArrayList<>(flushSize);
+    log.debug("Writing {} items to {}", toWrite.size(), name);
+    writer.accept(toWrite);
+  }
+
+  /**
+   * Write all pending items and stop the timer, to call when connector terminates
+   */
+  public void close() {
+    if (timer != null) {
+      timer.cancel(false);
+    }
+    flush();
+  }
+
+}
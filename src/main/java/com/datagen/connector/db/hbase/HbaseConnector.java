@@ -19,6 +19,7 @@ package com.datagen.connector.db.hbase;
 
 
 import com.datagen.connector.ConnectorInterface;
+import com.datagen.connector.MicroBatcher;
 import com.datagen.model.type.Field;
 import com.datagen.utils.KerberosUtils;
 import com.datagen.utils.Utils;
@@ -57,6 +58,7 @@ public class HbaseConnector implements ConnectorInterface {
     private Admin admin;
     private final Boolean useKerberos;
     private final Configuration config;
+    private MicroBatcher<Row> microBatcher;
 
     public HbaseConnector(Model model, Map<ApplicationConfigs, String> properties) {
         String fullTableName = model.getTableNames()
@@ -131,6 +133,10 @@ public class HbaseConnector implements ConnectorInterface {
             }
 
             this.table = connection.getTable(tableName);
+            this.microBatcher = new MicroBatcher<>("HBase table " + tableName,
+                (Integer) model.getOptionsOrDefault(OptionsConverter.Options.HBASE_FLUSH_SIZE),
+                (Integer) model.getOptionsOrDefault(OptionsConverter.Options.HBASE_FLUSH_INTERVAL_MS),
+                this::putRows);
 
         } catch (IOException e) {
             log.error("Could not initiate HBase connection due to error: ", e);
@@ -140,6 +146,9 @@ public class HbaseConnector implements ConnectorInterface {
     @Override
     public void terminate() {
         try {
+            if (microBatcher != null) {
+                microBatcher.close();
+            }
             table.close();
             connection.close();
             if(useKerberos) {
@@ -153,6 +162,17 @@ public class HbaseConnector implements ConnectorInterface {
 
     @Override
     public void sendOneBatchOfRows(List<Row> rows) {
+        microBatcher.add(rows);
+    }
+
+    @Override
+    public void flush() {
+        if (microBatcher != null) {
+            microBatcher.flush();
+        }
+    }
+
+    private void putRows(List<Row> rows) {
         try {
             List<Put> putList = rows.parallelStream()
                 .map(Row::toHbasePut)
@@ -19,6 +19,7 @@ package com.datagen.connector.index;
 
 import com.datagen.config.ApplicationConfigs;
 import com.datagen.connector.ConnectorInterface;
+import com.datagen.connector.MicroBatcher;
 import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
@@ -49,6 +50,7 @@ public class SolRConnector implements ConnectorInterface {
   private final String collection;
   private final Model model;
   private final Boolean useKerberos;
+  private MicroBatcher<Row> microBatcher;
 
   public SolRConnector(Model model,
                        Map<ApplicationConfigs, String> properties) {
@@ -155,12 +157,17 @@ public class SolRConnector implements ConnectorInterface {
     }
     // Set base URL directly to the collection, note that this is required
     cloudSolrClient.setDefaultCollection(collection);
+    this.microBatcher = new MicroBatcher<>("SolR collection " + collection,
+        (Integer) model.getOptionsOrDefault(OptionsConverter.Options.SOLR_FLUSH_SIZE),
+        (Integer) model.getOptionsOrDefault(OptionsConverter.Options.SOLR_FLUSH_INTERVAL_MS),
+        this::addAndCommitRows);
   }
 
 
   @Override
   public void terminate() {
     try {
+      microBatcher.close();
       cloudSolrClient.close();
     } catch (Exception e) {
       log.error("Could not close connection to SolR due to error: ", e);
@@ -172,6 +179,15 @@ public class SolRConnector implements ConnectorInterface {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
+    microBatcher.add(rows);
+  }
+
+  @Override
+  public void flush() {
+    microBatcher.flush();
+  }
+
+  private void addAndCommitRows(List<Row> rows) {
     try {
       cloudSolrClient.add(
           rows.parallelStream().map(Row::toSolRDoc).collect(Collectors.toList())
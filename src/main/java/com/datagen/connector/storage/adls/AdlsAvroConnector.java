@@ -26,6 +26,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.file.DataFileReader;
@@ -52,6 +54,8 @@ public class AdlsAvroConnector extends AdlsUtils implements ConnectorInterface
   private final Model model;
   private final Boolean oneFilePerIteration;
 
+  @Getter
+  @Setter
   private int counter;
   private String currentFileName;
 
@@ -104,6 +108,9 @@ public class AdlsAvroConnector extends AdlsUtils implements ConnectorInterface
         dataFileWriter.close();
         pushLocalFileToADLS(localDirectory + currentFileName,
             currentFileName);
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -114,25 +121,33 @@ public class AdlsAvroConnector extends AdlsUtils implements ConnectorInterface
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.currentFileName = fileNamePrefix + "-" + String.format("%010d", counter) + ".avro";
-        this.dataFileWriter = AvroUtils.createFileWithOverwrite(localDirectory +
-            currentFileName, schema, datumWriter);
-        counter++;
-      }
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && dataFileWriter == null) {
+      this.currentFileName = fileNamePrefix + "-" + String.format("%010d", counter) + ".avro";
+      this.dataFileWriter = AvroUtils.createFileWithOverwrite(localDirectory +
+          currentFileName, schema, datumWriter);
+      counter++;
+    }
 
-      rows.stream().map(row -> row.toGenericRecord(schema))
-          .forEach(genericRecord -> {
-            try {
-              this.dataFileWriter.append(genericRecord);
-            } catch (IOException e) {
-              log.error("Can not write data to the local file due to error: ", e);
-            }
-          });
+    rows.stream().map(row -> row.toGenericRecord(schema))
+        .forEach(genericRecord -> {
+          try {
+            this.dataFileWriter.append(genericRecord);
+          } catch (IOException e) {
+            log.error("Can not write data to the local file due to error: ", e);
+          }
+        });
+  }
 
+  @Override
+  public void endBatch() {
+    if (dataFileWriter == null) {
+      return;
+    }
+    try {
       if (oneFilePerIteration) {
         this.dataFileWriter.close();
+        this.dataFileWriter = null;
         pushLocalFileToADLS(localDirectory + currentFileName,
             currentFileName);
         FileUtils.deleteLocalFile(localDirectory + currentFileName);
@@ -25,6 +25,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
@@ -46,6 +48,8 @@ public class AdlsJsonConnector extends AdlsUtils implements ConnectorInterface
   private final String lineSeparator;
   private final Boolean oneFilePerIteration;
 
+  @Getter
+  @Setter
   private int counter;
   private String currentFileName;
 
@@ -93,6 +97,9 @@ public class AdlsJsonConnector extends AdlsUtils implements ConnectorInterface
       if (!oneFilePerIteration) {
         outputStream.close();
         pushLocalFileToADLS(localDirectory + currentFileName, currentFileName);
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -103,27 +110,36 @@ public class AdlsJsonConnector extends AdlsUtils implements ConnectorInterface
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.currentFileName = fileNamePrefix + "-" + String.format("%010d", counter) + ".json";
-        this.outputStream = FileUtils.createLocalFileAsOutputStream(
-            localDirectory + currentFileName);
-        counter++;
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && outputStream == null) {
+      this.currentFileName = fileNamePrefix + "-" + String.format("%010d", counter) + ".json";
+      this.outputStream = FileUtils.createLocalFileAsOutputStream(
+          localDirectory + currentFileName);
+      counter++;
+    }
+
+    rows.stream().map(Row::toJSON).forEach(r -> {
+      try {
+        outputStream.write(r.getBytes());
+        outputStream.write(lineSeparator.getBytes());
+      } catch (IOException e) {
+        log.error("Could not write row: " + r + " to file: " +
+            outputStream.getChannel());
       }
+    });
+  }
 
-      rows.stream().map(Row::toJSON).forEach(r -> {
-        try {
-          outputStream.write(r.getBytes());
-          outputStream.write(lineSeparator.getBytes());
-        } catch (IOException e) {
-          log.error("Could not write row: " + r + " to file: " +
-              outputStream.getChannel());
-        }
-      });
+  @Override
+  public void endBatch() {
+    if (outputStream == null) {
+      return;
+    }
+    try {
       outputStream.write(lineSeparator.getBytes());
 
       if (oneFilePerIteration) {
         outputStream.close();
+        outputStream = null;
         pushLocalFileToADLS(localDirectory + currentFileName, currentFileName);
         FileUtils.deleteLocalFile(localDirectory + currentFileName);
       }
@@ -26,6 +26,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
@@ -51,6 +53,8 @@ public class AdlsParquetConnector extends AdlsUtils implements ConnectorInterfac
   private final Model model;
   private final Boolean oneFilePerIteration;
 
+  @Getter
+  @Setter
   private int counter;
   private String currentFileName;
 
@@ -102,6 +106,9 @@ public class AdlsParquetConnector extends AdlsUtils implements ConnectorInterfac
       if (!oneFilePerIteration) {
         parquetWriter.close();
         pushLocalFileToADLS(localDirectory + currentFileName, currentFileName);
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -112,26 +119,34 @@ public class AdlsParquetConnector extends AdlsUtils implements ConnectorInterfac
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.currentFileName = fileNamePrefix + "-" + String.format("%010d", counter) + ".parquet";
-        this.parquetWriter = ParquetUtils.createLocalFileWithOverwrite(
-            localDirectory +
-                currentFileName, schema, this.parquetWriter, model);
-        counter++;
-      }
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && parquetWriter == null) {
+      this.currentFileName = fileNamePrefix + "-" + String.format("%010d", counter) + ".parquet";
+      this.parquetWriter = ParquetUtils.createLocalFileWithOverwrite(
+          localDirectory +
+              currentFileName, schema, this.parquetWriter, model);
+      counter++;
+    }
 
-      rows.stream().map(row -> row.toGenericRecord(schema))
-          .forEach(genericRecord -> {
-            try {
-              parquetWriter.write(genericRecord);
-            } catch (IOException e) {
-              log.error("Can not write data to the local file due to error: ", e);
-            }
-          });
+    rows.stream().map(row -> row.toGenericRecord(schema))
+        .forEach(genericRecord -> {
+          try {
+            parquetWriter.write(genericRecord);
+          } catch (IOException e) {
+            log.error("Can not write data to the local file due to error: ", e);
+          }
+        });
+  }
 
+  @Override
+  public void endBatch() {
+    if (parquetWriter == null) {
+      return;
+    }
+    try {
       if (oneFilePerIteration) {
         parquetWriter.close();
+        parquetWriter = null;
         pushLocalFileToADLS(localDirectory + currentFileName, currentFileName);
         FileUtils.deleteLocalFile(localDirectory + currentFileName);
       }
@@ -25,6 +25,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.file.DataFileReader;
@@ -51,6 +53,8 @@ public class AvroConnector implements ConnectorInterface {
   private Schema schema;
   private DataFileWriter<GenericRecord> dataFileWriter;
   private DatumWriter<GenericRecord> datumWriter;
+  @Getter
+  @Setter
   private int counter;
   private Model model;
   private final String directoryName;
@@ -94,8 +98,10 @@ public class AvroConnector implements ConnectorInterface {
   @Override
   public void terminate() {
     try {
-      if (!oneFilePerIteration) {
+      // File of a batch not ended (i.e. a stream of rows) is closed too
+      if (dataFileWriter != null) {
         dataFileWriter.close();
+        dataFileWriter = null;
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -105,7 +111,8 @@ public class AvroConnector implements ConnectorInterface {
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
 
-    if (oneFilePerIteration) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && dataFileWriter == null) {
       this.dataFileWriter = AvroUtils.createFileWithOverwrite(
           directoryName + fileName + "-" + String.format("%010d", counter) +
               ".avro", schema, datumWriter);
@@ -120,10 +127,17 @@ public class AvroConnector implements ConnectorInterface {
             log.error("Can not write data to the local file due to error: ", e);
           }
         });
+  }
 
+  @Override
+  public void endBatch() {
+    if (dataFileWriter == null) {
+      return;
+    }
     if (oneFilePerIteration) {
       try {
         dataFileWriter.close();
+        dataFileWriter = null;
       } catch (IOException e) {
         log.error(" Unable to close local file with error :", e);
       }
@@ -25,12 +25,17 @@ import com.datagen.connector.storage.utils.FileUtils;
 import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
+import com.datagen.model.RowBatch;
 import com.datagen.model.type.Field;
 import com.datagen.model.type.StringField;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
 import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * This is a CSV connector to write to one or multiple CSV files locally
@@ -39,6 +44,8 @@ import java.util.*;
 public class CSVConnector implements ConnectorInterface {
 
   private FileOutputStream outputStream;
+  @Getter
+  @Setter
   private int counter;
   private final Model model;
   private final String lineSeparator;
@@ -82,8 +89,10 @@ public class CSVConnector implements ConnectorInterface {
   @Override
   public void terminate() {
     try {
-      if (!oneFilePerIteration) {
+      // File of a batch not ended (i.e. a stream of rows) is closed too
+      if (outputStream != null) {
         outputStream.close();
+        outputStream = null;
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -92,28 +101,50 @@ public class CSVConnector implements ConnectorInterface {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.outputStream = FileUtils.createLocalFileAsOutputStream(
-            directoryName + fileName + "-" + String.format("%010d", counter) +
-                ".csv");
-        CSVUtils.appendCSVHeader(model, outputStream, lineSeparator);
-        counter++;
+    writeLines(rows.stream().map(Row::toCSV));
+  }
+
+  @Override
+  public void sendOneRowBatch(RowBatch rowBatch) {
+    writeLines(IntStream.range(0, rowBatch.getSize()).mapToObj(rowBatch::toCSV));
+  }
+
+  @Override
+  public boolean supportsRowBatch() {
+    return true;
+  }
+
+  private void writeLines(Stream<String> lines) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && outputStream == null) {
+      this.outputStream = FileUtils.createLocalFileAsOutputStream(
+          directoryName + fileName + "-" + String.format("%010d", counter) +
+              ".csv");
+      CSVUtils.appendCSVHeader(model, outputStream, lineSeparator);
+      counter++;
+    }
+
+    lines.forEach(r -> {
+      try {
+        outputStream.write(r.getBytes());
+        outputStream.write(lineSeparator.getBytes());
+      } catch (IOException e) {
+        log.error("Could not write row: " + r + " to file: " +
+            outputStream.getChannel());
       }
+    });
+  }
 
-      rows.stream().map(Row::toCSV).forEach(r -> {
-        try {
-          outputStream.write(r.getBytes());
-          outputStream.write(lineSeparator.getBytes());
-        } catch (IOException e) {
-          log.error("Could not write row: " + r + " to file: " +
-              outputStream.getChannel());
-        }
-      });
+  @Override
+  public void endBatch() {
+    if (outputStream == null) {
+      return;
+    }
+    try {
       outputStream.write(lineSeparator.getBytes());
-
       if (oneFilePerIteration) {
         outputStream.close();
+        outputStream = null;
       }
     } catch (IOException e) {
       log.error("Can not write data to the local file due to error: ", e);
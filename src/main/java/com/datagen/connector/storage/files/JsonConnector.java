@@ -25,6 +25,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.FileOutputStream;
@@ -42,6 +44,8 @@ import java.util.Map;
 public class JsonConnector implements ConnectorInterface {
 
   private FileOutputStream outputStream;
+  @Getter
+  @Setter
   private int counter;
   private Model model;
   private final String directoryName;
@@ -84,8 +88,10 @@ public class JsonConnector implements ConnectorInterface {
   @Override
   public void terminate() {
     try {
-      if (!oneFilePerIteration) {
+      // File of a batch not ended (i.e. a stream of rows) is closed too
+      if (outputStream != null) {
         outputStream.close();
+        outputStream = null;
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -94,27 +100,35 @@ public class JsonConnector implements ConnectorInterface {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.outputStream = FileUtils.createLocalFileAsOutputStream(
-            directoryName + fileName + "-" + String.format("%010d", counter) +
-                ".json");
-        counter++;
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && outputStream == null) {
+      this.outputStream = FileUtils.createLocalFileAsOutputStream(
+          directoryName + fileName + "-" + String.format("%010d", counter) +
+              ".json");
+      counter++;
+    }
+
+    rows.stream().map(Row::toJSON).forEach(r -> {
+      try {
+        outputStream.write(r.getBytes());
+        outputStream.write(lineSeparator.getBytes());
+      } catch (IOException e) {
+        log.error("Could not write row: " + r + " to file: " +
+            outputStream.getChannel());
       }
+    });
+  }
 
-      rows.stream().map(Row::toJSON).forEach(r -> {
-        try {
-          outputStream.write(r.getBytes());
-          outputStream.write(lineSeparator.getBytes());
-        } catch (IOException e) {
-          log.error("Could not write row: " + r + " to file: " +
-              outputStream.getChannel());
-        }
-      });
+  @Override
+  public void endBatch() {
+    if (outputStream == null) {
+      return;
+    }
+    try {
       outputStream.write(lineSeparator.getBytes());
-
       if (oneFilePerIteration) {
         outputStream.close();
+        outputStream = null;
       }
     } catch (IOException e) {
       log.error("Can not write data to the local file due to error: ", e);
@@ -24,7 +24,10 @@ import com.datagen.connector.storage.utils.OrcUtils;
 import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
+import com.datagen.model.RowBatch;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
@@ -40,6 +43,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 
 /**
@@ -53,6 +57,8 @@ public class ORCConnector implements ConnectorInterface {
   private Writer writer;
   private Map<String, ColumnVector> vectors;
   private VectorizedRowBatch batch;
+  @Getter
+  @Setter
   private int counter;
   private final Model model;
   private final String directoryName;
@@ -98,8 +104,10 @@ public class ORCConnector implements ConnectorInterface {
   @Override
   public void terminate() {
     try {
-      if (!oneFilePerIteration) {
+      // File of a batch not ended (i.e. a stream of rows) is closed too
+      if (writer != null) {
         writer.close();
+        writer = null;
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -110,16 +118,38 @@ public class ORCConnector implements ConnectorInterface {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    if (oneFilePerIteration) {
+    writeRows(rows.size(), (r, rowNumber) ->
+        rows.get(r).fillinOrcVector(rowNumber, vectors));
+  }
+
+  @Override
+  public void sendOneRowBatch(RowBatch rowBatch) {
+    writeRows(rowBatch.getSize(), (r, rowNumber) ->
+        rowBatch.fillinOrcVector(r, rowNumber, vectors));
+  }
+
+  @Override
+  public boolean supportsRowBatch() {
+    return true;
+  }
+
+  /**
+   * Write rows to ORC file by batches
+   * @param numberOfRows to write
+   * @param rowFiller    fills the ORC vectors at a row number with the row at an index
+   */
+  private void writeRows(int numberOfRows, BiConsumer<Integer, Integer> rowFiller) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && writer == null) {
       this.writer = OrcUtils.createLocalFileWithOverwrite(
           directoryName + fileName + "-" + String.format("%010d", counter) +
               ".orc", this.writer, schema);
       counter++;
     }
 
-    for (Row row : rows) {
+    for (int r = 0; r < numberOfRows; r++) {
       int rowNumber = batch.size++;
-      row.fillinOrcVector(rowNumber, vectors);
+      rowFiller.accept(r, rowNumber);
       try {
         if (batch.size == batch.getMaxSize()) {
           writer.addRowBatch(batch);
@@ -138,11 +168,14 @@ public class ORCConnector implements ConnectorInterface {
     } catch (IOException e) {
       log.error("Can not write data to the local file due to error: ", e);
     }
+  }
 
-    if ((Boolean) model.getOptionsOrDefault(
-        OptionsConverter.Options.ONE_FILE_PER_ITERATION)) {
+  @Override
+  public void endBatch() {
+    if (oneFilePerIteration && writer != null) {
       try {
         writer.close();
+        writer = null;
       } catch (IOException e) {
         log.error(" Unable to close local file with error :", e);
       }
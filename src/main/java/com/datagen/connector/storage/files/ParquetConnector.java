@@ -26,6 +26,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
@@ -49,6 +51,8 @@ public class ParquetConnector implements ConnectorInterface {
 
   private Schema schema;
   private ParquetWriter<GenericRecord> writer;
+  @Getter
+  @Setter
   private int counter;
   private final Model model;
   private final String directoryName;
@@ -96,8 +100,10 @@ public class ParquetConnector implements ConnectorInterface {
   @Override
   public void terminate() {
     try {
-      if (!oneFilePerIteration) {
+      // File of a batch not ended (i.e. a stream of rows) is closed too
+      if (writer != null) {
         writer.close();
+        writer = null;
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -106,7 +112,8 @@ public class ParquetConnector implements ConnectorInterface {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    if (oneFilePerIteration) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && writer == null) {
       this.writer = ParquetUtils.createLocalFileWithOverwrite(
           directoryName + fileName + "-" + String.format("%010d", counter) +
               ".parquet", schema, this.writer, this.model);
@@ -120,9 +127,14 @@ public class ParquetConnector implements ConnectorInterface {
             log.error("Can not write data to the local file due to error: ", e);
           }
         });
-    if (oneFilePerIteration) {
+  }
+
+  @Override
+  public void endBatch() {
+    if (oneFilePerIteration && writer != null) {
       try {
         writer.close();
+        writer = null;
       } catch (IOException e) {
         log.error(" Unable to close local file with error :", e);
       }
@@ -26,6 +26,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.file.DataFileReader;
@@ -52,6 +54,8 @@ public class GcsAvroConnector extends GcsUtils implements ConnectorInterface  {
   private final Model model;
   private final Boolean oneFilePerIteration;
 
+  @Getter
+  @Setter
   private int counter;
   private String currentFileName;
 
@@ -104,6 +108,9 @@ public class GcsAvroConnector extends GcsUtils implements ConnectorInterface  {
         dataFileWriter.close();
         pushLocalFileToGCS(localDirectory + currentFileName,
             currentFileName);
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
       closeGCS();
     } catch (IOException e) {
@@ -115,25 +122,33 @@ public class GcsAvroConnector extends GcsUtils implements ConnectorInterface  {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.currentFileName = objectNamePrefix + "-" + String.format("%010d", counter) + ".avro";
-        this.dataFileWriter = AvroUtils.createFileWithOverwrite(localDirectory +
-            currentFileName, schema, datumWriter);
-        counter++;
-      }
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && dataFileWriter == null) {
+      this.currentFileName = objectNamePrefix + "-" + String.format("%010d", counter) + ".avro";
+      this.dataFileWriter = AvroUtils.createFileWithOverwrite(localDirectory +
+          currentFileName, schema, datumWriter);
+      counter++;
+    }
 
-      rows.stream().map(row -> row.toGenericRecord(schema))
-          .forEach(genericRecord -> {
-            try {
-              this.dataFileWriter.append(genericRecord);
-            } catch (IOException e) {
-              log.error("Can not write data to the local file due to error: ", e);
-            }
-          });
+    rows.stream().map(row -> row.toGenericRecord(schema))
+        .forEach(genericRecord -> {
+          try {
+            this.dataFileWriter.append(genericRecord);
+          } catch (IOException e) {
+            log.error("Can not write data to the local file due to error: ", e);
+          }
+        });
+  }
 
+  @Override
+  public void endBatch() {
+    if (dataFileWriter == null) {
+      return;
+    }
+    try {
       if (oneFilePerIteration) {
         this.dataFileWriter.close();
+        this.dataFileWriter = null;
         pushLocalFileToGCS(localDirectory + currentFileName,
             currentFileName);
         FileUtils.deleteLocalFile(localDirectory + currentFileName);
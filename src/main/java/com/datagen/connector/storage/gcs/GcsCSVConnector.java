@@ -27,6 +27,8 @@ import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
 import com.datagen.model.type.StringField;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
@@ -43,6 +45,8 @@ public class GcsCSVConnector extends GcsUtils implements ConnectorInterface  {
   private final String lineSeparator;
   private final Boolean oneFilePerIteration;
 
+  @Getter
+  @Setter
   private int counter;
   private String currentFileName;
 
@@ -90,6 +94,9 @@ public class GcsCSVConnector extends GcsUtils implements ConnectorInterface  {
       if (!oneFilePerIteration) {
         outputStream.close();
         pushLocalFileToGCS(localDirectory + currentFileName, currentFileName);
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
       closeGCS();
     } catch (IOException e) {
@@ -101,28 +108,37 @@ public class GcsCSVConnector extends GcsUtils implements ConnectorInterface  {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.currentFileName = objectNamePrefix + "-" + String.format("%010d", counter) + ".csv";
-        this.outputStream = FileUtils.createLocalFileAsOutputStream(
-            localDirectory + currentFileName);
-        CSVUtils.appendCSVHeader(model, outputStream, lineSeparator);
-        counter++;
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && outputStream == null) {
+      this.currentFileName = objectNamePrefix + "-" + String.format("%010d", counter) + ".csv";
+      this.outputStream = FileUtils.createLocalFileAsOutputStream(
+          localDirectory + currentFileName);
+      CSVUtils.appendCSVHeader(model, outputStream, lineSeparator);
+      counter++;
+    }
+
+    rows.stream().map(Row::toCSV).forEach(r -> {
+      try {
+        outputStream.write(r.getBytes());
+        outputStream.write(lineSeparator.getBytes());
+      } catch (IOException e) {
+        log.error("Could not write row: " + r + " to file: " +
+            outputStream.getChannel());
       }
+    });
+  }
 
-      rows.stream().map(Row::toCSV).forEach(r -> {
-        try {
-          outputStream.write(r.getBytes());
-          outputStream.write(lineSeparator.getBytes());
-        } catch (IOException e) {
-          log.error("Could not write row: " + r + " to file: " +
-              outputStream.getChannel());
-        }
-      });
+  @Override
+  public void endBatch() {
+    if (outputStream == null) {
+      return;
+    }
+    try {
       outputStream.write(lineSeparator.getBytes());
 
       if (oneFilePerIteration) {
         outputStream.close();
+        outputStream = null;
         pushLocalFileToGCS(localDirectory + currentFileName, currentFileName);
         FileUtils.deleteLocalFile(localDirectory + currentFileName);
       }
@@ -26,6 +26,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
@@ -52,6 +54,8 @@ public class GcsOrcConnector extends GcsUtils implements ConnectorInterface {
   private final Model model;
   private final Boolean oneFilePerIteration;
 
+  @Getter
+  @Setter
   private int counter;
   private String currentFileName;
 
@@ -105,6 +109,9 @@ public class GcsOrcConnector extends GcsUtils implements ConnectorInterface {
       if (!oneFilePerIteration) {
         this.orcWriter.close();
         pushLocalFileToGCS(localDirectory + currentFileName, currentFileName);
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
       closeGCS();
     } catch (IOException e) {
@@ -116,37 +123,45 @@ public class GcsOrcConnector extends GcsUtils implements ConnectorInterface {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.currentFileName = objectNamePrefix + "-" + String.format("%010d", counter) + ".orc";
-        this.orcWriter = OrcUtils.createLocalFileWithOverwrite(localDirectory +
-            currentFileName, this.orcWriter, this.schema);
-        counter++;
-      }
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && orcWriter == null) {
+      this.currentFileName = objectNamePrefix + "-" + String.format("%010d", counter) + ".orc";
+      this.orcWriter = OrcUtils.createLocalFileWithOverwrite(localDirectory +
+          currentFileName, this.orcWriter, this.schema);
+      counter++;
+    }
 
-      for (Row row : rows) {
-        int rowNumber = batch.size++;
-        row.fillinOrcVector(rowNumber, vectors);
-        try {
-          if (batch.size == batch.getMaxSize()) {
-            orcWriter.addRowBatch(batch);
-            batch.reset();
-          }
-        } catch (IOException e) {
-          log.error("Can not write data to the local file due to error: ", e);
-        }
-      }
+    for (Row row : rows) {
+      int rowNumber = batch.size++;
+      row.fillinOrcVector(rowNumber, vectors);
       try {
-        if (batch.size != 0) {
+        if (batch.size == batch.getMaxSize()) {
           orcWriter.addRowBatch(batch);
           batch.reset();
         }
       } catch (IOException e) {
         log.error("Can not write data to the local file due to error: ", e);
       }
+    }
+    try {
+      if (batch.size != 0) {
+        orcWriter.addRowBatch(batch);
+        batch.reset();
+      }
+    } catch (IOException e) {
+      log.error("Can not write data to the local file due to error: ", e);
+    }
+  }
 
+  @Override
+  public void endBatch() {
+    if (orcWriter == null) {
+      return;
+    }
+    try {
       if (oneFilePerIteration) {
         this.orcWriter.close();
+        this.orcWriter = null;
         pushLocalFileToGCS(localDirectory + currentFileName, currentFileName);
         FileUtils.deleteLocalFile(localDirectory + currentFileName);
       }
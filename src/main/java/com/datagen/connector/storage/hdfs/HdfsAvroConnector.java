@@ -25,6 +25,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.file.DataFileReader;
@@ -55,6 +57,8 @@ public class HdfsAvroConnector extends HdfsUtils implements ConnectorInterface {
   private DatumWriter<GenericRecord> datumWriter;
   private FSDataOutputStream fsDataOutputStream;
 
+  @Getter
+  @Setter
   private int counter;
   private final Model model;
   private final Boolean oneFilePerIteration;
@@ -97,8 +101,11 @@ public class HdfsAvroConnector extends HdfsUtils implements ConnectorInterface {
   @Override
   public void terminate() {
     try {
-      dataFileWriter.close();
-      fsDataOutputStream.close();
+      // File of a batch not ended (i.e. a stream of rows) is closed too
+      if (dataFileWriter != null) {
+        dataFileWriter.close();
+        fsDataOutputStream.close();
+      }
       closeHDFS();
     } catch (IOException e) {
       log.error(" Unable to close HDFSAVRO file with error :", e);
@@ -107,8 +114,8 @@ public class HdfsAvroConnector extends HdfsUtils implements ConnectorInterface {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    if ((Boolean) model.getOptionsOrDefault(
-        OptionsConverter.Options.ONE_FILE_PER_ITERATION)) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && dataFileWriter == null) {
       this.fsDataOutputStream = createFileWithOverwrite(
           directoryName + fileName + "-" + String.format("%010d", counter) +
               ".avro");
@@ -124,11 +131,19 @@ public class HdfsAvroConnector extends HdfsUtils implements ConnectorInterface {
             log.error("Can not write data to the hdfs file due to error: ", e);
           }
         });
+  }
 
+  @Override
+  public void endBatch() {
+    if (dataFileWriter == null) {
+      return;
+    }
     if (oneFilePerIteration) {
       try {
         dataFileWriter.close();
         fsDataOutputStream.close();
+        dataFileWriter = null;
+        fsDataOutputStream = null;
       } catch (IOException e) {
         log.error(" Unable to close hdfs file with error :", e);
       }
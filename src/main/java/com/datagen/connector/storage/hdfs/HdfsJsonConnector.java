@@ -25,6 +25,8 @@ import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
 import com.datagen.utils.KerberosUtils;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.fs.FSDataOutputStream;
 
@@ -44,6 +46,8 @@ public class HdfsJsonConnector extends HdfsUtils implements ConnectorInterface {
 
   private FSDataOutputStream fsDataOutputStream;
   private final String lineSeparator;
+  @Getter
+  @Setter
   private int counter;
   private final Model model;
   private final Boolean oneFilePerIteration;
@@ -85,7 +89,10 @@ public class HdfsJsonConnector extends HdfsUtils implements ConnectorInterface {
   @Override
   public void terminate() {
     try {
-      fsDataOutputStream.close();
+      // File of a batch not ended (i.e. a stream of rows) is closed too
+      if (fsDataOutputStream != null) {
+        fsDataOutputStream.close();
+      }
       fileSystem.close();
       if (useKerberos) {
         KerberosUtils.logoutUserWithKerberos();
@@ -98,7 +105,8 @@ public class HdfsJsonConnector extends HdfsUtils implements ConnectorInterface {
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
     try {
-      if (oneFilePerIteration) {
+      // Rows of a batch come by many chunks, they all go to the file opened by the first one
+      if (oneFilePerIteration && fsDataOutputStream == null) {
         this.fsDataOutputStream = createFileWithOverwrite(
             directoryName + fileName + "-" + String.format("%010d", counter) +
                 ".json");
@@ -109,12 +117,20 @@ public class HdfsJsonConnector extends HdfsUtils implements ConnectorInterface {
           rows.stream().map(Row::toJSON).collect(Collectors.toList());
       fsDataOutputStream.writeChars(String.join(lineSeparator, rowsInString));
       fsDataOutputStream.writeChars(lineSeparator);
+    } catch (IOException e) {
+      log.error("Can not write data to the HDFSJSON file due to error: ", e);
+    }
+  }
 
-      if (oneFilePerIteration) {
+  @Override
+  public void endBatch() {
+    if (oneFilePerIteration && fsDataOutputStream != null) {
+      try {
         fsDataOutputStream.close();
+        fsDataOutputStream = null;
+      } catch (IOException e) {
+        log.error(" Unable to close HDFSJSON file with error :", e);
       }
-    } catch (IOException e) {
-      log.error("Can not write data to the HDFSJSON file due to error: ", e);
     }
   }
 
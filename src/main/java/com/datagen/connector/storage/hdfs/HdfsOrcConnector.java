@@ -25,6 +25,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
@@ -53,6 +55,8 @@ public class HdfsOrcConnector extends HdfsUtils implements ConnectorInterface {
   private Map<String, ColumnVector> vectors;
   private VectorizedRowBatch batch;
 
+  @Getter
+  @Setter
   private int counter;
   private final Model model;
   private final Boolean oneFilePerIteration;
@@ -99,7 +103,8 @@ public class HdfsOrcConnector extends HdfsUtils implements ConnectorInterface {
   @Override
   public void terminate() {
     try {
-      if (!oneFilePerIteration) {
+      // File of a batch not ended (i.e. a stream of rows) is closed too
+      if (writer != null) {
         writer.close();
       }
       closeHDFS();
@@ -110,7 +115,8 @@ public class HdfsOrcConnector extends HdfsUtils implements ConnectorInterface {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    if (oneFilePerIteration) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && writer == null) {
       this.writer = OrcUtils.createWriter(hdfsUri + directoryName + fileName + "-" +
           String.format("%010d", counter) + ".orc", this.writer, schema, configuration);
       counter++;
@@ -137,15 +143,18 @@ public class HdfsOrcConnector extends HdfsUtils implements ConnectorInterface {
     } catch (IOException e) {
       log.error("Can not write data to the ORC HDFS file due to error: ", e);
     }
+  }
 
-    if (oneFilePerIteration) {
+  @Override
+  public void endBatch() {
+    if (oneFilePerIteration && writer != null) {
       try {
         writer.close();
+        writer = null;
       } catch (IOException e) {
         log.error(" Unable to close ORC HDFS file with error :", e);
       }
     }
-
   }
 
   @Override
@@ -25,6 +25,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
@@ -48,6 +50,8 @@ public class HdfsParquetConnector extends HdfsUtils implements ConnectorInterfac
   private Schema schema;
   private ParquetWriter<GenericRecord> writer;
 
+  @Getter
+  @Setter
   private int counter;
   private final Model model;
   private final Boolean oneFilePerIteration;
@@ -91,7 +95,10 @@ public class HdfsParquetConnector extends HdfsUtils implements ConnectorInterfac
   @Override
   public void terminate() {
     try {
-      writer.close();
+      // File of a batch not ended (i.e. a stream of rows) is closed too
+      if (writer != null) {
+        writer.close();
+      }
       closeHDFS();
     } catch (IOException e) {
       log.error(" Unable to close HDFS PARQUET file with error :", e);
@@ -100,30 +107,35 @@ public class HdfsParquetConnector extends HdfsUtils implements ConnectorInterfac
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.writer = ParquetUtils.createParquetWriter(hdfsUri + directoryName + fileName + "-" +
-            String.format("%010d", counter) + ".parquet", schema, this.writer, this.model, configuration);
-        counter++;
-      }
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && writer == null) {
+      this.writer = ParquetUtils.createParquetWriter(hdfsUri + directoryName + fileName + "-" +
+          String.format("%010d", counter) + ".parquet", schema, this.writer, this.model, configuration);
+      counter++;
+    }
 
-      rows.stream().map(row -> row.toGenericRecord(schema))
-          .forEach(genericRecord -> {
-            try {
-              writer.write(genericRecord);
-            } catch (IOException e) {
-              log.error(
-                  "Can not write data to the HDFS PARQUET file due to error: ",
-                  e);
-            }
-          });
-
-      if (oneFilePerIteration) {
+    rows.stream().map(row -> row.toGenericRecord(schema))
+        .forEach(genericRecord -> {
+          try {
+            writer.write(genericRecord);
+          } catch (IOException e) {
+            log.error(
+                "Can not write data to the HDFS PARQUET file due to error: ",
+                e);
+          }
+        });
+  }
+
+  @Override
+  public void endBatch() {
+    if (oneFilePerIteration && writer != null) {
+      try {
         writer.close();
+        writer = null;
+      } catch (IOException e) {
+        log.error("Can not write data to the HDFS PARQUET file due to error: ",
+            e);
       }
-    } catch (IOException e) {
-      log.error("Can not write data to the HDFS PARQUET file due to error: ",
-          e);
     }
   }
 
@@ -19,6 +19,7 @@ package com.datagen.connector.storage.kudu;
 
 import com.datagen.config.ApplicationConfigs;
 import com.datagen.connector.ConnectorInterface;
+import com.datagen.connector.MicroBatcher;
 import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
@@ -48,6 +49,7 @@ public class KuduConnector implements ConnectorInterface {
   private final String tableName;
   private final Model model;
   private Boolean useKerberos;
+  private MicroBatcher<Row> microBatcher;
 
   public KuduConnector(Model model,
                        Map<ApplicationConfigs, String> properties) {
@@ -144,6 +146,12 @@ public class KuduConnector implements ConnectorInterface {
         createTableIfNotExists();
 
         this.table = client.openTable(tableName);
+        // Flush size must stay under the mutation buffer space of the session
+        this.microBatcher = new MicroBatcher<>("Kudu table " + tableName,
+            Math.min((Integer) model.getOptionsOrDefault(OptionsConverter.Options.KUDU_FLUSH_SIZE),
+                (Integer) model.getOptionsOrDefault(OptionsConverter.Options.KUDU_BUFFER)),
+            (Integer) model.getOptionsOrDefault(OptionsConverter.Options.KUDU_FLUSH_INTERVAL_MS),
+            this::applyAndFlushRows);
 
       } catch (Exception e) {
         log.error("Could not create table in Kudu due to error: ", e);
@@ -154,6 +162,9 @@ public class KuduConnector implements ConnectorInterface {
   @Override
   public void terminate() {
     try {
+      if (microBatcher != null) {
+        microBatcher.close();
+      }
       session.close();
       client.shutdown();
       if (useKerberos) {
@@ -166,8 +177,20 @@ public class KuduConnector implements ConnectorInterface {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
+    microBatcher.add(rows);
+  }
+
+  @Override
+  public void flush() {
+    if (microBatcher != null) {
+      microBatcher.flush();
+    }
+  }
+
+  // A Kudu session is not thread-safe, so operations are applied sequentially
+  private void applyAndFlushRows(List<Row> rows) {
     try {
-      rows.parallelStream().map(row -> row.toKuduInsert(table))
+      rows.stream().map(row -> row.toKuduInsert(table))
           .forEach(insert -> {
             try {
               session.apply(insert);
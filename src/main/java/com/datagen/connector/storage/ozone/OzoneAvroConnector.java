@@ -26,6 +26,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.file.DataFileStream;
@@ -50,11 +52,14 @@ public class OzoneAvroConnector extends OzoneUtils implements ConnectorInterface
 
   private Schema schema;
   private DataFileWriter<GenericRecord> dataFileWriter;
+  private String keyName;
   private DatumWriter<GenericRecord> datumWriter;
   private File file;
 
   private final Boolean oneFilePerIteration;
   private final Model model;
+  @Getter
+  @Setter
   private int counter;
 
 
@@ -119,6 +124,9 @@ public class OzoneAvroConnector extends OzoneUtils implements ConnectorInterface
         dataFileWriter.close();
         // Send local file to Ozone
         pushKeyToOzone(localFileTempDir + keyNamePrefix + ".avro", keyNamePrefix + ".avro");
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
       closeOzone();
       FileUtils.deleteAllLocalFiles(localFileTempDir, keyNamePrefix, "avro");
@@ -129,11 +137,11 @@ public class OzoneAvroConnector extends OzoneUtils implements ConnectorInterface
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    // Let's create a temp local file and then pushes it to ozone ?
-    String keyName =
-        keyNamePrefix + "-" + String.format("%010d", counter) + ".avro";
-    // Write to local file
-    if (oneFilePerIteration) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && dataFileWriter == null) {
+      // Let's create a temp local file and then pushes it to ozone ?
+      this.keyName =
+          keyNamePrefix + "-" + String.format("%010d", counter) + ".avro";
       this.dataFileWriter = AvroUtils.createFileWithOverwrite(localFileTempDir + keyName, schema, datumWriter);
       counter++;
     }
@@ -145,9 +153,17 @@ public class OzoneAvroConnector extends OzoneUtils implements ConnectorInterface
             log.error("Can not write data to the local file due to error: ", e);
           }
         });
+  }
+
+  @Override
+  public void endBatch() {
+    if (dataFileWriter == null) {
+      return;
+    }
     if (oneFilePerIteration) {
       try {
         dataFileWriter.close();
+        dataFileWriter = null;
       } catch (IOException e) {
         log.error(" Unable to close local file with error :", e);
       }
@@ -161,7 +177,6 @@ public class OzoneAvroConnector extends OzoneUtils implements ConnectorInterface
         log.error("Can not flush data to the local file due to error: ", e);
       }
     }
-
   }
 
   @Override
@@ -27,6 +27,8 @@ import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
 import com.datagen.model.type.StringField;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
 
@@ -41,9 +43,12 @@ import java.util.*;
 public class OzoneCSVConnector extends OzoneUtils implements ConnectorInterface {
 
   private FileOutputStream outputStream;
+  private String keyName;
   private final String lineSeparator;
   private final Boolean oneFilePerIteration;
   private final Model model;
+  @Getter
+  @Setter
   private int counter;
 
   public OzoneCSVConnector(Model model,
@@ -97,6 +102,9 @@ public class OzoneCSVConnector extends OzoneUtils implements ConnectorInterface
         outputStream.close();
         // Send local file to Ozone
         pushKeyToOzone(localFileTempDir + keyNamePrefix + ".csv", keyNamePrefix + ".csv");
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
       closeOzone();
       FileUtils.deleteAllLocalFiles(localFileTempDir, keyNamePrefix, "csv");
@@ -107,11 +115,11 @@ public class OzoneCSVConnector extends OzoneUtils implements ConnectorInterface
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    // Let's create a temp local file and then pushes it to ozone ?
-    String keyName =
-        keyNamePrefix + "-" + String.format("%010d", counter) + ".csv";
-    // Write to local file
-    if (oneFilePerIteration) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && outputStream == null) {
+      // Let's create a temp local file and then pushes it to ozone ?
+      this.keyName =
+          keyNamePrefix + "-" + String.format("%010d", counter) + ".csv";
       this.outputStream = FileUtils.createLocalFileAsOutputStream(localFileTempDir + keyName);
       CSVUtils.appendCSVHeader(model, outputStream, lineSeparator);
       counter++;
@@ -126,6 +134,13 @@ public class OzoneCSVConnector extends OzoneUtils implements ConnectorInterface
             outputStream.getChannel());
       }
     });
+  }
+
+  @Override
+  public void endBatch() {
+    if (outputStream == null) {
+      return;
+    }
     try {
       outputStream.write(lineSeparator.getBytes());
     } catch (IOException e) {
@@ -135,13 +150,13 @@ public class OzoneCSVConnector extends OzoneUtils implements ConnectorInterface
     if (oneFilePerIteration) {
       try {
         outputStream.close();
+        outputStream = null;
       } catch (IOException e) {
         log.error(" Unable to close local file with error :", e);
       }
 
       pushKeyToOzone(localFileTempDir + keyName, keyName);
     }
-
   }
 
   @Override
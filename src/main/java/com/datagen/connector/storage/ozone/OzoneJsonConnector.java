@@ -25,6 +25,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
@@ -40,10 +42,13 @@ import java.util.Map;
 public class OzoneJsonConnector extends OzoneUtils implements ConnectorInterface {
 
   private FileOutputStream outputStream;
+  private String keyName;
   private final String lineSeparator;
 
   private final Boolean oneFilePerIteration;
   private final Model model;
+  @Getter
+  @Setter
   private int counter;
 
 
@@ -97,6 +102,9 @@ public class OzoneJsonConnector extends OzoneUtils implements ConnectorInterface
         outputStream.close();
         // Send local file to Ozone
         pushKeyToOzone(localFileTempDir + keyNamePrefix + ".json", keyNamePrefix + ".json");
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
       closeOzone();
       FileUtils.deleteAllLocalFiles(localFileTempDir, keyNamePrefix, "json");
@@ -107,11 +115,11 @@ public class OzoneJsonConnector extends OzoneUtils implements ConnectorInterface
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    // Let's create a temp local file and then pushes it to ozone ?
-    String keyName =
-        keyNamePrefix + "-" + String.format("%010d", counter) + ".json";
-    // Write to local file
-    if (oneFilePerIteration) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && outputStream == null) {
+      // Let's create a temp local file and then pushes it to ozone ?
+      this.keyName =
+          keyNamePrefix + "-" + String.format("%010d", counter) + ".json";
       this.outputStream = FileUtils.createLocalFileAsOutputStream(localFileTempDir + keyName);
       counter++;
     }
@@ -125,10 +133,17 @@ public class OzoneJsonConnector extends OzoneUtils implements ConnectorInterface
             outputStream.getChannel());
       }
     });
+  }
 
+  @Override
+  public void endBatch() {
+    if (outputStream == null) {
+      return;
+    }
     if (oneFilePerIteration) {
       try {
         outputStream.close();
+        outputStream = null;
       } catch (IOException e) {
         log.error(" Unable to close local file with error :", e);
       }
@@ -136,7 +151,6 @@ public class OzoneJsonConnector extends OzoneUtils implements ConnectorInterface
       // Send local file to Ozone
       pushKeyToOzone(localFileTempDir + keyName, keyName);
     }
-
   }
 
   @Override
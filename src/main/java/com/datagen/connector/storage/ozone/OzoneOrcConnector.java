@@ -26,6 +26,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
@@ -51,11 +53,14 @@ public class OzoneOrcConnector extends OzoneUtils implements ConnectorInterface
 
   private TypeDescription schema;
   private Writer writer;
+  private String keyName;
   private Map<String, ColumnVector> vectors;
   private VectorizedRowBatch batch;
 
   private final Boolean oneFilePerIteration;
   private final Model model;
+  @Getter
+  @Setter
   private int counter;
 
 
@@ -109,6 +114,9 @@ public class OzoneOrcConnector extends OzoneUtils implements ConnectorInterface
         writer.close();
         // Send local file to Ozone
         pushKeyToOzone(localFileTempDir + keyNamePrefix + ".orc", keyNamePrefix + ".orc");
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
       closeOzone();
     } catch (IOException e) {
@@ -120,11 +128,11 @@ public class OzoneOrcConnector extends OzoneUtils implements ConnectorInterface
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    // Let's create a temp local file and then pushes it to ozone ?
-    String keyName =
-        keyNamePrefix + "-" + String.format("%010d", counter) + ".orc";
-    // Write to local file
-    if (oneFilePerIteration) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && writer == null) {
+      // Let's create a temp local file and then pushes it to ozone ?
+      this.keyName =
+          keyNamePrefix + "-" + String.format("%010d", counter) + ".orc";
       this.writer = OrcUtils.createLocalFileWithOverwrite(localFileTempDir + keyName, this.writer, schema);
       counter++;
     }
@@ -149,10 +157,17 @@ public class OzoneOrcConnector extends OzoneUtils implements ConnectorInterface
     } catch (IOException e) {
       log.error("Can not write data to the local file due to error: ", e);
     }
+  }
 
+  @Override
+  public void endBatch() {
+    if (writer == null) {
+      return;
+    }
     if (oneFilePerIteration) {
       try {
         writer.close();
+        writer = null;
       } catch (IOException e) {
         log.error(" Unable to close local file with error :", e);
       }
@@ -160,7 +175,6 @@ public class OzoneOrcConnector extends OzoneUtils implements ConnectorInterface
       // Send local file to Ozone
       pushKeyToOzone(localFileTempDir + keyName, keyName);
     }
-
   }
 
   @Override
@@ -26,6 +26,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
@@ -50,9 +52,12 @@ public class OzoneParquetConnector extends OzoneUtils implements ConnectorInterf
 
   private Schema schema;
   private ParquetWriter<GenericRecord> writer;
+  private String keyName;
 
   private final Boolean oneFilePerIteration;
   private final Model model;
+  @Getter
+  @Setter
   private int counter;
 
   public OzoneParquetConnector(Model model,
@@ -105,6 +110,9 @@ public class OzoneParquetConnector extends OzoneUtils implements ConnectorInterf
         writer.close();
         // Send local file to Ozone
         pushKeyToOzone(localFileTempDir + keyNamePrefix + ".parquet", keyNamePrefix + ".parquet");
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
       closeOzone();
       FileUtils.deleteAllLocalFiles(localFileTempDir, keyNamePrefix, "parquet");
@@ -115,11 +123,11 @@ public class OzoneParquetConnector extends OzoneUtils implements ConnectorInterf
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    // Let's create a temp local file and then pushes it to ozone ?
-    String keyName =
-        keyNamePrefix + "-" + String.format("%010d", counter) + ".parquet";
-    // Write to local file
-    if (oneFilePerIteration) {
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && writer == null) {
+      // Let's create a temp local file and then pushes it to ozone ?
+      this.keyName =
+          keyNamePrefix + "-" + String.format("%010d", counter) + ".parquet";
       this.writer = ParquetUtils.createLocalFileWithOverwrite(
           localFileTempDir + keyName, schema, this.writer,
           this.model);
@@ -134,10 +142,17 @@ public class OzoneParquetConnector extends OzoneUtils implements ConnectorInterf
             log.error("Can not write data to the local file due to error: ", e);
           }
         });
+  }
 
+  @Override
+  public void endBatch() {
+    if (writer == null) {
+      return;
+    }
     if (oneFilePerIteration) {
       try {
         writer.close();
+        writer = null;
       } catch (IOException e) {
         log.error(" Unable to close local file with error :", e);
       }
@@ -145,7 +160,6 @@ public class OzoneParquetConnector extends OzoneUtils implements ConnectorInterf
       // Send local file to Ozone
       pushKeyToOzone(localFileTempDir + keyName, keyName);
     }
-
   }
 
   @Override
@@ -26,6 +26,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.file.DataFileReader;
@@ -52,6 +54,8 @@ public class S3AvroConnector extends S3Utils implements ConnectorInterface  {
   private final Model model;
   private final Boolean oneFilePerIteration;
 
+  @Getter
+  @Setter
   private int counter;
   private String currentKeyName;
 
@@ -103,6 +107,9 @@ public class S3AvroConnector extends S3Utils implements ConnectorInterface  {
         dataFileWriter.flush();
         dataFileWriter.close();
         pushLocalFileToS3(localDirectoryName + currentKeyName, currentKeyName);
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -114,25 +121,33 @@ public class S3AvroConnector extends S3Utils implements ConnectorInterface  {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.currentKeyName = keyNamePrefix + "-" + String.format("%010d", counter) + ".avro";
-        this.dataFileWriter = AvroUtils.createFileWithOverwrite(localDirectoryName +
-            currentKeyName, schema, datumWriter);
-        counter++;
-      }
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && dataFileWriter == null) {
+      this.currentKeyName = keyNamePrefix + "-" + String.format("%010d", counter) + ".avro";
+      this.dataFileWriter = AvroUtils.createFileWithOverwrite(localDirectoryName +
+          currentKeyName, schema, datumWriter);
+      counter++;
+    }
 
-      rows.stream().map(row -> row.toGenericRecord(schema))
-          .forEach(genericRecord -> {
-            try {
-              this.dataFileWriter.append(genericRecord);
-            } catch (IOException e) {
-              log.error("Can not write data to the local file due to error: ", e);
-            }
-          });
+    rows.stream().map(row -> row.toGenericRecord(schema))
+        .forEach(genericRecord -> {
+          try {
+            this.dataFileWriter.append(genericRecord);
+          } catch (IOException e) {
+            log.error("Can not write data to the local file due to error: ", e);
+          }
+        });
+  }
 
+  @Override
+  public void endBatch() {
+    if (dataFileWriter == null) {
+      return;
+    }
+    try {
       if (oneFilePerIteration) {
         this.dataFileWriter.close();
+        this.dataFileWriter = null;
         pushLocalFileToS3(localDirectoryName + currentKeyName, currentKeyName);
         FileUtils.deleteLocalFile(localDirectoryName + currentKeyName);
       } else {
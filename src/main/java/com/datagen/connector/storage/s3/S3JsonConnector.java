@@ -25,6 +25,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
@@ -46,6 +48,8 @@ public class S3JsonConnector extends S3Utils implements ConnectorInterface  {
   private final String lineSeparator;
   private final Boolean oneFilePerIteration;
 
+  @Getter
+  @Setter
   private int counter;
   private String currentKeyName;
 
@@ -92,6 +96,9 @@ public class S3JsonConnector extends S3Utils implements ConnectorInterface  {
       if (!oneFilePerIteration) {
         outputStream.close();
         pushLocalFileToS3(localDirectoryName + currentKeyName, currentKeyName);
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -103,27 +110,36 @@ public class S3JsonConnector extends S3Utils implements ConnectorInterface  {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.currentKeyName = keyNamePrefix + "-" + String.format("%010d", counter) + ".json";
-        this.outputStream = FileUtils.createLocalFileAsOutputStream(
-            localDirectoryName + currentKeyName);
-        counter++;
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && outputStream == null) {
+      this.currentKeyName = keyNamePrefix + "-" + String.format("%010d", counter) + ".json";
+      this.outputStream = FileUtils.createLocalFileAsOutputStream(
+          localDirectoryName + currentKeyName);
+      counter++;
+    }
+
+    rows.stream().map(Row::toJSON).forEach(r -> {
+      try {
+        outputStream.write(r.getBytes());
+        outputStream.write(lineSeparator.getBytes());
+      } catch (IOException e) {
+        log.error("Could not write row: " + r + " to file: " +
+            outputStream.getChannel());
       }
+    });
+  }
 
-      rows.stream().map(Row::toJSON).forEach(r -> {
-        try {
-          outputStream.write(r.getBytes());
-          outputStream.write(lineSeparator.getBytes());
-        } catch (IOException e) {
-          log.error("Could not write row: " + r + " to file: " +
-              outputStream.getChannel());
-        }
-      });
+  @Override
+  public void endBatch() {
+    if (outputStream == null) {
+      return;
+    }
+    try {
       outputStream.write(lineSeparator.getBytes());
 
       if (oneFilePerIteration) {
         outputStream.close();
+        outputStream = null;
         pushLocalFileToS3(localDirectoryName + currentKeyName, currentKeyName);
         FileUtils.deleteLocalFile(localDirectoryName + currentKeyName);
       }
@@ -26,6 +26,8 @@ import com.datagen.model.Model;
 import com.datagen.model.OptionsConverter;
 import com.datagen.model.Row;
 import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
@@ -51,6 +53,8 @@ public class S3OrcConnector extends S3Utils implements ConnectorInterface  {
 
   private final Model model;
   private final Boolean oneFilePerIteration;
+  @Getter
+  @Setter
   private int counter;
   private String currentKeyName;
 
@@ -104,6 +108,9 @@ public class S3OrcConnector extends S3Utils implements ConnectorInterface  {
       if (!oneFilePerIteration) {
         this.orcWriter.close();
         pushLocalFileToS3(localDirectoryName + currentKeyName, currentKeyName);
+      } else {
+        // File of a batch not ended (i.e. a stream of rows) is pushed too
+        endBatch();
       }
     } catch (IOException e) {
       log.error(" Unable to close local file with error :", e);
@@ -115,37 +122,45 @@ public class S3OrcConnector extends S3Utils implements ConnectorInterface  {
 
   @Override
   public void sendOneBatchOfRows(List<Row> rows) {
-    try {
-      if (oneFilePerIteration) {
-        this.currentKeyName = keyNamePrefix + "-" + String.format("%010d", counter) + ".orc";
-        this.orcWriter = OrcUtils.createLocalFileWithOverwrite(localDirectoryName +
-            currentKeyName, this.orcWriter, this.schema);
-        counter++;
-      }
+    // Rows of a batch come by many chunks, they all go to the file opened by the first one
+    if (oneFilePerIteration && orcWriter == null) {
+      this.currentKeyName = keyNamePrefix + "-" + String.format("%010d", counter) + ".orc";
+      this.orcWriter = OrcUtils.createLocalFileWithOverwrite(localDirectoryName +
+          currentKeyName, this.orcWriter, this.schema);
+      counter++;
+    }
 
-      for (Row row : rows) {
-        int rowNumber = batch.size++;
-        row.fillinOrcVector(rowNumber, vectors);
-        try {
-          if (batch.size == batch.getMaxSize()) {
-            orcWriter.addRowBatch(batch);
-            batch.reset();
-          }
-        } catch (IOException e) {
-          log.error("Can not write data to the local file due to error: ", e);
-        }
-      }
+    for (Row row : rows) {
+      int rowNumber = batch.size++;
+      row.fillinOrcVector(rowNumber, vectors);
       try {
-        if (batch.size != 0) {
+        if (batch.size == batch.getMaxSize()) {
           orcWriter.addRowBatch(batch);
           batch.reset();
         }
       } catch (IOException e) {
         log.error("Can not write data to the local file due to error: ", e);
       }
+    }
+    try {
+      if (batch.size != 0) {
+        orcWriter.addRowBatch(batch);
+        batch.reset();
+      }
+    } catch (IOException e) {
+      log.error("Can not write data to the local file due to error: ", e);
+    }
+  }
 
+  @Override
+  public void endBatch() {
+    if (orcWriter == null) {
+      return;
+    }
+    try {
       if (oneFilePerIteration) {
         this.orcWriter.close();
+        this.orcWriter = null;
         pushLocalFileToS3(localDirectoryName + currentKeyName, currentKeyName);
         FileUtils.deleteLocalFile(localDirectoryName + currentKeyName);
       }
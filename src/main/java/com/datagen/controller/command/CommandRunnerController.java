@@ -74,6 +74,13 @@ public class CommandRunnerController {
     return commandRunnerService.getAllScheduledCommandsSoft();
   }
 
+  @PostMapping(value = "/stop")
+  public boolean stopCommand(
+      @RequestParam(name = "commandUuid") UUID commandUUID
+  ) {
+    return commandRunnerService.stopCommand(commandUUID);
+  }
+
   @PostMapping(value = "/removeScheduled")
   public void removeScheduledCommands(
       @RequestParam(name = "commandUuid") UUID commandUUID
@@ -19,6 +19,7 @@ package com.datagen.controller.generation;
 
 
 import com.datagen.config.ApplicationConfigMapper;
+import com.datagen.config.ApplicationConfigs;
 import com.datagen.config.PropertiesLoader;
 import com.datagen.service.api.APIService;
 import com.datagen.service.command.CommandRunnerService;
@@ -32,6 +33,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -86,6 +88,40 @@ public class DataGenerationController {
         ApplicationConfigMapper.parsePropertiesMap(extraProperties), credentials);
   }
 
+  /**
+   * Generate a range of rows of a command, sent by a coordinator instance to this one as a worker
+   */
+  @PostMapping(value = "/shard", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  @ResponseBody
+  public String generateShard(
+      @RequestPart(name = "model_file") MultipartFile modelFile,
+      @RequestParam(required = false, name = "threads") Integer threads,
+      @RequestParam(name = "batches") Long numberOfBatches,
+      @RequestParam(name = "rows") Long rowsPerBatch,
+      @RequestParam(name = "first_row") Long firstRow,
+      @RequestParam(name = "shard") String shardName,
+      @RequestParam(name = "connectors") List<String> connectors,
+      @RequestParam(required = false, name = "properties")
+      List<String> shardProperties,
+      @AuthenticationPrincipal User user
+  ) {
+    log.debug(
+        "Received shard: {} starting at row: {} , threads: {} , batches: {}, rows: {}",
+        shardName, firstRow, threads, numberOfBatches, rowsPerBatch);
+    // Properties are sent as KEY=VALUE
+    Map<ApplicationConfigs, String> properties = new HashMap<>();
+    if (shardProperties != null) {
+      shardProperties.forEach(p -> properties.put(
+          ApplicationConfigs.valueOf(p.substring(0, p.indexOf('='))),
+          p.substring(p.indexOf('=') + 1)));
+    }
+    properties.put(ApplicationConfigs.GENERATION_SHARD_NAME, shardName);
+    properties.put(ApplicationConfigs.GENERATION_SHARD_FIRST_ROW, firstRow.toString());
+    return commandRunnerService.generateData(modelFile, null, user.getUsername(), threads,
+        numberOfBatches, rowsPerBatch, false, null,
+        connectors, properties, null);
+  }
+
   @PostMapping(value = "/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
   @ResponseBody
   public String generateIntoCsv(
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distinct values with their weights, sampled in constant time using the alias method (Vose's algorithm)
+ * Memory is proportional to the number of distinct values, whatever their weights
+ * Table is immutable once built, so it can be shared between threads (each one using its own random generator)
+ */
+public class AliasTable<T> {
+
+  @Getter
+  private final List<T> values;
+  private final double[] weights;
+  // Probability to keep the value of a column, otherwise its alias is taken
+  private final double[] probabilities;
+  private final int[] aliases;
+
+  /**
+   * @param values  distinct values
+   * @param weights weight of each value (not required to sum up to 1), values with no positive weight are never picked
+   */
+  public AliasTable(List<T> values, double[] weights) {
+    if (values.isEmpty() || values.size() != weights.length) {
+      throw new IllegalArgumentException(
+          "Alias table needs as many weights as values and at least one value");
+    }
+    this.values = Collections.unmodifiableList(new ArrayList<>(values));
+    this.weights = weights.clone();
+    int n = weights.length;
+    this.probabilities = new double[n];
+    this.aliases = new int[n];
+
+    double sum = 0d;
+    for (double weight : weights) {
+      sum += Math.max(0d, weight);
+    }
+    if (sum <= 0d) {
+      throw new IllegalArgumentException(
+          "Alias table needs at least one value with a positive weight");
+    }
+
+    // Scale weights so their average is 1, then pair each column under 1 with one above to fill it
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallSize = 0;
+    int largeSize = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = Math.max(0d, weights[i]) * n / sum;
+      if (scaled[i] < 1d) {
+        small[smallSize++] = i;
+      } else {
+        large[largeSize++] = i;
+      }
+    }
+    while (smallSize > 0 && largeSize > 0) {
+      int less = small[--smallSize];
+      int more = large[--largeSize];
+      probabilities[less] = scaled[less];
+      aliases[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1d;
+      if (scaled[more] < 1d) {
+        small[smallSize++] = more;
+      } else {
+        large[largeSize++] = more;
+      }
+    }
+    // Remaining columns are full (up to rounding errors)
+    while (largeSize > 0) {
+      probabilities[large[--largeSize]] = 1d;
+    }
+    while (smallSize > 0) {
+      probabilities[small[--smallSize]] = 1d;
+    }
+  }
+
+  /**
+   * Build a table from weights given by value, converting each value first
+   * Values equal once converted have their weights added
+   */
+  public static <T> AliasTable<T> fromWeightedValues(Map<String, Long> weightedValues,
+                                                     Function<String, T> converter) {
+    LinkedHashMap<T, Double> weightsByValue = new LinkedHashMap<>();
+    weightedValues.forEach((value, weight) -> {
+      if (weight != null && weight > 0) {
+        weightsByValue.merge(converter.apply(value), weight.doubleValue(), Double::sum);
+      }
+    });
+    return new AliasTable<>(new ArrayList<>(weightsByValue.keySet()),
+        weightsByValue.values().stream().mapToDouble(Double::doubleValue).toArray());
+  }
+
+  /**
+   * @return index of a value, picked according to weights
+   */
+  public int sampleIndex(RandomGenerator random) {
+    int column = random.nextInt(probabilities.length);
+    return random.nextDouble() < probabilities[column] ? column : aliases[column];
+  }
+
+  public T sample(RandomGenerator random) {
+    return values.get(sampleIndex(random));
+  }
+
+  public double getWeight(int index) {
+    return weights[index];
+  }
+
+  public int size() {
+    return values.size();
+  }
+
+  /**
+   * @return true if all values have the same weight, so they are in fact uniformly picked
+   */
+  public boolean isUniform() {
+    for (double weight : weights) {
+      if (weight != weights[0]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
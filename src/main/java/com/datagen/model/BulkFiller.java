@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Fills part of a column with random values at once, BulkRandom fills the remaining ones one by one
+ * It is implemented with the Vector API by VectorBulkRandom, only built with profile vector
+ */
+interface BulkFiller {
+
+  int lanes();
+
+  /**
+   * Fill values[from, from + n) with longs in [origin, bound), origin being lower than bound
+   * @return number of values filled (n)
+   */
+  int fillLongs(RandomGenerator random, long[] values, int from, int count,
+                long origin, long bound);
+
+  /**
+   * Fill values[from, from + n) with floats in [0, 1) added to longs in [origin, bound)
+   * @return number of values filled (n)
+   */
+  int fillFloats(RandomGenerator random, double[] values, int from, int count,
+                 long origin, long bound);
+
+  /**
+   * Fill values[from, from + n) with 0 or 1
+   * @return number of values filled (n)
+   */
+  int fillBooleans(RandomGenerator random, long[] values, int from, int count);
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Bounded random numbers generated for many rows of a column at once
+ * They are generated with SIMD instructions when datagen is built with profile vector (mvn -Pvector) and the JVM
+ * is started with --add-modules jdk.incubator.vector (see VectorBulkRandom),
+ * otherwise one by one with the random generator of the task
+ * Values do not depend on rows, so this is only for generations that are not seeded
+ */
+@Slf4j
+public final class BulkRandom {
+
+  private static final BulkFiller VECTORIZED = loadVectorized();
+
+  private BulkRandom() {}
+
+  public static boolean isVectorized() {
+    return VECTORIZED != null;
+  }
+
+  /**
+   * Fill values[from, from + count) with longs in [origin, bound)
+   * @throws IllegalArgumentException if origin is not lower than bound, as RandomGenerator.nextLong() does
+   */
+  public static void fillLongs(RandomGenerator random, long[] values, int from, int count,
+                               long origin, long bound) {
+    int filled = VECTORIZED != null && origin < bound ?
+        VECTORIZED.fillLongs(random, values, from, count, origin, bound) : 0;
+    fillLongsScalar(random, values, from + filled, count - filled, origin, bound);
+  }
+
+  /**
+   * Fill values[from, from + count) with floats made of a random float in [0, 1) added to a long in [origin, bound)
+   * @throws IllegalArgumentException if origin is not lower than bound, as RandomGenerator.nextLong() does
+   */
+  public static void fillFloats(RandomGenerator random, double[] values, int from, int count,
+                                long origin, long bound) {
+    int filled = VECTORIZED != null && origin < bound ?
+        VECTORIZED.fillFloats(random, values, from, count, origin, bound) : 0;
+    fillFloatsScalar(random, values, from + filled, count - filled, origin, bound);
+  }
+
+  /**
+   * Fill values[from, from + count) with booleans as 0 or 1
+   */
+  public static void fillBooleans(RandomGenerator random, long[] values, int from, int count) {
+    int filled = VECTORIZED != null ?
+        VECTORIZED.fillBooleans(random, values, from, count) : 0;
+    fillBooleansScalar(random, values, from + filled, count - filled);
+  }
+
+  static void fillLongsScalar(RandomGenerator random, long[] values, int from, int count,
+                              long origin, long bound) {
+    for (int row = from; row < from + count; row++) {
+      values[row] = random.nextLong(origin, bound);
+    }
+  }
+
+  static void fillFloatsScalar(RandomGenerator random, double[] values, int from, int count,
+                               long origin, long bound) {
+    for (int row = from; row < from + count; row++) {
+      float randomFloat = random.nextFloat();
+      values[row] = randomFloat + (float) random.nextLong(origin, bound);
+    }
+  }
+
+  static void fillBooleansScalar(RandomGenerator random, long[] values, int from, int count) {
+    for (int row = from; row < from + count; row++) {
+      values[row] = random.nextBoolean() ? 1L : 0L;
+    }
+  }
+
+  // Incubator module is only readable if it was added to the JVM, and vectorized code is then loaded if it was built
+  private static BulkFiller loadVectorized() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      log.info("Vector API is not available, numbers are generated one by one " +
+          "(add JVM option --add-modules jdk.incubator.vector to generate them in bulk)");
+      return null;
+    }
+    try {
+      BulkFiller vectorized = (BulkFiller) Class.forName("com.datagen.model.VectorBulkRandom")
+          .getDeclaredConstructor().newInstance();
+      log.info("Numbers are generated in bulk with Vector API using {} lanes of longs",
+          vectorized.lanes());
+      return vectorized;
+    } catch (ClassNotFoundException e) {
+      log.info("Vector API is not built in, numbers are generated one by one " +
+          "(build with profile vector to generate them in bulk)");
+      return null;
+    } catch (ReflectiveOperationException | LinkageError e) {
+      log.warn("Could not load Vector API, numbers are generated one by one: ", e);
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+/**
+ * Column of a row batch where a field writes the values it generates for many rows at once
+ * Only the array matching the type of the column is set, others are null (see RowBatch.ColumnType)
+ */
+public interface ColumnSink {
+
+  // Integers, longs, timestamps, and booleans as 0 or 1
+  long[] getLongs();
+
+  // Floats
+  double[] getDoubles();
+
+  // Strings encoded in UTF-8 and bytes
+  byte[][] getBytes();
+
+  // Other types
+  Object[] getObjects();
+
+  // Set a value of any type, converted to the type of the column
+  void setValue(int row, Object value);
+
+}
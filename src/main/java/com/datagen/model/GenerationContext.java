@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import lombok.Getter;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Context of a generation task, passed to fields when they generate a value
+ * It holds a random generator that must only be used by one thread at a time:
+ * each task gets its own context split from the one of the generation, so threads never contend on a seed
+ * When a seed is set, the random generator is re-seeded for each value from (seed, field, row index),
+ * so a row is the same whatever the number of threads or the range it is generated in
+ * (the same generator is re-seeded, so seeded generations do not create one per value)
+ */
+public class GenerationContext {
+
+  private static final ThreadLocal<GenerationContext> CURRENT =
+      ThreadLocal.withInitial(() -> new GenerationContext(new SplittableRandom()));
+
+  @Getter
+  private final RandomGenerator random;
+  // Same generator as random, when context is seeded
+  private final SeededRandom seededRandom;
+  private final Long seed;
+  // Index of the row being generated (among all rows of the command), -1 if it is not known
+  @Getter
+  private long rowIndex;
+  // Field generated and row index before its first value, when generating by column
+  private long columnFieldSeed;
+  private long columnStartRowIndex;
+
+  public GenerationContext(SplittableRandom random) {
+    this.random = random;
+    this.seededRandom = null;
+    this.seed = null;
+    this.rowIndex = -1;
+  }
+
+  private GenerationContext(long seed, long rowIndex) {
+    this.seededRandom = new SeededRandom(seed);
+    this.random = seededRandom;
+    this.seed = seed;
+    this.rowIndex = rowIndex;
+  }
+
+  /**
+   * Context of a generation reproducible with the same seed
+   */
+  public static GenerationContext seeded(long seed) {
+    return new GenerationContext(seed, -1);
+  }
+
+  public boolean isSeeded() {
+    return seed != null;
+  }
+
+  /**
+   * Create a new context for a task generating rows from a given index,
+   * it must be called by the thread owning this context
+   */
+  public GenerationContext forRange(long firstRowIndex) {
+    if (seed != null) {
+      return new GenerationContext(seed, firstRowIndex - 1);
+    }
+    GenerationContext context =
+        new GenerationContext(((SplittableRandom) random).split());
+    context.rowIndex = firstRowIndex - 1;
+    return context;
+  }
+
+  /**
+   * To call before generating each row of a range
+   */
+  public void nextRow() {
+    rowIndex++;
+  }
+
+  /**
+   * To call before generating the value of a field
+   * @param fieldSeed identifies the field, whatever its position in the model
+   */
+  public void nextField(long fieldSeed) {
+    if (seededRandom != null) {
+      seededRandom.reseed(
+          mix64(seed ^ mix64(fieldSeed) + rowIndex * 0x9E3779B97F4A7C15L));
+    }
+  }
+
+  /**
+   * To call before generating values of a field for rows following the current one, column by column
+   * Then nextCell() must be called before each value, and endColumn() after the last one
+   * Values are the same as if rows were generated one by one
+   */
+  public void startColumn(long fieldSeed) {
+    this.columnFieldSeed = fieldSeed;
+    this.columnStartRowIndex = rowIndex;
+  }
+
+  public void nextCell() {
+    rowIndex++;
+    nextField(columnFieldSeed);
+  }
+
+  public void endColumn() {
+    this.rowIndex = columnStartRowIndex;
+  }
+
+  /**
+   * To call once all columns of rows have been generated, as nextRow() would have been called for each of them
+   */
+  public void skipRows(int count) {
+    rowIndex += count;
+  }
+
+  /**
+   * Context of the current thread, for values generated outside of a generation task
+   */
+  public static GenerationContext current() {
+    return CURRENT.get();
+  }
+
+  // Finalizer of SplitMix64, spreads close inputs (consecutive rows) to unrelated seeds
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+}
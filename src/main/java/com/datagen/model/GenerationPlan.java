@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Order in which computed fields of a model are evaluated, resolved once when fields are indexed
+ * Computed fields are sorted in levels: a field only references random fields or computed fields of previous levels,
+ * so fields of a level do not depend on each other and expensive ones (LLM) can be evaluated concurrently
+ */
+@Slf4j
+class GenerationPlan {
+
+  // Indexes of computed fields, in the order they must be evaluated
+  @Getter
+  private final int[] computedOrder;
+  private final int[][] levels;
+  private final boolean[] concurrentLevels;
+  private final List<? extends Field> fieldsByIndex;
+
+  private GenerationPlan(int[][] levels, boolean[] concurrentLevels,
+                         List<? extends Field> fieldsByIndex) {
+    this.levels = levels;
+    this.concurrentLevels = concurrentLevels;
+    this.fieldsByIndex = fieldsByIndex;
+    this.computedOrder =
+        Arrays.stream(levels).flatMapToInt(Arrays::stream).toArray();
+  }
+
+  /**
+   * Sort computed fields by their references to other fields
+   *
+   * @param fieldsByIndex   all fields of the model
+   * @param fieldsIndexes   index of each field by its name
+   * @param computedIndexes indexes of computed fields in declaration order
+   * @throws IllegalStateException if computed fields reference each other in a cycle
+   */
+  static GenerationPlan compile(List<? extends Field> fieldsByIndex,
+                                Map<String, Integer> fieldsIndexes,
+                                int[] computedIndexes) {
+    Set<Integer> computed = new HashSet<>();
+    Arrays.stream(computedIndexes).forEach(computed::add);
+
+    // Only references to other computed fields constrain the order, random fields are always generated first
+    Map<Integer, Set<Integer>> dependencies = new HashMap<>();
+    for (int index : computedIndexes) {
+      Set<Integer> dependenciesOfField = new HashSet<>();
+      for (Object name : fieldsByIndex.get(index).getReferencedFields()) {
+        Integer referencedIndex = fieldsIndexes.get(name);
+        if (referencedIndex != null && computed.contains(referencedIndex)) {
+          dependenciesOfField.add(referencedIndex);
+        }
+      }
+      dependencies.put(index, dependenciesOfField);
+    }
+
+    // Each pass takes, in declaration order, all fields whose dependencies are already evaluated
+    List<int[]> levels = new ArrayList<>();
+    Set<Integer> evaluated = new HashSet<>();
+    List<Integer> remaining = new ArrayList<>();
+    Arrays.stream(computedIndexes).forEach(remaining::add);
+    while (!remaining.isEmpty()) {
+      int[] level = remaining.stream()
+          .filter(i -> evaluated.containsAll(dependencies.get(i)))
+          .mapToInt(Integer::intValue).toArray();
+      if (level.length == 0) {
+        StringBuilder sb = new StringBuilder();
+        remaining.forEach(i -> sb.append(fieldsByIndex.get(i).getName()).append(" "));
+        throw new IllegalStateException(
+            "Computed fields have a cyclic dependency between them: " +
+                sb.toString().trim());
+      }
+      for (int i : level) {
+        evaluated.add(i);
+        remaining.remove(Integer.valueOf(i));
+      }
+      levels.add(level);
+    }
+
+    boolean[] concurrentLevels = new boolean[levels.size()];
+    for (int l = 0; l < levels.size(); l++) {
+      concurrentLevels[l] = Arrays.stream(levels.get(l))
+          .filter(i -> fieldsByIndex.get(i).isExpensiveToCompute())
+          .count() > 1;
+    }
+
+    if (log.isDebugEnabled()) {
+      levels.forEach(level -> log.debug("Computed fields evaluated together: {}",
+          Arrays.stream(level).mapToObj(i -> fieldsByIndex.get(i).getName()).toList()));
+    }
+
+    return new GenerationPlan(levels.toArray(new int[0][]), concurrentLevels,
+        fieldsByIndex);
+  }
+
+  /**
+   * Evaluate all computed fields of a row, whose random fields are already set
+   */
+  void computeValues(Row row) {
+    for (int l = 0; l < levels.length; l++) {
+      if (concurrentLevels[l]) {
+        computeValuesConcurrently(row, levels[l]);
+      } else {
+        for (int index : levels[l]) {
+          row.setValue(index,
+              fieldsByIndex.get(index).generateComputedValue(row));
+        }
+      }
+    }
+  }
+
+  // Expensive fields are sent to the pool of computation, others are evaluated meanwhile in this thread
+  private void computeValuesConcurrently(Row row, int[] level) {
+    Map<Integer, CompletableFuture<Object>> valuesComputing = new HashMap<>();
+    for (int index : level) {
+      Field field = fieldsByIndex.get(index);
+      if (field.isExpensiveToCompute()) {
+        valuesComputing.put(index, CompletableFuture.supplyAsync(
+            () -> field.generateComputedValue(row),
+            RowGeneratorPool.getComputePool()));
+      }
+    }
+    for (int index : level) {
+      if (!valuesComputing.containsKey(index)) {
+        row.setValue(index,
+            fieldsByIndex.get(index).generateComputedValue(row));
+      }
+    }
+    // Values are set once all are computed, so a row is only written by this thread
+    valuesComputing.forEach((index, value) -> row.setValue(index, value.join()));
+  }
+
+}
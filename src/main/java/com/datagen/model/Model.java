@@ -20,7 +20,9 @@ package com.datagen.model;
 
 import com.datagen.config.ApplicationConfigs;
 import com.datagen.model.conditions.ConditionalEvaluator;
+import com.datagen.model.type.DictionaryField;
 import com.datagen.model.type.Field;
+import com.datagen.model.type.IncrementCounter;
 import com.datagen.parsers.JsonModelUnparser;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -34,7 +36,15 @@ import org.apache.kudu.ColumnSchema;
 import org.apache.kudu.Schema;
 import org.apache.orc.TypeDescription;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -65,6 +75,27 @@ public class Model<T extends Field> {
   @JsonIgnore
   private final LinkedHashMap<String, T> fieldsToPrint;
 
+  // Values of a row are stored at the index of their field, these are resolved once when fields are set or reordered
+  @JsonIgnore
+  private Map<String, Integer> fieldsIndexes;
+  @JsonIgnore
+  private List<T> fieldsByIndex;
+  @Getter
+  @JsonIgnore
+  private int[] fieldsToPrintIndexes;
+  @JsonIgnore
+  private int[] fieldsRandomIndexes;
+  @JsonIgnore
+  private int[] fieldsComputedIndexes;
+  // Seed of each field by index, derived from its name so it does not depend on fields order
+  @JsonIgnore
+  private long[] fieldsSeeds;
+  @JsonIgnore
+  private GenerationPlan generationPlan;
+  // Fields neither printed nor referenced by a printed field are not generated at all
+  @JsonIgnore
+  private boolean[] fieldsGenerated;
+
   // This is for convenience when generating data
   @Getter
   @Setter
@@ -99,6 +130,7 @@ public class Model<T extends Field> {
     this.tableNames = new HashMap<>(modelToCopy.getTableNames());
     this.options = new HashMap<>(modelToCopy.getOptions());
     this.properties = new HashMap<>(modelToCopy.getProperties());
+    indexFields();
   }
 
   /**
@@ -135,6 +167,7 @@ public class Model<T extends Field> {
     } else {
       this.name = "__UNNAMED-"+System.currentTimeMillis();
     }
+    indexFields();
     this.tableNames = tableNames==null?new HashMap<>():convertTableNames(tableNames);
     this.options = options==null?new HashMap<>():convertOptions(options);
     this.properties = properties==null?new HashMap<>(): properties;
@@ -174,6 +207,7 @@ public class Model<T extends Field> {
     this.fieldsToPrint = new LinkedHashMap<>();
     this.options = new HashMap<>();
     this.tableNames = new HashMap<>();
+    indexFields();
   }
 
   @Override
@@ -229,6 +263,7 @@ public class Model<T extends Field> {
 
   /**
    * Generate random rows based on this model
+   * Fields are initialized and closed by this call
    *
    * @param number of rows to generate
    * @return list of rows
@@ -238,59 +273,422 @@ public class Model<T extends Field> {
 
     long numberPerThread = number / threads;
     long restOfRowsToCreate = number % threads;
-    LinkedList<RowGeneratorThread> threadsStarted = new LinkedList<>();
+    LinkedList<Future<List<Row>>> tasksSubmitted = new LinkedList<>();
+    GenerationContext context = newGenerationContext();
+    long firstRowIndexOfTask = 0;
+
+    // Increment fields go on after values given by previous calls
+    startIncrementCounters(getIncrementCounters());
+    initFields();
+
+    try {
+      for (int i = 0; i < threads; i++) {
+        long numberOfRowsToGenerate = numberPerThread;
+        if (i == 0) {
+          numberOfRowsToGenerate += restOfRowsToCreate;
+        }
+        int rowsOfTask = (int) numberOfRowsToGenerate;
+        GenerationContext contextOfTask = context.forRange(firstRowIndexOfTask);
+        firstRowIndexOfTask += rowsOfTask;
+        tasksSubmitted.add(RowGeneratorPool.getPool()
+            .submit(() -> generateRows(rowsOfTask, contextOfTask)));
+        log.debug("Submitted 1 task to generate: {} rows", rowsOfTask);
+      }
+
+      for (Future<List<Row>> task : tasksSubmitted) {
+        rows.addAll(task.get());
+      }
+    } catch (InterruptedException e) {
+      log.warn("Interrupted while waiting for rows to be generated", e);
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      log.warn("A task failed to generate rows, its results will not be processed",
+          e.getCause());
+    } finally {
+      tasksSubmitted.forEach(t -> t.cancel(true));
+      closeFields();
+    }
+
+    return rows;
+  }
+
+  /**
+   * Generate random rows based on this model and stream them by chunks to a consumer
+   * Rows are split in ranges (at most a chunk) generated by the pool of generation,
+   * at most (threads) ranges are generated at the same time and (threads + queueSize) ranges
+   * are generated in advance, so memory used does not depend on the number of rows requested
+   * Fields must be initialized before with initFields(), so it is done once for all batches of a command
+   * If a seed is set in options, rows depend only on the seed and their index, not on the threads
+   *
+   * @param firstRowIndex index of the first row to generate, among all rows of the command
+   * @param number    of rows to generate
+   * @param threads   maximum number of ranges generated at the same time
+   * @param chunkSize maximum number of rows in a chunk
+   * @param queueSize number of chunks that can be generated and waiting to be consumed
+   * @param consumer  called on each chunk, in the calling thread
+   * @throws InterruptedException if interrupted while waiting for rows, some of them may have been consumed
+   */
+  public void generateRandomRowsByChunks(long firstRowIndex, long number,
+                                         int threads,
+                                         int chunkSize, int queueSize,
+                                         Consumer<List<Row>> consumer)
+      throws InterruptedException {
+    generateByChunks(firstRowIndex, number, threads, chunkSize, queueSize,
+        this::generateRows,
+        List::size,
+        chunks -> {
+          List<Row> rows = new ArrayList<>();
+          chunks.forEach(rows::addAll);
+          return rows;
+        },
+        consumer);
+  }
+
+  /**
+   * Same as generateRandomRowsByChunks() but rows are generated by columns into row batches
+   */
+  public void generateRowBatchesByChunks(long firstRowIndex, long number,
+                                         int threads,
+                                         int chunkSize, int queueSize,
+                                         Consumer<RowBatch> consumer)
+      throws InterruptedException {
+    generateByChunks(firstRowIndex, number, threads, chunkSize, queueSize,
+        this::generateRowBatch,
+        RowBatch::getSize,
+        RowBatch::concat,
+        consumer);
+  }
+
+  private <C> void generateByChunks(long firstRowIndex, long number,
+                                    int threads,
+                                    int chunkSize, int queueSize,
+                                    BiFunction<Integer, GenerationContext, C> rangeGenerator,
+                                    ToIntFunction<C> chunkSizer,
+                                    Function<List<C>, C> chunksMerger,
+                                    Consumer<C> consumer)
+      throws InterruptedException {
+    if (number <= 0) {
+      return;
+    }
+    // Ranges are small enough to let all threads work, even when there are less rows than a chunk
+    int rangeSize = (int) Math.max(1,
+        Math.min(chunkSize, (number + threads - 1) / threads));
+    long rangesExpected = (number + rangeSize - 1) / rangeSize;
+    int maxRangesSubmitted = threads + queueSize;
+
+    AtomicInteger rangesRunning = new AtomicInteger(0);
+    // Ranges submitted and not yet consumed, in the order of their rows
+    Deque<Future<C>> rangesInFlight = new ArrayDeque<>();
+    long rowsSubmitted = 0;
+    long rangesConsumed = 0;
+    // Each range gets its own random generator, split from this one by the calling thread only
+    GenerationContext context = newGenerationContext();
+
+    try {
+      // Chunks of different ranges are merged back, so that a batch smaller than a chunk is consumed at once
+      List<C> chunksToConsume = new ArrayList<>();
+      int rowsToConsume = 0;
+      while (rangesConsumed < rangesExpected) {
+        // Submit new ranges as long as the limits are not reached
+        while (rowsSubmitted < number
+            && rangesRunning.get() < threads
+            && rangesInFlight.size() < maxRangesSubmitted) {
+          int rowsOfRange = (int) Math.min(rangeSize, number - rowsSubmitted);
+          GenerationContext contextOfRange =
+              context.forRange(firstRowIndex + rowsSubmitted);
+          rangesRunning.incrementAndGet();
+          rangesInFlight.addLast(RowGeneratorPool.getPool().submit(() -> {
+            try {
+              return rangeGenerator.apply(rowsOfRange, contextOfRange);
+            } finally {
+              rangesRunning.decrementAndGet();
+            }
+          }));
+          rowsSubmitted += rowsOfRange;
+        }
+
+        // Ranges are consumed in the order of their rows (not as they finish), so output does not depend on threads
+        C chunk = rangesInFlight.peekFirst().get();
+        rangesInFlight.removeFirst();
+        chunksToConsume.add(chunk);
+        rowsToConsume += chunkSizer.applyAsInt(chunk);
+        rangesConsumed++;
+        if (rowsToConsume >= chunkSize || rangesConsumed == rangesExpected) {
+          consumer.accept(chunksToConsume.size() == 1 ?
+              chunksToConsume.get(0) : chunksMerger.apply(chunksToConsume));
+          chunksToConsume = new ArrayList<>();
+          rowsToConsume = 0;
+        }
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A task failed to generate rows",
+          e.getCause());
+    } finally {
+      // In case of failure or interruption, ranges not yet consumed are useless
+      rangesInFlight.forEach(f -> f.cancel(true));
+    }
+  }
+
+  /**
+   * Generate rows in the current thread
+   */
+  List<Row> generateRows(int number, GenerationContext context) {
+    List<Row> rows = new ArrayList<>(number);
+    for (int i = 0; i < number; i++) {
+      Row row = new Row(this);
+      context.nextRow();
+      for (int index : fieldsRandomIndexes) {
+        context.nextField(fieldsSeeds[index]);
+        row.setValue(index, fieldsByIndex.get(index).generateRandomValue(context));
+      }
+      generationPlan.computeValues(row);
+      if (log.isDebugEnabled()) {
+        log.debug("Created random row: " + row);
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  /**
+   * Generate rows by columns in the current thread
+   */
+  RowBatch generateRowBatch(int number, GenerationContext context) {
+    RowBatch rowBatch = new RowBatch(this, number);
+    rowBatch.generateRows(number, context);
+    return rowBatch;
+  }
 
-    // Init of each field if necessary
-    var fields = getFields();
-    Collection<T> fieldsAsfield = fields.values();
-    fieldsAsfield.forEach(f -> {
+  /**
+   * Estimate bytes taken in heap by one generated row, from a sample of rows
+   * Sample is seeded, so it does not move counters of fields, and computed fields are not evaluated
+   * (they may call remote services) but accounted with a fixed size
+   */
+  public long estimateBytesPerRow(int sampleSize) {
+    GenerationContext context = GenerationContext.seeded(0L).forRange(0L);
+    long valuesBytes = 0L;
+    for (int r = 0; r < sampleSize; r++) {
+      context.nextRow();
+      for (int index : fieldsRandomIndexes) {
+        context.nextField(fieldsSeeds[index]);
+        T field = fieldsByIndex.get(index);
+        Object value = field.generateRandomValue(context);
+        // Values picked in a dictionary are shared by all rows, only the reference to them counts
+        if (!(field instanceof DictionaryField)) {
+          valuesBytes += estimateValueBytes(value);
+        }
+      }
+    }
+    // Row and its array of values, with a reference per field
+    long rowBytes = 32L + 16L + 8L * fieldsByIndex.size();
+    return rowBytes + 64L * fieldsComputedIndexes.length +
+        valuesBytes / Math.max(1, sampleSize);
+  }
+
+  private static long estimateValueBytes(Object value) {
+    if (value == null) {
+      return 0L;
+    } else if (value instanceof String s) {
+      return 40L + 2L * s.length();
+    } else if (value instanceof byte[] b) {
+      return 16L + b.length;
+    } else if (value instanceof Number || value instanceof Boolean) {
+      return 24L;
+    } else if (value instanceof Collection<?> c) {
+      return 48L + c.stream().mapToLong(Model::estimateValueBytes).sum();
+    }
+    return 64L;
+  }
+
+  /**
+   * Start from printed fields and mark all fields they reference, directly or through other computed fields
+   */
+  private boolean[] resolveFieldsGenerated() {
+    boolean[] generated = new boolean[fieldsByIndex.size()];
+    Deque<Integer> fieldsToVisit = new ArrayDeque<>();
+    Arrays.stream(fieldsToPrintIndexes).forEach(fieldsToVisit::add);
+    while (!fieldsToVisit.isEmpty()) {
+      int index = fieldsToVisit.pop();
+      if (generated[index]) {
+        continue;
+      }
+      generated[index] = true;
+      for (Object name : fieldsByIndex.get(index).getReferencedFields()) {
+        Integer referencedIndex = fieldsIndexes.get(name);
+        if (referencedIndex != null && !generated[referencedIndex]) {
+          fieldsToVisit.push(referencedIndex);
+        }
+      }
+    }
+    if (log.isDebugEnabled()) {
+      fieldsIndexes.forEach((name, index) -> {
+        if (!generated[index]) {
+          log.debug("Field {} is not printed nor used by another field, it will not be generated", name);
+        }
+      });
+    }
+    return generated;
+  }
+
+  public boolean isFieldGenerated(int index) {
+    return fieldsGenerated[index];
+  }
+
+  /**
+   * Context of a new generation, seeded if a seed is set in options
+   */
+  private GenerationContext newGenerationContext() {
+    Object seed = options.get(OptionsConverter.Options.SEED);
+    return seed instanceof Long s ? GenerationContext.seeded(s) :
+        new GenerationContext(new SplittableRandom());
+  }
+
+  long getFieldSeed(int index) {
+    return fieldsSeeds[index];
+  }
+
+  /**
+   * Evaluate computed fields of a row, in the order of their dependencies
+   */
+  void computeValues(Row row) {
+    generationPlan.computeValues(row);
+  }
+
+  /**
+   * Init each field if necessary (for connections etc...), it should be done once before generating batches
+   */
+  public void initFields() {
+    fields.values().forEach(f -> {
       try {
         f.initField();
       } catch (ClassCastException e) {
         log.debug("Could not cast field: {}", f);
       }
     });
+  }
 
-    for (int i = 0; i < threads; i++) {
-      long numberOfRowsToGenerate = numberPerThread;
-      if (i == 0) {
-        numberOfRowsToGenerate += restOfRowsToCreate;
+  /**
+   * Increment fields start after given values (by field name), i.e. last values of previous executions,
+   * or after their min if there are none, it must be done before startAtRow() and before generating rows
+   */
+  public void startIncrementCounters(Map<String, Long> lastValues) {
+    boolean ordered = Boolean.parseBoolean(
+        getOptionsOrDefault(OptionsConverter.Options.INCREMENT_ORDERED).toString());
+    fields.forEach((name, f) -> {
+      IncrementCounter counter = f.getIncrementCounter();
+      if (counter != null) {
+        counter.setOrdered(ordered);
+        counter.restore(lastValues == null ? null : lastValues.get(name));
       }
-      RowGeneratorThread threadToStart =
-          new RowGeneratorThread<>(numberOfRowsToGenerate, this,
-              fieldsRandomName, fieldsComputedName, fields);
-      threadToStart.start();
-      threadsStarted.add(threadToStart);
-      log.info(
-          "Started 1 thread to generate: " + numberOfRowsToGenerate + " rows ");
-    }
+    });
+  }
 
-    threadsStarted.forEach(t -> {
-      try {
-        t.join();
-        rows.addAll(t.getRows());
-      } catch (InterruptedException e) {
-        log.warn("A thread was interrupted, its results will not be processed",
-            e);
+  /**
+   * @return last value given by each increment field, by field name
+   */
+  public Map<String, Long> getIncrementCounters() {
+    Map<String, Long> lastValues = new HashMap<>();
+    fields.forEach((name, f) -> {
+      IncrementCounter counter = f.getIncrementCounter();
+      if (counter != null) {
+        lastValues.put(name, counter.getLast());
       }
     });
+    return lastValues;
+  }
 
-    // Terminate all fields if required
-    fieldsAsfield.forEach(f -> {
+  /**
+   * Start generation at a given row, when this model only generates a range of all rows (i.e. as a worker)
+   */
+  public void startAtRow(long firstRowIndex) {
+    fields.values().forEach(f -> f.startAtRow(firstRowIndex));
+  }
+
+  /**
+   * Add a suffix to names of files written, so several instances generating the same model do not overwrite each other files
+   */
+  public void suffixFileNames(String suffix) {
+    List.of(OptionsConverter.TableNames.LOCAL_FILE_NAME,
+            OptionsConverter.TableNames.HDFS_FILE_NAME,
+            OptionsConverter.TableNames.OZONE_KEY_NAME,
+            OptionsConverter.TableNames.S3_KEY_NAME,
+            OptionsConverter.TableNames.ADLS_FILE_NAME,
+            OptionsConverter.TableNames.GCS_OBJECT_NAME)
+        .forEach(tableName -> {
+          if (tableNames.get(tableName) != null) {
+            tableNames.put(tableName, tableNames.get(tableName) + suffix);
+          }
+        });
+  }
+
+  /**
+   * Terminate all fields if required, once all batches have been generated
+   */
+  public void closeFields() {
+    fields.values().forEach(f -> {
       try {
         ((Field<?>) f).closeField();
       } catch (ClassCastException e) {
         log.debug("Could not cast field: {}", f);
       }
     });
-
-    return rows;
   }
 
   public T getFieldFromName(String name) {
     return fields.get(name);
   }
 
+  public T getFieldFromIndex(int index) {
+    return fieldsByIndex.get(index);
+  }
+
+  /**
+   * @param name of the field
+   * @return index of the field in the model (and in the values of a row) or -1 if field does not exist
+   */
+  public int getFieldIndex(String name) {
+    return fieldsIndexes.getOrDefault(name, -1);
+  }
+
+  // 64 bits hash (FNV-1a) of the name of a field, so fields are very unlikely to share a seed as they could with hashCode()
+  static long fieldSeedOf(String name) {
+    long hash = 0xCBF29CE484222325L;
+    for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+      hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+    }
+    return hash;
+  }
+
+  /**
+   * Resolve index of fields from their current order, it must be called each time fields are reordered
+   */
+  private void indexFields() {
+    this.fieldsIndexes = new HashMap<>();
+    this.fieldsByIndex = new ArrayList<>(fields.values());
+    this.fieldsSeeds = new long[fields.size()];
+    int index = 0;
+    for (String name : fields.keySet()) {
+      fieldsIndexes.put(name, index);
+      fieldsSeeds[index] = fieldSeedOf(name);
+      index++;
+    }
+    this.fieldsToPrintIndexes = fieldsToPrint.keySet().stream()
+        .mapToInt(fieldsIndexes::get).toArray();
+    this.fieldsGenerated = resolveFieldsGenerated();
+    this.fieldsRandomIndexes = fieldsRandomName == null ? new int[0] :
+        fieldsRandomName.stream().filter(fieldsIndexes::containsKey)
+            .mapToInt(fieldsIndexes::get).filter(i -> fieldsGenerated[i])
+            .toArray();
+    int[] fieldsComputedDeclared = fieldsComputedName == null ? new int[0] :
+        fieldsComputedName.stream().filter(fieldsIndexes::containsKey)
+            .mapToInt(fieldsIndexes::get).filter(i -> fieldsGenerated[i])
+            .toArray();
+    this.generationPlan = GenerationPlan.compile(fieldsByIndex, fieldsIndexes,
+        fieldsComputedDeclared);
+    // Computed fields are evaluated after the ones they reference, whatever their declaration order
+    this.fieldsComputedIndexes = generationPlan.getComputedOrder();
+  }
+
 
   /**
    * To convert options passed in String format to Java object
@@ -337,16 +735,25 @@ public class Model<T extends Field> {
           case KUDU_BUCKETS:
           case KUDU_BUFFER:
           case KAFKA_PARTITIONS_NUMBER:
+          case HBASE_FLUSH_SIZE:
+          case HBASE_FLUSH_INTERVAL_MS:
+          case KUDU_FLUSH_SIZE:
+          case KUDU_FLUSH_INTERVAL_MS:
+          case SOLR_FLUSH_SIZE:
+          case SOLR_FLUSH_INTERVAL_MS:
             yield v==null || v.isEmpty() ? v : Integer.valueOf(v);
           case ONE_FILE_PER_ITERATION:
           case HIVE_ON_HDFS:
           case CSV_HEADER:
           case PARQUET_DICTIONARY_ENCODING:
           case DELETE_PREVIOUS:
+          case INCREMENT_ORDERED:
             yield v==null || v.isEmpty() ? v : Boolean.valueOf(v);
           case HDFS_REPLICATION_FACTOR:
           case KAFKA_REPLICATION_FACTOR:
             yield v==null || v.isEmpty() ? v : Short.valueOf(v);
+          case SEED:
+            yield v==null || v.isEmpty() ? null : Long.valueOf(v);
           default:
             yield v;
         };
@@ -379,6 +786,7 @@ public Object getOptionsOrDefault(OptionsConverter.Options option) {
     case HIVE_ON_HDFS:
     case ONE_FILE_PER_ITERATION:
     case HIVE_TABLE_ICEBERG_V2:
+    case INCREMENT_ORDERED:
       optionResult = true;
       break;
     case KAFKA_ACKS_CONFIG:
@@ -431,6 +839,16 @@ public Object getOptionsOrDefault(OptionsConverter.Options option) {
     case KUDU_BUFFER:
       optionResult = 100001;
       break;
+    case HBASE_FLUSH_SIZE:
+    case KUDU_FLUSH_SIZE:
+    case SOLR_FLUSH_SIZE:
+      optionResult = 10000;
+      break;
+    case HBASE_FLUSH_INTERVAL_MS:
+    case KUDU_FLUSH_INTERVAL_MS:
+    case SOLR_FLUSH_INTERVAL_MS:
+      optionResult = 5000;
+      break;
     case KUDU_FLUSH:
       optionResult = "MANUAL_FLUSH";
       break;
@@ -589,6 +1007,7 @@ public void reorderColumnsWithPartCols(LinkedList<String> partCols) {
       fields.remove(p);
     });
     fields.putAll(partColsFields);
+    indexFields();
   }
 }
 
@@ -619,6 +1038,7 @@ public void reorderColumnsWithKeyCols(LinkedList<String> keyCols) {
       fieldToPrintClone.remove(p);
     });
     fields.putAll(fieldToPrintClone);
+    indexFields();
   }
 }
 
@@ -836,7 +1256,6 @@ public String HiveTFtoString(HiveTableFormat hiveTableFormat) {
 // Kafka topic should not have special characters or "-"
 // Column comparison in conditionals made should be on same column type
 // Conditionals should be made on existing columns
-// Conditionals should not have "nested" conditions (meaning relying on a computed column)
 // Primary Keys fields should not be ghost fields
 // If hive and kudu are set, make sure part cols are the same as there is a re-order of columns
 public void verifyModel() {
@@ -142,6 +142,8 @@ public class OptionsConverter {
 
     HBASE_PRIMARY_KEY,
     HBASE_COLUMN_FAMILIES_MAPPING,
+    HBASE_FLUSH_SIZE,
+    HBASE_FLUSH_INTERVAL_MS,
 
     KAFKA_MSG_KEY,
     KAFKA_ACKS_CONFIG,
@@ -158,10 +160,17 @@ public class OptionsConverter {
     KUDU_HASH_KEYS,
     KUDU_RANGE_KEYS,
     KUDU_PRIMARY_KEYS,
+    KUDU_FLUSH_SIZE,
+    KUDU_FLUSH_INTERVAL_MS,
 
     SOLR_SHARDS,
     SOLR_REPLICAS,
-    SOLR_JAAS_FILE_PATH
+    SOLR_JAAS_FILE_PATH,
+    SOLR_FLUSH_SIZE,
+    SOLR_FLUSH_INTERVAL_MS,
+
+    SEED,
+    INCREMENT_ORDERED
   }
 
   static Options convertOptionToOption(String option) {
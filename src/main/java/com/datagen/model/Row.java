@@ -23,7 +23,6 @@ import com.datagen.model.type.CsvField;
 import com.datagen.model.type.Field;
 import com.datagen.model.type.NameField;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
@@ -46,44 +45,65 @@ import java.util.*;
 /**
  * This class represents finest structure: a row
  * It should only be populated by Model when calling a generation of random data
+ * Values are stored at the index of their field in the model, see Model.getFieldIndex()
  */
 @Slf4j
 @Getter
 @Setter
-@NoArgsConstructor
 @SuppressWarnings("unchecked")
 public class Row<T extends Field> {
 
-  // A linkedHashMap is required to keep order in fields
   @Getter
   @Setter
-  private HashMap<String, Object> values = new LinkedHashMap<>();
+  private Object[] values;
   @Getter
   @Setter
-  private Model model;
+  private Model<T> model;
+
+  public Row(Model<T> model) {
+    this.model = model;
+    this.values = new Object[model.getFields().size()];
+  }
+
+  public Object getValue(int index) {
+    return values[index];
+  }
+
+  public void setValue(int index, Object value) {
+    values[index] = value;
+  }
+
+  public Object getValue(String name) {
+    int index = model.getFieldIndex(name);
+    return index < 0 ? null : values[index];
+  }
+
+  public void setValue(String name, Object value) {
+    values[model.getFieldIndex(name)] = value;
+  }
 
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
-    // Use of Model LinkedList of fields to keep order of fields
-    this.model.getFields().forEach((name, fieldtype) -> {
-      sb.append(name);
+    // Use of Model order of fields
+    for (int i = 0; i < values.length; i++) {
+      if (!model.isFieldGenerated(i)) {
+        continue;
+      }
+      T field = model.getFieldFromIndex(i);
+      sb.append(field.getName());
       sb.append(" : ");
-      sb.append(model.getFieldFromName(name.toString())
-          .toStringValue(values.get(name.toString())));
+      sb.append(field.toStringValue(values[i]));
       sb.append("  ");
-    });
+    }
     return sb.toString();
   }
 
   public String toCSV() {
     StringBuilder sb = new StringBuilder();
-    // Use of Model LinkedList of fields to keep order of fields
-    this.model.getFieldsToPrint().forEach((name, fieldtype) -> sb.append(
-            model.getFieldFromName(
-                name.toString()).toCSVString(values.get(name.toString()))
-        )
-    );
+    for (int i : model.getFieldsToPrintIndexes()) {
+      sb.append(model.getFieldFromIndex(i).toCSVString(values[i]));
+    }
     sb.deleteCharAt(sb.length() - 1);
     return sb.toString();
   }
@@ -91,13 +111,9 @@ public class Row<T extends Field> {
   public String toJSON() {
     StringBuilder sb = new StringBuilder();
     sb.append("{ ");
-    // Use of Model LinkedList of fields to keep order of fields
-    this.model.getFieldsToPrint()
-        .forEach((name, fieldtype) -> sb.append(
-            model.getFieldFromName(
-                name.toString()).toJSONString(values.get(name.toString()))
-        )
-    );
+    for (int i : model.getFieldsToPrintIndexes()) {
+      sb.append(model.getFieldFromIndex(i).toJSONString(values[i]));
+    }
     sb.deleteCharAt(sb.length() - 2);
     sb.deleteCharAt(sb.length() - 1);
     sb.append(" }");
@@ -108,15 +124,12 @@ public class Row<T extends Field> {
     StringBuilder sb = new StringBuilder();
     sb.append("{ ");
     sb.append(System.lineSeparator());
-    // Use of Model LinkedList of fields to keep order of fields
-    this.model.getFields()
-        .forEach((name, fieldtype) -> {
-              var f = model.getFieldFromName(name.toString());
-              sb.append(f.toJSONString(values.get(name.toString())));
-              if(f.isGhost()) sb.append("\"ghost\": true, ");
-              sb.append(System.lineSeparator());
-            }
-        );
+    for (int i = 0; i < values.length; i++) {
+      T f = model.getFieldFromIndex(i);
+      sb.append(f.toJSONString(values[i]));
+      if(f.isGhost()) sb.append("\"ghost\": true, ");
+      sb.append(System.lineSeparator());
+    }
     sb.deleteCharAt(sb.length() - 3);
     sb.deleteCharAt(sb.length() - 2);
     sb.deleteCharAt(sb.length() - 1);
@@ -131,7 +144,7 @@ public class Row<T extends Field> {
       var kafkaKey = (String) model.getOptionsOrDefault(
           OptionsConverter.Options.KAFKA_MSG_KEY);
       if (kafkaKey != null) {
-        kafkaKeyValue = (String) values.get(kafkaKey);
+        kafkaKeyValue = (String) getValue(kafkaKey);
       }
     } catch (Exception e) {
       log.debug("Could not get kafka Key value so default to empty.");
@@ -140,14 +153,8 @@ public class Row<T extends Field> {
   }
 
   public Map.Entry<String, GenericRecord> toKafkaMessage(Schema schema) {
-    GenericRecord genericRecordRow = new GenericData.Record(schema);
-    this.model.getFieldsToPrint().forEach((name, fieldtype) ->
-        genericRecordRow.put(name.toString(),
-            model.getFieldFromName(name.toString())
-                .toAvroValue(values.get(name.toString())))
-    );
     return new AbstractMap.SimpleEntry<>( getKafkaKeyValue(),
-        genericRecordRow);
+        toGenericRecord(schema));
   }
 
   public Map.Entry<String, String> toKafkaMessageString(
@@ -164,58 +171,48 @@ public class Row<T extends Field> {
 
   public Put toHbasePut() {
     var hbasePkId = (String) model.getOptionsOrDefault(OptionsConverter.Options.HBASE_PRIMARY_KEY);
-    Put put = new Put(Bytes.toBytes(values.get(hbasePkId).toString()));
-    this.model.getFieldsToPrint().forEach((name, fieldtype) ->
-        model.getFieldFromName(name.toString())
-            .toHbasePut(values.get(name.toString()), put)
-    );
+    Put put = new Put(Bytes.toBytes(getValue(hbasePkId).toString()));
+    for (int i : model.getFieldsToPrintIndexes()) {
+      model.getFieldFromIndex(i).toHbasePut(values[i], put);
+    }
     return put;
   }
 
   public SolrInputDocument toSolRDoc() {
     SolrInputDocument doc = new SolrInputDocument();
-    this.model.getFieldsToPrint().forEach((name, fieldtype) -> {
-          var field = model.getFieldFromName(name.toString());
-          if(field!=null) {
-            field.toSolrDoc(values.get(name.toString()), doc);
-          } else {
-            log.warn("Field with name: {} is not existing, so skipping it", name);
-          }
-        }
-    );
+    for (int i : model.getFieldsToPrintIndexes()) {
+      model.getFieldFromIndex(i).toSolrDoc(values[i], doc);
+    }
     return doc;
   }
 
   public Insert toKuduInsert(KuduTable table) {
     Insert insert = table.newInsert();
     PartialRow partialRow = insert.getRow();
-    this.model.getFieldsToPrint().forEach((name, fieldtype) ->
-        model.getFieldFromName(name.toString())
-            .toKudu(values.get(name.toString()), partialRow)
-    );
+    for (int i : model.getFieldsToPrintIndexes()) {
+      model.getFieldFromIndex(i).toKudu(values[i], partialRow);
+    }
     return insert;
   }
 
   public HivePreparedStatement toHiveStatement(
       HivePreparedStatement hivePreparedStatement) {
-    int i = 1;
-    // Use of Model LinkedList of fields to keep order of fields
-    LinkedHashMap<String, T> fieldsFromModel = this.model.getFieldsToPrint();
-    for (Map.Entry<String, T> entry : fieldsFromModel.entrySet()) {
-      model.getFieldFromName(entry.getKey())
-          .toHive(values.get(entry.getKey()), i, hivePreparedStatement);
-      i++;
+    int column = 1;
+    // Use of Model order of fields to print
+    for (int i : model.getFieldsToPrintIndexes()) {
+      model.getFieldFromIndex(i)
+          .toHive(values[i], column, hivePreparedStatement);
+      column++;
     }
     return hivePreparedStatement;
   }
 
   public GenericRecord toGenericRecord(Schema schema) {
     GenericRecord genericRecordRow = new GenericData.Record(schema);
-    this.model.getFieldsToPrint().forEach((name, fieldtype) ->
-        genericRecordRow.put(name.toString(),
-            model.getFieldFromName(name.toString())
-                .toAvroValue(values.get(name.toString())))
-    );
+    for (int i : model.getFieldsToPrintIndexes()) {
+      T field = model.getFieldFromIndex(i);
+      genericRecordRow.put(field.getName(), field.toAvroValue(values[i]));
+    }
     return genericRecordRow;
   }
 
@@ -223,91 +220,102 @@ public class Row<T extends Field> {
   public void fillinOrcVector(int rowNumber,
                               Map<String, ? extends ColumnVector> vectors) {
     vectors.forEach((field, cv) -> {
-      switch (model.getFieldFromName(field).getClass().getSimpleName()) {
-      case "IncrementLongField":
-      case "LongField":
-      case "TimestampField":
-        LongColumnVector longColumnVector = (LongColumnVector) cv;
-        longColumnVector.vector[rowNumber] = (long) values.get(field);
-        break;
-      case "IncrementIntegerField":
-      case "IntegerField":
-        LongColumnVector longColumnVectorInt = (LongColumnVector) cv;
-        longColumnVectorInt.vector[rowNumber] =
-            Integer.toUnsignedLong((int) values.get(field));
-        break;
-      case "FloatField":
-        DoubleColumnVector doubleColumnVector = (DoubleColumnVector) cv;
-        doubleColumnVector.vector[rowNumber] = (float) values.get(field);
-        break;
-      case "StringField":
-      case "StringRegexField":
-      case "DateAsStringField":
-      case "CountryField":
-      case "StringAZField":
-      case "EmailField":
-      case "LinkField":
-      case "IpField":
-      case "PhoneField":
-      case "UuidField":
-      case "BedrockField":
-      case "LocalLLMField":
-      case "OllamaField":
-      case "OpenAIField":
-        BytesColumnVector bytesColumnVector = (BytesColumnVector) cv;
-        String stringValue = (String) values.get(field);
-        bytesColumnVector.setVal(rowNumber,
-            stringValue.getBytes(StandardCharsets.UTF_8));
-        break;
-      case "CityField":
-        BytesColumnVector bytesColumnVectorCity = (BytesColumnVector) cv;
-        CityField.City valueAsCity = (CityField.City) values.get(field);
-        bytesColumnVectorCity.setVal(rowNumber,
-            valueAsCity.getName().getBytes(StandardCharsets.UTF_8));
-        break;
-      case "NameField":
-          BytesColumnVector bytesColumnVectorName = (BytesColumnVector) cv;
-          NameField.Name valueAsName = (NameField.Name) values.get(field);
-          bytesColumnVectorName.setVal(rowNumber,
-                  valueAsName.getFirst_name().getBytes(StandardCharsets.UTF_8));
-          break;
-      case "CsvField":
-        BytesColumnVector bytesColumnVectorCsv = (BytesColumnVector) cv;
-        Map<String, String> valueAsCsv =
-            (Map<String, String>) values.get(field);
-        CsvField csvField = (CsvField) model.getFieldFromName(field);
-        bytesColumnVectorCsv.setVal(rowNumber,
-            valueAsCsv.get(csvField.getMainField())
-                .getBytes(StandardCharsets.UTF_8));
-        break;
-      case "BirthdateField":
-        BytesColumnVector bytesColumnVectorDate = (BytesColumnVector) cv;
-        LocalDate valueDate = (LocalDate) values.get(field);
-        bytesColumnVectorDate.setVal(rowNumber,
-            valueDate.toString().getBytes(StandardCharsets.UTF_8));
-        break;
-      case "DateField":
-        BytesColumnVector bytesColumnVectorDateTime = (BytesColumnVector) cv;
-        LocalDateTime valueDateTime = (LocalDateTime) values.get(field);
-        bytesColumnVectorDateTime.setVal(rowNumber,
-            valueDateTime.toString().getBytes(StandardCharsets.UTF_8));
-        break;
-      case "BooleanField":
-        LongColumnVector longColumnVectorBoolean = (LongColumnVector) cv;
-        longColumnVectorBoolean.vector[rowNumber] =
-            (boolean) values.get(field) ? 1L : 0L;
-        break;
-      case "BytesField":
-      case "HashMd5Field":
-        BytesColumnVector bytesColumnVectorBytes = (BytesColumnVector) cv;
-        bytesColumnVectorBytes.setVal(rowNumber, (byte[]) values.get(field));
-        break;
-      default:
-        log.warn("Cannot get types of Orc column: " + field + " as field is " +
-            model.getFieldFromName(field).getClass().getSimpleName());
-      }
+      int i = model.getFieldIndex(field);
+      fillinOrcColumnVector(model.getFieldFromIndex(i), values[i], rowNumber,
+          cv);
     });
 
   }
 
+  /**
+   * Set one value of a field into its ORC column vector
+   * It is also used by RowBatch for columns it does not store as primitives
+   */
+  static void fillinOrcColumnVector(Field field, Object value, int rowNumber,
+                                    ColumnVector cv) {
+    switch (field.getClass().getSimpleName()) {
+    case "IncrementLongField":
+    case "LongField":
+    case "TimestampField":
+      LongColumnVector longColumnVector = (LongColumnVector) cv;
+      longColumnVector.vector[rowNumber] = (long) value;
+      break;
+    case "IncrementIntegerField":
+    case "IntegerField":
+      LongColumnVector longColumnVectorInt = (LongColumnVector) cv;
+      longColumnVectorInt.vector[rowNumber] =
+          Integer.toUnsignedLong((int) value);
+      break;
+    case "FloatField":
+      DoubleColumnVector doubleColumnVector = (DoubleColumnVector) cv;
+      doubleColumnVector.vector[rowNumber] = (float) value;
+      break;
+    case "StringField":
+    case "StringRegexField":
+    case "DateAsStringField":
+    case "CountryField":
+    case "StringAZField":
+    case "EmailField":
+    case "LinkField":
+    case "IpField":
+    case "PhoneField":
+    case "UuidField":
+    case "BedrockField":
+    case "LocalLLMField":
+    case "OllamaField":
+    case "OpenAIField":
+      BytesColumnVector bytesColumnVector = (BytesColumnVector) cv;
+      String stringValue = (String) value;
+      bytesColumnVector.setVal(rowNumber,
+          stringValue.getBytes(StandardCharsets.UTF_8));
+      break;
+    case "CityField":
+      BytesColumnVector bytesColumnVectorCity = (BytesColumnVector) cv;
+      CityField.City valueAsCity = (CityField.City) value;
+      bytesColumnVectorCity.setVal(rowNumber,
+          valueAsCity.getName().getBytes(StandardCharsets.UTF_8));
+      break;
+    case "NameField":
+        BytesColumnVector bytesColumnVectorName = (BytesColumnVector) cv;
+        NameField.Name valueAsName = (NameField.Name) value;
+        bytesColumnVectorName.setVal(rowNumber,
+                valueAsName.getFirst_name().getBytes(StandardCharsets.UTF_8));
+        break;
+    case "CsvField":
+      BytesColumnVector bytesColumnVectorCsv = (BytesColumnVector) cv;
+      Map<String, String> valueAsCsv =
+          (Map<String, String>) value;
+      CsvField csvField = (CsvField) field;
+      bytesColumnVectorCsv.setVal(rowNumber,
+          valueAsCsv.get(csvField.getMainField())
+              .getBytes(StandardCharsets.UTF_8));
+      break;
+    case "BirthdateField":
+      BytesColumnVector bytesColumnVectorDate = (BytesColumnVector) cv;
+      LocalDate valueDate = (LocalDate) value;
+      bytesColumnVectorDate.setVal(rowNumber,
+          valueDate.toString().getBytes(StandardCharsets.UTF_8));
+      break;
+    case "DateField":
+      BytesColumnVector bytesColumnVectorDateTime = (BytesColumnVector) cv;
+      LocalDateTime valueDateTime = (LocalDateTime) value;
+      bytesColumnVectorDateTime.setVal(rowNumber,
+          valueDateTime.toString().getBytes(StandardCharsets.UTF_8));
+      break;
+    case "BooleanField":
+      LongColumnVector longColumnVectorBoolean = (LongColumnVector) cv;
+      longColumnVectorBoolean.vector[rowNumber] =
+          (boolean) value ? 1L : 0L;
+      break;
+    case "BytesField":
+    case "HashMd5Field":
+      BytesColumnVector bytesColumnVectorBytes = (BytesColumnVector) cv;
+      bytesColumnVectorBytes.setVal(rowNumber, (byte[]) value);
+      break;
+    default:
+      log.warn("Cannot get types of Orc column: " + field.getName() +
+          " as field is " + field.getClass().getSimpleName());
+    }
+  }
+
 }
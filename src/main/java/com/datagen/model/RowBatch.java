@@ -0,0 +1,447 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import com.datagen.model.type.DictionaryField;
+import com.datagen.model.type.Field;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents a batch of rows stored by columns: one typed array per field
+ * Integers, longs, timestamps and booleans are kept in a long[], floats in a double[], strings and bytes in a byte[][]
+ * and fields picking their values in a dictionary (City, Name, Csv) only keep the ordinal of the value picked
+ * Computed fields and all other types are kept as objects
+ * It avoids one map and boxed values per row, connectors able to use it directly should override
+ * ConnectorInterface.sendOneRowBatch(), others get it converted to rows
+ */
+@Slf4j
+@SuppressWarnings("unchecked")
+public class RowBatch<T extends Field> {
+
+  public enum ColumnType {
+    INTEGER,
+    LONG,
+    BOOLEAN,
+    FLOAT,
+    STRING,
+    BYTES,
+    DICTIONARY,
+    OBJECT,
+    // Field is not generated as nothing uses it, it has no storage and its values are null
+    UNUSED
+  }
+
+  @Getter
+  private final Model model;
+  @Getter
+  private final int capacity;
+  @Getter
+  private int size;
+
+  // All columns, ghost ones included, at the index of their field in the model
+  @Getter
+  private final String[] columnNames;
+  private final T[] fields;
+  @Getter
+  private final ColumnType[] columnTypes;
+
+  // Only one of these arrays is set per column, according to its type
+  private final long[][] longColumns;
+  private final double[][] doubleColumns;
+  private final byte[][][] bytesColumns;
+  private final int[][] dictionaryColumns;
+  // Fields of dictionary columns, null for other columns
+  private final DictionaryField<?>[] dictionaryFields;
+  private final Object[][] objectColumns;
+  private final ColumnSink[] columnSinks;
+
+  private final int[] randomColumns;
+  private final int[] computedColumns;
+  private final int[] printedColumns;
+  // Computed fields are evaluated against a row, this one is reused for every row generated in this batch
+  private final Row scratchRow;
+
+  public RowBatch(Model model, int capacity) {
+    this.model = model;
+    this.capacity = capacity;
+    this.size = 0;
+
+    LinkedHashMap<String, T> fieldsOfModel = model.getFields();
+    int numberOfColumns = fieldsOfModel.size();
+    this.columnNames = fieldsOfModel.keySet().toArray(new String[0]);
+    this.fields = (T[]) fieldsOfModel.values().toArray(new Field[0]);
+    this.columnTypes = new ColumnType[numberOfColumns];
+    this.longColumns = new long[numberOfColumns][];
+    this.doubleColumns = new double[numberOfColumns][];
+    this.bytesColumns = new byte[numberOfColumns][][];
+    this.dictionaryColumns = new int[numberOfColumns][];
+    this.dictionaryFields = new DictionaryField<?>[numberOfColumns];
+    this.objectColumns = new Object[numberOfColumns][];
+    this.columnSinks = new ColumnSink[numberOfColumns];
+
+    for (int c = 0; c < numberOfColumns; c++) {
+      columnTypes[c] = model.isFieldGenerated(c) ? columnTypeOf(fields[c]) :
+          ColumnType.UNUSED;
+      switch (columnTypes[c]) {
+      case INTEGER, LONG, BOOLEAN -> longColumns[c] = new long[capacity];
+      case FLOAT -> doubleColumns[c] = new double[capacity];
+      case STRING, BYTES -> bytesColumns[c] = new byte[capacity][];
+      case DICTIONARY -> {
+        dictionaryColumns[c] = new int[capacity];
+        dictionaryFields[c] = (DictionaryField<?>) fields[c];
+      }
+      case UNUSED -> { }
+      default -> objectColumns[c] = new Object[capacity];
+      }
+      columnSinks[c] = new BatchColumn(c);
+    }
+
+    this.randomColumns = model.getFieldsRandomIndexes();
+    this.computedColumns = model.getFieldsComputedIndexes();
+    this.printedColumns = model.getFieldsToPrintIndexes();
+
+    if (computedColumns.length > 0) {
+      this.scratchRow = new Row(model);
+    } else {
+      this.scratchRow = null;
+    }
+  }
+
+  /**
+   * Choose how a field is stored, according to its type
+   * Computed fields are kept as objects as they may be null
+   */
+  static ColumnType columnTypeOf(Field field) {
+    if (field.computed) {
+      return ColumnType.OBJECT;
+    }
+    if (field instanceof DictionaryField) {
+      return ColumnType.DICTIONARY;
+    }
+    return switch (field.getClass().getSimpleName()) {
+      case "IncrementIntegerField", "IntegerField" -> ColumnType.INTEGER;
+      case "IncrementLongField", "LongField", "TimestampField" ->
+          ColumnType.LONG;
+      case "BooleanField" -> ColumnType.BOOLEAN;
+      case "FloatField" -> ColumnType.FLOAT;
+      case "StringField", "StringRegexField", "DateAsStringField",
+           "CountryField", "StringAZField", "EmailField", "IpField",
+           "PhoneField", "UuidField" -> ColumnType.STRING;
+      case "BytesField", "HashMd5Field" -> ColumnType.BYTES;
+      default -> ColumnType.OBJECT;
+    };
+  }
+
+  public boolean isFull() {
+    return size == capacity;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Generate one more row directly into the columns
+   * Random fields are generated first, then computed fields (as done for a Row)
+   */
+  public void generateRow(GenerationContext context) {
+    if (isFull()) {
+      throw new IllegalStateException(
+          "Row batch is full with " + capacity + " rows");
+    }
+    int row = size;
+    context.nextRow();
+    for (int c : randomColumns) {
+      context.nextField(model.getFieldSeed(c));
+      if (columnTypes[c] == ColumnType.DICTIONARY) {
+        dictionaryColumns[c][row] = dictionaryFields[c].generateRandomOrdinal(context);
+      } else {
+        setValue(c, row, fields[c].generateRandomValue(context));
+      }
+    }
+    if (scratchRow != null) {
+      for (int c : randomColumns) {
+        scratchRow.setValue(c, getValue(c, row));
+      }
+      model.computeValues(scratchRow);
+      for (int c : computedColumns) {
+        objectColumns[c][row] = scratchRow.getValue(c);
+      }
+    }
+    size++;
+  }
+
+  /**
+   * Generate more rows column by column: each random field fills its column for all rows at once,
+   * then computed fields are evaluated row by row
+   * Rows are the same as the ones generated one by one with generateRow() when context is seeded
+   */
+  public void generateRows(int count, GenerationContext context) {
+    if (size + count > capacity) {
+      throw new IllegalStateException(
+          "Row batch of " + capacity + " rows can not get " + count + " more rows");
+    }
+    int from = size;
+    int end = from + count;
+    for (int c : randomColumns) {
+      context.startColumn(model.getFieldSeed(c));
+      if (columnTypes[c] == ColumnType.DICTIONARY) {
+        int[] ordinals = dictionaryColumns[c];
+        DictionaryField<?> dictionaryField = dictionaryFields[c];
+        for (int row = from; row < end; row++) {
+          context.nextCell();
+          ordinals[row] = dictionaryField.generateRandomOrdinal(context);
+        }
+      } else {
+        fields[c].generateValues(columnSinks[c], from, count, context);
+      }
+      context.endColumn();
+    }
+    context.skipRows(count);
+    if (scratchRow != null) {
+      for (int row = from; row < end; row++) {
+        for (int c : randomColumns) {
+          scratchRow.setValue(c, getValue(c, row));
+        }
+        model.computeValues(scratchRow);
+        for (int c : computedColumns) {
+          objectColumns[c][row] = scratchRow.getValue(c);
+        }
+      }
+    }
+    size = end;
+  }
+
+  // Column given to fields to write values they generate
+  private class BatchColumn implements ColumnSink {
+    private final int column;
+
+    private BatchColumn(int column) {
+      this.column = column;
+    }
+
+    public long[] getLongs() {
+      return longColumns[column];
+    }
+
+    public double[] getDoubles() {
+      return doubleColumns[column];
+    }
+
+    public byte[][] getBytes() {
+      return bytesColumns[column];
+    }
+
+    public Object[] getObjects() {
+      return objectColumns[column];
+    }
+
+    public void setValue(int row, Object value) {
+      RowBatch.this.setValue(column, row, value);
+    }
+  }
+
+  private void setValue(int column, int row, Object value) {
+    switch (columnTypes[column]) {
+    case INTEGER, LONG -> longColumns[column][row] = ((Number) value).longValue();
+    case BOOLEAN -> longColumns[column][row] = (Boolean) value ? 1L : 0L;
+    case FLOAT -> doubleColumns[column][row] = (Float) value;
+    case STRING -> bytesColumns[column][row] = value == null ? null :
+        ((String) value).getBytes(StandardCharsets.UTF_8);
+    case BYTES -> bytesColumns[column][row] = (byte[]) value;
+    case DICTIONARY -> throw new IllegalStateException(
+        "Dictionary column " + columnNames[column] + " only stores ordinals");
+    default -> objectColumns[column][row] = value;
+    }
+  }
+
+  /**
+   * Get a value back in the type that the field would have generated it
+   */
+  public Object getValue(int column, int row) {
+    return switch (columnTypes[column]) {
+      case INTEGER -> (int) longColumns[column][row];
+      case LONG -> longColumns[column][row];
+      case BOOLEAN -> longColumns[column][row] != 0L;
+      case FLOAT -> (float) doubleColumns[column][row];
+      case STRING -> bytesColumns[column][row] == null ? null :
+          new String(bytesColumns[column][row], StandardCharsets.UTF_8);
+      case BYTES -> bytesColumns[column][row];
+      case DICTIONARY ->
+          dictionaryFields[column].getDictionary().get(dictionaryColumns[column][row]);
+      case UNUSED -> null;
+      default -> objectColumns[column][row];
+    };
+  }
+
+  /**
+   * Account for rows written directly in the columns (i.e. read back from disk), up to size
+   */
+  public void setFilled(int size) {
+    if (size > capacity) {
+      throw new IllegalStateException(
+          "Row batch of " + capacity + " rows can not have " + size + " rows");
+    }
+    this.size = size;
+  }
+
+  public int getColumnIndex(String name) {
+    return model.getFieldIndex(name);
+  }
+
+  public long[] getLongColumn(int column) {
+    return longColumns[column];
+  }
+
+  public double[] getDoubleColumn(int column) {
+    return doubleColumns[column];
+  }
+
+  public byte[][] getBytesColumn(int column) {
+    return bytesColumns[column];
+  }
+
+  public int[] getDictionaryColumn(int column) {
+    return dictionaryColumns[column];
+  }
+
+  public Object[] getObjectColumn(int column) {
+    return objectColumns[column];
+  }
+
+  /**
+   * Convert this batch to rows, for connectors not able to use it directly
+   */
+  public List<Row> toRows() {
+    List<Row> rows = new ArrayList<>(size);
+    for (int r = 0; r < size; r++) {
+      Row row = new Row(model);
+      for (int c = 0; c < columnNames.length; c++) {
+        row.setValue(c, getValue(c, r));
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  /**
+   * Same output as Row.toCSV() without re-creating the row
+   */
+  public String toCSV(int row) {
+    StringBuilder sb = new StringBuilder();
+    for (int c : printedColumns) {
+      switch (columnTypes[c]) {
+      case INTEGER, LONG -> sb.append('"').append(longColumns[c][row])
+          .append("\",");
+      case BOOLEAN -> sb.append('"').append(longColumns[c][row] != 0L)
+          .append("\",");
+      case FLOAT -> sb.append('"').append((float) doubleColumns[c][row])
+          .append("\",");
+      case STRING -> sb.append('"').append(bytesColumns[c][row] == null ? null :
+              new String(bytesColumns[c][row], StandardCharsets.UTF_8))
+          .append("\",");
+      default -> sb.append(fields[c].toCSVString(getValue(c, row)));
+      }
+    }
+    sb.deleteCharAt(sb.length() - 1);
+    return sb.toString();
+  }
+
+  /**
+   * Same as Row.fillinOrcVector() but primitive columns are copied without any conversion
+   *
+   * @param row       index of the row in this batch
+   * @param rowNumber index of the row in the ORC batch
+   * @param vectors   ORC column vectors by name of field
+   */
+  public void fillinOrcVector(int row, int rowNumber,
+                              Map<String, ? extends ColumnVector> vectors) {
+    vectors.forEach((name, cv) -> {
+      int c = model.getFieldIndex(name);
+      switch (columnTypes[c]) {
+      case INTEGER -> ((LongColumnVector) cv).vector[rowNumber] =
+          Integer.toUnsignedLong((int) longColumns[c][row]);
+      case LONG, BOOLEAN ->
+          ((LongColumnVector) cv).vector[rowNumber] = longColumns[c][row];
+      case FLOAT ->
+          ((DoubleColumnVector) cv).vector[rowNumber] = doubleColumns[c][row];
+      // Arrays are not modified after generation, so they can be referenced instead of copied
+      case STRING, BYTES -> {
+        byte[] value = bytesColumns[c][row];
+        if (value == null) {
+          cv.noNulls = false;
+          cv.isNull[rowNumber] = true;
+        } else {
+          ((BytesColumnVector) cv).setRef(rowNumber, value, 0, value.length);
+        }
+      }
+      default -> Row.fillinOrcColumnVector(fields[c], getValue(c, row),
+          rowNumber, cv);
+      }
+    });
+  }
+
+  /**
+   * Concatenate batches generated separately into one, in the order of the list
+   * All batches must come from the same model
+   */
+  public static RowBatch concat(List<RowBatch> rowBatches) {
+    if (rowBatches.size() == 1) {
+      return rowBatches.get(0);
+    }
+    int totalSize = rowBatches.stream().mapToInt(RowBatch::getSize).sum();
+    RowBatch merged = new RowBatch(rowBatches.get(0).getModel(), totalSize);
+    for (RowBatch rowBatch : rowBatches) {
+      for (int c = 0; c < merged.columnNames.length; c++) {
+        if (merged.columnTypes[c] == ColumnType.UNUSED) {
+          continue;
+        }
+        Object source = switch (merged.columnTypes[c]) {
+          case INTEGER, LONG, BOOLEAN -> rowBatch.longColumns[c];
+          case FLOAT -> rowBatch.doubleColumns[c];
+          case STRING, BYTES -> rowBatch.bytesColumns[c];
+          case DICTIONARY -> rowBatch.dictionaryColumns[c];
+          default -> rowBatch.objectColumns[c];
+        };
+        Object destination = switch (merged.columnTypes[c]) {
+          case INTEGER, LONG, BOOLEAN -> merged.longColumns[c];
+          case FLOAT -> merged.doubleColumns[c];
+          case STRING, BYTES -> merged.bytesColumns[c];
+          case DICTIONARY -> merged.dictionaryColumns[c];
+          default -> merged.objectColumns[c];
+        };
+        System.arraycopy(source, 0, destination, merged.size,
+            rowBatch.size);
+      }
+      merged.size += rowBatch.size;
+    }
+    return merged;
+  }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of threads generating rows, shared by all batches and commands
+ * Rows to generate are split in ranges, each range being a task taken by the first idle thread,
+ * so threads are not created for each batch and a slow range does not hold others
+ */
+@Slf4j
+public class RowGeneratorPool {
+
+  private static ExecutorService pool;
+  private static int poolSize;
+  // Expensive computed fields of a row are evaluated concurrently on this pool, mostly waiting for remote calls
+  private static ExecutorService computePool;
+  // Remote calls each generation thread may wait for at once, beyond it they are queued
+  private static final int COMPUTE_THREADS_PER_GENERATOR = 4;
+
+  private RowGeneratorPool() {
+    throw new IllegalStateException("Could not initialize this class");
+  }
+
+  /**
+   * Set the number of threads of the pool, it must be called before any generation to be taken into account
+   * @param threads number of threads, if not strictly positive, number of available processors is used
+   */
+  public static synchronized void init(int threads) {
+    if (pool != null) {
+      log.warn(
+          "Pool of generation is already started with {} threads, it will not be resized to {} threads",
+          poolSize, threads);
+      return;
+    }
+    createPool(threads);
+  }
+
+  static synchronized ExecutorService getPool() {
+    if (pool == null) {
+      createPool(0);
+    }
+    return pool;
+  }
+
+  /**
+   * Pool of computation, bounded by the size of the pool of generation, so many rows generated at once do not
+   * start a thread per expensive field of each row
+   */
+  static synchronized ExecutorService getComputePool() {
+    if (computePool == null) {
+      // Pool of generation is started first, to size this one from it
+      getPool();
+      int computePoolSize = poolSize * COMPUTE_THREADS_PER_GENERATOR;
+      computePool = Executors.newFixedThreadPool(computePoolSize,
+          daemonThreadFactory("datagen-computer-"));
+      log.info("Started pool of computation with {} threads", computePoolSize);
+    }
+    return computePool;
+  }
+
+  public static synchronized int getPoolSize() {
+    return pool == null ? 0 : poolSize;
+  }
+
+  public static synchronized void shutdown() {
+    if (pool != null) {
+      pool.shutdownNow();
+      pool = null;
+      log.info("Pool of generation has been shut down");
+    }
+    if (computePool != null) {
+      computePool.shutdownNow();
+      computePool = null;
+    }
+  }
+
+  private static void createPool(int threads) {
+    poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    pool = Executors.newFixedThreadPool(poolSize,
+        daemonThreadFactory("datagen-generator-"));
+    log.info("Started pool of generation with {} threads", poolSize);
+  }
+
+  private static ThreadFactory daemonThreadFactory(String prefix) {
+    AtomicInteger threadNumber = new AtomicInteger(0);
+    return runnable -> {
+      Thread thread = new Thread(runnable,
+          prefix + threadNumber.incrementAndGet());
+      // Generation must not prevent the application to stop
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+}
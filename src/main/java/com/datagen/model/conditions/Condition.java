@@ -125,9 +125,9 @@ public class Condition {
 
   public boolean evaluateCondition(Row row) {
     boolean result;
-    String firstValue = row.getValues().get(columnName1).toString().trim();
+    String firstValue = row.getValue(columnName1).toString().trim();
     String secondValue = columnName2 == null ? value2.trim() :
-        row.getValues().get(columnName2).toString().trim();
+        row.getValue(columnName2).toString().trim();
 
     switch (this.operator) {
     case EQUALS:
@@ -48,6 +48,12 @@ public class ConditionalEvaluator {
     }
   }
 
+  public Set<String> getReferencedFields() {
+    Set<String> referencedFields = new HashSet<>();
+    conditionLines.forEach(cl -> referencedFields.addAll(cl.getReferencedFields()));
+    return referencedFields;
+  }
+
   public String evaluateConditions(Row row) {
     for (ConditionsLine cl : conditionLines) {
       if (cl.isLineSatisfied(row)) {
@@ -25,8 +25,10 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -155,6 +157,26 @@ public class ConditionsLine {
     return null;
   }
 
+  /**
+   * @return names of the fields this line needs to be evaluated
+   */
+  public Set<String> getReferencedFields() {
+    Set<String> referencedFields = new HashSet<>();
+    listOfConditions.forEach(c -> {
+      referencedFields.add(c.getColumnName1());
+      if (c.getColumnName2() != null) {
+        referencedFields.add(c.getColumnName2());
+      }
+    });
+    if (this.link) {
+      referencedFields.add(linkToEvaluate.getLinkedFieldName());
+    }
+    if (this.stringFragments != null) {
+      referencedFields.addAll(ParsingUtils.getVariableNames(stringFragments));
+    }
+    return referencedFields;
+  }
+
   public boolean isLineSatisfied(Row row) {
     if (!combinedCondition) {
       if (!listOfConditions.isEmpty()) {
@@ -21,6 +21,7 @@ import com.datagen.model.Model;
 import com.datagen.model.Row;
 import com.datagen.model.type.CityField;
 import com.datagen.model.type.NameField;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
@@ -29,6 +30,7 @@ import java.util.Map;
 @Slf4j
 public class Link {
 
+  @Getter
   private final String linkedFieldName;
   private final String linkedFieldAttribute;
   private String linkedFieldType;
@@ -48,7 +50,7 @@ public class Link {
   }
 
   public String evaluateLink(Row row) {
-    Object linkedField = row.getValues().get(this.linkedFieldName);
+    Object linkedField = row.getValue(this.linkedFieldName);
     try {
       switch (linkedFieldType) {
         case "NameField":
@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import com.datagen.model.Row;
 import com.datagen.utils.ParsingUtils;
 import lombok.Getter;
@@ -41,6 +42,7 @@ import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
 import java.sql.SQLException;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Getter
@@ -132,6 +134,16 @@ public class BedrockField extends Field<String> {
 
   }
 
+  @Override
+  public Set<String> getReferencedFields() {
+    return ParsingUtils.getVariableNames(requestToInject);
+  }
+
+  @Override
+  public boolean isExpensiveToCompute() {
+    return true;
+  }
+
   @Override
   public String generateComputedValue(Row row) {
     String stringToEvaluate =
@@ -186,7 +198,7 @@ public class BedrockField extends Field<String> {
   }
 
   @Override
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
     return "";
   }
 
@@ -0,0 +1,297 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Dictionary compiled to a columnar binary format, read in place from a memory mapped file
+ * Strings are stored once in a pool (UTF-8 bytes and their offsets), string columns hold ids in this pool,
+ * and numeric columns hold their values directly
+ * Strings are decoded the first time they are read only
+ * <p>
+ * Layout (big endian):
+ * magic, rows, columns, has header, column types (byte each), header string ids (if any),
+ * string count, string offsets (count + 1), string bytes, then each column (int ids or long values)
+ * <p>
+ * Dictionaries of src/main/resources/dictionaries are compiled by the build (see main()),
+ * if a compiled one is not found, the text one is compiled in memory at runtime
+ */
+@Slf4j
+public final class BinaryDictionary {
+
+  public static final String EXTENSION = ".bin";
+  private static final int MAGIC = 0x44474431;
+  private static final String SEPARATOR = ";";
+  private static final byte STRING = 0;
+  private static final byte LONG = 1;
+
+  private final ByteBuffer buffer;
+  private final int rows;
+  private final byte[] types;
+  private final List<String> header;
+  private final int stringOffsetsPosition;
+  private final int stringBytesPosition;
+  private final int[] columnPositions;
+  // Decoded strings, racy but harmless as strings are immutable
+  private final String[] strings;
+
+  private BinaryDictionary(ByteBuffer buffer) {
+    this.buffer = buffer;
+    int position = 0;
+    if (buffer.getInt(position) != MAGIC) {
+      throw new IllegalArgumentException("Not a compiled dictionary");
+    }
+    this.rows = buffer.getInt(position + 4);
+    int columns = buffer.getInt(position + 8);
+    boolean hasHeader = buffer.getInt(position + 12) == 1;
+    position += 16;
+    this.types = new byte[columns];
+    for (int c = 0; c < columns; c++) {
+      types[c] = buffer.get(position++);
+    }
+    int headerPosition = position;
+    if (hasHeader) {
+      position += 4 * columns;
+    }
+    int stringCount = buffer.getInt(position);
+    this.strings = new String[stringCount];
+    this.stringOffsetsPosition = position + 4;
+    this.stringBytesPosition = stringOffsetsPosition + 4 * (stringCount + 1);
+    position = stringBytesPosition + buffer.getInt(stringOffsetsPosition + 4 * stringCount);
+    this.columnPositions = new int[columns];
+    for (int c = 0; c < columns; c++) {
+      columnPositions[c] = position;
+      position += (types[c] == LONG ? 8 : 4) * rows;
+    }
+
+    List<String> headerNames = new ArrayList<>();
+    if (hasHeader) {
+      for (int c = 0; c < columns; c++) {
+        headerNames.add(string(buffer.getInt(headerPosition + 4 * c)));
+      }
+    }
+    this.header = Collections.unmodifiableList(headerNames);
+  }
+
+  /**
+   * Load the compiled version of a dictionary from the classpath if it exists, otherwise compile it from its text
+   */
+  public static BinaryDictionary load(String resource) throws IOException {
+    URL compiled = BinaryDictionary.class.getClassLoader()
+        .getResource(resource + EXTENSION);
+    if (compiled != null) {
+      try {
+        return new BinaryDictionary(map(compiled));
+      } catch (Exception e) {
+        log.warn("Could not read compiled dictionary {}, it is compiled again: ",
+            compiled, e);
+      }
+    }
+    try (InputStream is = BinaryDictionary.class.getClassLoader()
+        .getResourceAsStream(resource)) {
+      if (is == null) {
+        throw new FileNotFoundException("No dictionary " + resource + " in classpath");
+      }
+      return of(new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))
+          .lines().toList());
+    }
+  }
+
+  /**
+   * Compile lines of a dictionary in memory
+   */
+  static BinaryDictionary of(List<String> lines) throws IOException {
+    return new BinaryDictionary(ByteBuffer.wrap(compile(lines)));
+  }
+
+  // Number of rows, header excluded
+  public int size() {
+    return rows;
+  }
+
+  // Column names, if first line was detected as a header (empty otherwise)
+  public List<String> getHeader() {
+    return header;
+  }
+
+  public String getString(int row, int column) {
+    if (types[column] == LONG) {
+      return String.valueOf(getLong(row, column));
+    }
+    return string(buffer.getInt(columnPositions[column] + 4 * row));
+  }
+
+  public long getLong(int row, int column) {
+    if (types[column] == STRING) {
+      return Long.parseLong(getString(row, column));
+    }
+    return buffer.getLong(columnPositions[column] + 8 * row);
+  }
+
+  private String string(int id) {
+    String value = strings[id];
+    if (value == null) {
+      int start = buffer.getInt(stringOffsetsPosition + 4 * id);
+      int end = buffer.getInt(stringOffsetsPosition + 4 * (id + 1));
+      byte[] bytes = new byte[end - start];
+      buffer.get(stringBytesPosition + start, bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+      strings[id] = value;
+    }
+    return value;
+  }
+
+  /**
+   * Files inside a jar cannot be mapped, so they are copied once to a temporary file
+   */
+  private static ByteBuffer map(URL url) throws Exception {
+    Path path;
+    if ("file".equals(url.getProtocol())) {
+      path = Path.of(url.toURI());
+    } else {
+      path = Files.createTempFile("datagen-dictionary-", EXTENSION);
+      path.toFile().deleteOnExit();
+      try (InputStream is = url.openStream()) {
+        Files.copy(is, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * Compile lines of a dictionary (values separated by ;)
+   * A column is numeric if all its values are integers, first line is a header if it is the only one breaking this
+   */
+  static byte[] compile(List<String> lines) throws IOException {
+    List<String[]> values = lines.stream().map(l -> l.split(SEPARATOR, -1)).toList();
+    int columns = values.stream().mapToInt(v -> v.length).max().orElse(0);
+
+    boolean hasHeader = false;
+    byte[] types = new byte[columns];
+    for (int c = 0; c < columns; c++) {
+      boolean numericWithoutFirst = values.size() > 1;
+      for (int r = 1; r < values.size() && numericWithoutFirst; r++) {
+        numericWithoutFirst = isLong(valueOf(values.get(r), c));
+      }
+      if (numericWithoutFirst) {
+        types[c] = LONG;
+        hasHeader |= !isLong(valueOf(values.get(0), c));
+      }
+    }
+    List<String[]> rows = hasHeader ? values.subList(1, values.size()) : values;
+
+    Map<String, Integer> ids = new LinkedHashMap<>();
+    int[] headerIds = new int[columns];
+    if (hasHeader) {
+      for (int c = 0; c < columns; c++) {
+        headerIds[c] = ids.computeIfAbsent(valueOf(values.get(0), c), s -> ids.size());
+      }
+    }
+    int[][] columnIds = new int[columns][];
+    for (int c = 0; c < columns; c++) {
+      if (types[c] == STRING) {
+        columnIds[c] = new int[rows.size()];
+        for (int r = 0; r < rows.size(); r++) {
+          columnIds[c][r] = ids.computeIfAbsent(valueOf(rows.get(r), c), s -> ids.size());
+        }
+      }
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeInt(rows.size());
+    out.writeInt(columns);
+    out.writeInt(hasHeader ? 1 : 0);
+    out.write(types);
+    if (hasHeader) {
+      for (int id : headerIds) {
+        out.writeInt(id);
+      }
+    }
+    List<byte[]> pool = ids.keySet().stream()
+        .map(s -> s.getBytes(StandardCharsets.UTF_8)).toList();
+    out.writeInt(pool.size());
+    int offset = 0;
+    out.writeInt(offset);
+    for (byte[] string : pool) {
+      offset += string.length;
+      out.writeInt(offset);
+    }
+    for (byte[] string : pool) {
+      out.write(string);
+    }
+    for (int c = 0; c < columns; c++) {
+      for (int r = 0; r < rows.size(); r++) {
+        if (types[c] == LONG) {
+          out.writeLong(Long.parseLong(valueOf(rows.get(r), c)));
+        } else {
+          out.writeInt(columnIds[c][r]);
+        }
+      }
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private static String valueOf(String[] row, int column) {
+    return column < row.length ? row[column] : "";
+  }
+
+  // Only values read back exactly the same are numbers (i.e. not 007 or +33)
+  private static boolean isLong(String value) {
+    try {
+      return String.valueOf(Long.parseLong(value)).equals(value);
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Compile all dictionaries of a directory, called by the build
+   * @param args directory of dictionaries, directory where compiled ones are written
+   */
+  public static void main(String[] args) throws IOException {
+    Path source = Path.of(args[0]);
+    Path target = Path.of(args[1]);
+    Files.createDirectories(target);
+    try (var files = Files.list(source)) {
+      for (Path file : files.filter(f -> f.toString().endsWith(".csv") ||
+          f.toString().endsWith(".txt")).sorted().toList()) {
+        byte[] compiled = compile(Files.readAllLines(file, StandardCharsets.UTF_8));
+        Files.write(target.resolve(file.getFileName() + EXTENSION), compiled);
+        log.info("Compiled dictionary {} into {} bytes", file, compiled.length);
+      }
+    }
+  }
+
+}
@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -30,7 +31,6 @@ import org.apache.orc.TypeDescription;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 @Slf4j
@@ -41,16 +41,7 @@ public class BirthdateField extends Field<LocalDate> {
   public BirthdateField(String name, HashMap<String, Long> possible_values_weighted,
                  LocalDate min, LocalDate max) {
     this.name = name;
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(LocalDate.parse(value, formatter));
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, value -> LocalDate.parse(value, formatter));
 
     if (min == null) {
       this.min = LocalDate.of(1920, 1, 1).toEpochDay();
@@ -68,12 +59,13 @@ public class BirthdateField extends Field<LocalDate> {
    * Generates a random birth date between 1910 & 2024 (unless min & max are specified)
    * @return
    */
-  public LocalDate generateRandomValue() {
+  public LocalDate generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     if (possibleValuesProvided.isEmpty()) {
-      Long randomDay = random.longs(1, min, max + 1).findFirst().orElse(0L);
+      Long randomDay = random.nextLong(min, max + 1);
       return LocalDate.ofEpochDay(randomDay);
     } else {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+      return possibleValuesWeights.sample(random);
     }
   }
 
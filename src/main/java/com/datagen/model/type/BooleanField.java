@@ -17,6 +17,9 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.BulkRandom;
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -28,7 +31,6 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 @Slf4j
@@ -37,26 +39,43 @@ public class BooleanField extends Field<Boolean> {
   public BooleanField(String name,
                       HashMap<String, Long> possible_values_weighted) {
     this.name = name;
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(Boolean.valueOf(value));
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, Boolean::valueOf);
   }
 
-  public Boolean generateRandomValue() {
+  public Boolean generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     if (!possibleValuesProvided.isEmpty()) {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+      return possibleValuesWeights.sample(random);
     } else {
       return random.nextBoolean();
     }
   }
 
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    long[] values = column.getLongs();
+    if (values == null) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    int end = from + count;
+    if (!possibleValuesProvided.isEmpty()) {
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = possibleValuesWeights.sample(context.getRandom()) ? 1L : 0L;
+      }
+    } else if (!context.isSeeded()) {
+      // Values do not depend on rows, so they can be generated in bulk
+      BulkRandom.fillBooleans(context.getRandom(), values, from, count);
+    } else {
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = context.getRandom().nextBoolean() ? 1L : 0L;
+      }
+    }
+  }
+
     /*
      Override if needed Field function to insert into special connectors
      */
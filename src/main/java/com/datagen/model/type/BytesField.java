@@ -17,6 +17,8 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -30,7 +32,6 @@ import org.apache.orc.TypeDescription;
 import javax.xml.bind.DatatypeConverter;
 import java.nio.ByteBuffer;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 @Slf4j
@@ -43,25 +44,41 @@ public class BytesField extends Field<byte[]> {
     } else {
       this.length = length;
     }
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(value.getBytes());
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, String::getBytes);
   }
 
-  public byte[] generateRandomValue() {
+  public byte[] generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     if (possibleValuesProvided.isEmpty()) {
       byte[] bytesArray = new byte[length];
       random.nextBytes(bytesArray);
       return bytesArray;
     } else {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+      return possibleValuesWeights.sample(random);
+    }
+  }
+
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    byte[][] values = column.getBytes();
+    if (values == null) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    int end = from + count;
+    if (possibleValuesProvided.isEmpty()) {
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        byte[] bytesArray = new byte[length];
+        context.getRandom().nextBytes(bytesArray);
+        values[row] = bytesArray;
+      }
+    } else {
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = possibleValuesWeights.sample(context.getRandom());
+      }
     }
   }
 
@@ -17,6 +17,8 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.AliasTable;
+import com.datagen.model.GenerationContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
@@ -29,20 +31,16 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 import org.apache.solr.common.SolrInputDocument;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.Serializable;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
-public class CityField extends Field<CityField.City> {
+public class CityField extends Field<CityField.City>
+    implements DictionaryField<CityField.City> {
 
-  public class City {
+  // Serializable so rows can be spilled to disk
+  public static class City implements Serializable {
     @Getter
     String name;
     @Getter
@@ -75,65 +73,47 @@ public class CityField extends Field<CityField.City> {
     }
   }
 
-  private List<City> cityDico;
+  // Filtered cities with their population as weight, not set when all cities are possible
+  private AliasTable<City> citiesByPopulation;
 
   public CityField(String name, List<String> filters) {
     this.name = name;
-    this.cityDico = loadCityDico();
     this.filters = filters;
 
-    List<City> possibleCities = new ArrayList<>();
-    filters.forEach(filterOnCountry -> {
-          possibleCities.addAll(
-              this.cityDico.stream()
-                  .filter(c -> c.country.equalsIgnoreCase(filterOnCountry))
-                  .toList());
-        }
-    );
-    this.possibleValuesInternal = new ArrayList<>();
+    List<City> possibleCities = Dictionaries.citiesOf(filters);
     if (possibleCities.isEmpty()) {
-      this.possibleValuesInternal.addAll(this.cityDico);
+      this.possibleValuesInternal = Dictionaries.cities();
     } else {
-      City minPop = possibleCities.stream()
-          .min((c1, c2) -> (int) (c1.population - c2.population))
-          .orElse(new City("", "", "", "", 1L));
-
-      possibleCities.forEach(city -> {
-        long occurencesToCreate = city.population / minPop.population;
-        for (long i = 0; i <= occurencesToCreate; i++) {
-          this.possibleValuesInternal.add(city);
-        }
-      });
-
+      // Cities are kept once, and picked according to their population
+      long minPopulation = Math.max(1L, possibleCities.stream()
+          .mapToLong(c -> c.population)
+          .min()
+          .orElse(1L));
+      this.citiesByPopulation = new AliasTable<>(possibleCities,
+          possibleCities.stream()
+              .mapToDouble(c -> c.population / minPopulation + 1)
+              .toArray());
+      this.possibleValuesInternal = this.citiesByPopulation.getValues();
     }
 
     this.possibleValueSize = this.possibleValuesInternal.size();
 
   }
 
-  private List<City> loadCityDico() {
-    try {
-      InputStream is = this.getClass().getClassLoader().getResourceAsStream(
-          "dictionaries/worldcities.csv");
-      return new BufferedReader(
-          new InputStreamReader(is, StandardCharsets.UTF_8))
-          .lines()
-          .filter(l -> !l.startsWith("name"))
-          .map(l -> {
-            String[] lineSplitted = l.split(";");
-            return new City(lineSplitted[0], lineSplitted[1], lineSplitted[2],
-                lineSplitted[3], Long.valueOf(lineSplitted[4]));
-          })
-          .collect(Collectors.toList());
-    } catch (Exception e) {
-      log.warn("Could not load world cities, error : ", e);
-      return Collections.singletonList(
-          new City("world", "0", "0", "world", 8000000000L));
-    }
+  public City generateRandomValue(GenerationContext context) {
+    return this.possibleValuesInternal.get(generateRandomOrdinal(context));
   }
 
-  public City generateRandomValue() {
-    return this.possibleValuesInternal.get(random.nextInt(this.possibleValueSize));
+  @Override
+  public List<City> getDictionary() {
+    return this.possibleValuesInternal;
+  }
+
+  @Override
+  public int generateRandomOrdinal(GenerationContext context) {
+    return this.citiesByPopulation == null ?
+        context.getRandom().nextInt(this.possibleValueSize) :
+        this.citiesByPopulation.sampleIndex(context.getRandom());
   }
 
   @Override
@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -27,16 +28,10 @@ import org.apache.kudu.Type;
 import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -47,37 +42,17 @@ public class CountryField extends Field<String> {
   public CountryField(String name,
                       HashMap<String, Long> possible_values_weighted) {
     this.name = name;
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(value);
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, value -> value);
     this.countryDico =
-        possibleValuesProvided.isEmpty() ? loadCountryDico() :
-            possibleValuesProvided;
-  }
-
-  public String generateRandomValue() {
-    return countryDico.get(random.nextInt(countryDico.size()));
+        possibleValuesProvided.isEmpty() ? Dictionaries.countries() :
+            Collections.emptyList();
   }
 
-  private List<String> loadCountryDico() {
-    try {
-      InputStream is = this.getClass().getClassLoader().getResourceAsStream(
-          "dictionaries/country-dico.txt");
-      return new BufferedReader(
-          new InputStreamReader(is, StandardCharsets.UTF_8))
-          .lines()
-          .collect(Collectors.toList());
-    } catch (Exception e) {
-      log.warn("Could not load country-dico with error : " + e);
-      return Collections.singletonList("World");
-    }
+  public String generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
+    return possibleValuesProvided.isEmpty() ?
+        countryDico.get(random.nextInt(countryDico.size())) :
+        possibleValuesWeights.sample(random);
   }
 
     /*
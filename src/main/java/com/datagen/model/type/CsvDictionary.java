@@ -0,0 +1,285 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rows of a user CSV file, stored off heap by column, so large files do not fill the heap
+ * Each column is made of the bytes of its values and the end offset of each value, written once to temporary files
+ * and memory mapped
+ * Filters (column=value) are applied as bitmaps of rows, computed once per filter
+ * Rows are returned as views on the columns, reading a value only when it is asked
+ */
+@Slf4j
+public class CsvDictionary {
+
+  private final String file;
+  @Getter
+  private final List<String> columnNames;
+  private final Map<String, Integer> columnIndexes = new HashMap<>();
+  private final int rows;
+  private final ByteBuffer[] offsets;
+  private final ByteBuffer[] values;
+  // Rows with less values than columns in header
+  private final BitSet[] missing;
+  private final List<Map<String, String>> allRows;
+  private final Map<String, BitSet> filterBitmaps = new ConcurrentHashMap<>();
+  private final Map<List<String>, List<Map<String, String>>> filteredRows =
+      new ConcurrentHashMap<>();
+
+  private CsvDictionary(String file, List<String> columnNames, int rows,
+                        ByteBuffer[] offsets, ByteBuffer[] values, BitSet[] missing) {
+    this.file = file;
+    this.columnNames = columnNames;
+    for (int c = 0; c < columnNames.size(); c++) {
+      columnIndexes.putIfAbsent(columnNames.get(c), c);
+    }
+    this.rows = rows;
+    this.offsets = offsets;
+    this.values = values;
+    this.missing = missing;
+    this.allRows = new RowList(null);
+  }
+
+  /**
+   * Read a CSV file, with a header, and values separated by separator (a regex, as for String.split)
+   */
+  public static CsvDictionary load(String file, String separator) throws IOException {
+    long start = System.currentTimeMillis();
+    try (BufferedReader bf = new BufferedReader(
+        new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+      String header = bf.readLine();
+      if (header == null) {
+        throw new IOException("CSV file " + file + " has no header");
+      }
+      List<String> columnNames = List.of(header.split(separator));
+      int columns = columnNames.size();
+
+      Path[] offsetsFiles = new Path[columns];
+      Path[] valuesFiles = new Path[columns];
+      DataOutputStream[] offsetsOut = new DataOutputStream[columns];
+      OutputStream[] valuesOut = new OutputStream[columns];
+      long[] sizes = new long[columns];
+      BitSet[] missing = new BitSet[columns];
+      int rows = 0;
+      try {
+        for (int c = 0; c < columns; c++) {
+          offsetsFiles[c] = Files.createTempFile("datagen-csv-offsets-", ".bin");
+          valuesFiles[c] = Files.createTempFile("datagen-csv-values-", ".bin");
+          offsetsOut[c] = new DataOutputStream(new BufferedOutputStream(
+              Files.newOutputStream(offsetsFiles[c])));
+          valuesOut[c] = new BufferedOutputStream(Files.newOutputStream(valuesFiles[c]));
+          missing[c] = new BitSet();
+        }
+
+        String line;
+        while ((line = bf.readLine()) != null) {
+          String[] lineSplitted = line.split(separator);
+          if (lineSplitted.length > columns) {
+            throw new IOException("Line " + (rows + 2) + " of CSV file " + file +
+                " has more values than columns in its header");
+          }
+          for (int c = 0; c < columns; c++) {
+            if (c < lineSplitted.length) {
+              byte[] bytes = lineSplitted[c].getBytes(StandardCharsets.UTF_8);
+              valuesOut[c].write(bytes);
+              sizes[c] += bytes.length;
+              if (sizes[c] > Integer.MAX_VALUE) {
+                throw new IOException("Column " + columnNames.get(c) + " of CSV file " +
+                    file + " is bigger than 2GB");
+              }
+            } else {
+              missing[c].set(rows);
+            }
+            offsetsOut[c].writeInt((int) sizes[c]);
+          }
+          rows++;
+        }
+        for (int c = 0; c < columns; c++) {
+          offsetsOut[c].close();
+          valuesOut[c].close();
+        }
+
+        ByteBuffer[] offsets = new ByteBuffer[columns];
+        ByteBuffer[] values = new ByteBuffer[columns];
+        for (int c = 0; c < columns; c++) {
+          offsets[c] = map(offsetsFiles[c]);
+          values[c] = map(valuesFiles[c]);
+        }
+        log.info("Loaded CSV dictionary {} with {} rows in {} ms", file, rows,
+            System.currentTimeMillis() - start);
+        return new CsvDictionary(file, columnNames, rows, offsets, values, missing);
+      } finally {
+        // Mapped files stay readable once deleted (except on Windows where they are deleted on exit)
+        for (int c = 0; c < columns; c++) {
+          closeQuietly(offsetsOut[c]);
+          closeQuietly(valuesOut[c]);
+          delete(offsetsFiles[c]);
+          delete(valuesFiles[c]);
+        }
+      }
+    }
+  }
+
+  public int size() {
+    return rows;
+  }
+
+  /**
+   * @return value of a column for a row, null if the row has no value for it
+   */
+  public String get(int row, int column) {
+    if (missing[column].get(row)) {
+      return null;
+    }
+    int end = offsets[column].getInt(4 * row);
+    int start = row == 0 ? 0 : offsets[column].getInt(4 * (row - 1));
+    byte[] bytes = new byte[end - start];
+    values[column].get(start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Rows matching all filters (column=value, case insensitive on value)
+   * @throws IllegalArgumentException if a filter is on a column not in the CSV
+   */
+  public List<Map<String, String>> rows(List<String> filters) {
+    if (filters == null || filters.isEmpty()) {
+      return allRows;
+    }
+    return filteredRows.computeIfAbsent(List.copyOf(filters), f -> {
+      BitSet matching = new BitSet(rows);
+      matching.set(0, rows);
+      f.forEach(filter -> matching.and(bitmapOf(filter)));
+      return new RowList(matching.stream().toArray());
+    });
+  }
+
+  private BitSet bitmapOf(String filter) {
+    return filterBitmaps.computeIfAbsent(filter, fi -> {
+      String[] splittedFilter = fi.split("=");
+      Integer column = columnIndexes.get(splittedFilter[0]);
+      if (column == null) {
+        throw new IllegalArgumentException(
+            "Filter " + fi + " is on a column not in CSV file " + file);
+      }
+      BitSet bitmap = new BitSet(rows);
+      for (int row = 0; row < rows; row++) {
+        String value = get(row, column);
+        if (value != null && value.equalsIgnoreCase(splittedFilter[1])) {
+          bitmap.set(row);
+        }
+      }
+      return bitmap;
+    });
+  }
+
+  /**
+   * A row of the CSV, as a map of column name to value, reading values from columns when asked
+   */
+  public class CsvRow extends AbstractMap<String, String> {
+    private final int row;
+
+    private CsvRow(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public String get(Object columnName) {
+      Integer column = columnIndexes.get(columnName);
+      return column == null ? null : CsvDictionary.this.get(row, column);
+    }
+
+    @Override
+    public boolean containsKey(Object columnName) {
+      return get(columnName) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      Map<String, String> rowValues = new LinkedHashMap<>();
+      for (int c = 0; c < columnNames.size(); c++) {
+        String value = CsvDictionary.this.get(row, c);
+        if (value != null) {
+          rowValues.put(columnNames.get(c), value);
+        }
+      }
+      return rowValues.entrySet();
+    }
+  }
+
+  // Rows at these indexes (all rows if null)
+  private class RowList extends AbstractList<Map<String, String>> implements RandomAccess {
+    private final int[] rowIndexes;
+
+    private RowList(int[] rowIndexes) {
+      this.rowIndexes = rowIndexes;
+    }
+
+    @Override
+    public Map<String, String> get(int index) {
+      Objects.checkIndex(index, size());
+      return new CsvRow(rowIndexes == null ? index : rowIndexes[index]);
+    }
+
+    @Override
+    public int size() {
+      return rowIndexes == null ? rows : rowIndexes.length;
+    }
+  }
+
+  private static ByteBuffer map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  private static void closeQuietly(Closeable closeable) {
+    try {
+      if (closeable != null) {
+        closeable.close();
+      }
+    } catch (IOException e) {
+      log.debug("Could not close temporary file of CSV dictionary", e);
+    }
+  }
+
+  private static void delete(Path path) {
+    if (path == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      path.toFile().deleteOnExit();
+    }
+  }
+
+}
@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
@@ -29,17 +30,12 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 import org.apache.solr.common.SolrInputDocument;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
-public class CsvField extends Field<Map<String, String>> {
+public class CsvField extends Field<Map<String, String>>
+    implements DictionaryField<Map<String, String>> {
 
   // We suppose that each row of the CSV read will fit in a map of string to string (everything is converted to a string)
   @Getter
@@ -63,41 +59,12 @@ public class CsvField extends Field<Map<String, String>> {
     this.possibleValuesProvided = loadDico(filters);
   }
 
-  // Load the CSV with filters applied if needed
+  // Load the CSV with filters applied if needed, CSV files are shared by all fields using them
   private List<Map<String, String>> loadDico(List<String> filters) {
     try {
-      InputStream is = new FileInputStream(this.file);
-      BufferedReader bf =
-          new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
-      String header = bf.readLine();
-      this.columnNames.addAll(Arrays.asList(header.split(this.separator)));
-
-      return bf.lines()
-          .map(l -> {
-            HashMap<String, String> map = new HashMap<>();
-            String[] lineSplitted = l.split(this.separator);
-            int indexOfline = 0;
-            for (String colValue : lineSplitted) {
-              map.put(this.columnNames.get(indexOfline), colValue);
-              indexOfline++;
-            }
-            return map;
-          })
-          .filter(row -> {
-            boolean toKeep = true;
-            if (filters != null && !filters.isEmpty()) {
-              for (String filter : filters) {
-                String[] splittedFilter = filter.split("=");
-                if (!row.get(splittedFilter[0])
-                    .equalsIgnoreCase(splittedFilter[1])) {
-                  toKeep = false;
-                }
-              }
-            }
-            return toKeep;
-          })
-          .collect(Collectors.toList());
-
+      var dictionary = Dictionaries.csv(this.file, this.separator);
+      this.columnNames.addAll(dictionary.getColumnNames());
+      return dictionary.rows(filters);
     } catch (Exception e) {
       log.error("Could not load CSVs, error : " + e);
       String stackTrace = Arrays.stream(e.getStackTrace()).
@@ -109,8 +76,18 @@ public class CsvField extends Field<Map<String, String>> {
     }
   }
 
-  public Map<String, String> generateRandomValue() {
-    return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+  public Map<String, String> generateRandomValue(GenerationContext context) {
+    return possibleValuesProvided.get(generateRandomOrdinal(context));
+  }
+
+  @Override
+  public List<Map<String, String>> getDictionary() {
+    return possibleValuesProvided;
+  }
+
+  @Override
+  public int generateRandomOrdinal(GenerationContext context) {
+    return context.getRandom().nextInt(possibleValuesProvided.size());
   }
 
   @Override
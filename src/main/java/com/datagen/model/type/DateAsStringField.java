@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
@@ -32,7 +33,6 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 @Slf4j
@@ -54,16 +54,7 @@ public class DateAsStringField extends Field<String> {
     this.formatter = pattern.isEmpty() ? DateTimeFormatter.ISO_INSTANT : DateTimeFormatter.ofPattern(pattern);
     this.formatter.withZone(ZoneOffset.UTC);
 
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(LocalDateTime.parse(value, formatter).toString());
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, value -> LocalDateTime.parse(value, formatter).toString());
 
     if (min == null) {
       this.min = 0L;
@@ -82,16 +73,17 @@ public class DateAsStringField extends Field<String> {
    *
    * @return
    */
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     if(useNow) {
       return LocalDateTime.now().format(formatter);
     } else if (possibleValuesProvided.isEmpty()) {
-      Long randomDate = random.longs(1, min, max + 1).findFirst().orElse(0L);
+      Long randomDate = random.nextLong(min, max + 1);
       return LocalDateTime.ofEpochSecond(randomDate, 0, ZoneOffset.UTC)
           .atZone(ZoneOffset.UTC)
           .format(formatter);
     } else {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+      return possibleValuesWeights.sample(random);
     }
   }
 
@@ -17,6 +17,8 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
@@ -32,7 +34,6 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 @Slf4j
@@ -49,16 +50,7 @@ public class DateField extends Field<LocalDateTime> {
     this.name = name;
     this.useNow = useNow;
 
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(LocalDateTime.parse(value, formatter));
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, value -> LocalDateTime.parse(value, formatter));
 
     if (min == null) {
       this.min = 0L;
@@ -77,14 +69,33 @@ public class DateField extends Field<LocalDateTime> {
    *
    * @return
    */
-  public LocalDateTime generateRandomValue() {
+  public LocalDateTime generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     if(useNow) {
       return LocalDateTime.now();
     } else if (possibleValuesProvided.isEmpty()) {
-      long randomDate = random.longs(1, min, max + 1).findFirst().orElse(0L);
+      long randomDate = random.nextLong(min, max + 1);
       return LocalDateTime.ofEpochSecond(randomDate, 0, ZoneOffset.UTC);
     } else {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+      return possibleValuesWeights.sample(random);
+    }
+  }
+
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    Object[] values = column.getObjects();
+    if (values == null || useNow || !possibleValuesProvided.isEmpty()) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    int end = from + count;
+    long origin = min;
+    long bound = max + 1;
+    for (int row = from; row < end; row++) {
+      context.nextCell();
+      values[row] = LocalDateTime.ofEpochSecond(
+          context.getRandom().nextLong(origin, bound), 0, ZoneOffset.UTC);
     }
   }
 
@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Dictionaries used by fields, shared by all fields of all models
+ * Each one is loaded once when first needed (from its compiled version, see BinaryDictionary),
+ * and is immutable so it can be used by any thread
+ * Views filtered on countries are also computed once per set of filters
+ * User CSV files are kept for the most recently used ones only, and reloaded if they changed
+ */
+@Slf4j
+public final class Dictionaries {
+
+  // User CSV files kept in memory, least recently used are evicted first
+  private static final int MAX_CSV_FILES = 16;
+
+  private static final Map<String, List<?>> dictionaries = new ConcurrentHashMap<>();
+  // Views on built-in dictionaries, by dictionary and filters
+  private static final Map<String, List<?>> views = new ConcurrentHashMap<>();
+  private static final Map<String, CsvDictionary> csvFiles =
+      new LinkedHashMap<>(MAX_CSV_FILES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CsvDictionary> eldest) {
+          if (size() > MAX_CSV_FILES) {
+            log.debug("Evict CSV dictionary: {}", eldest.getKey());
+            return true;
+          }
+          return false;
+        }
+      };
+
+  private Dictionaries() {}
+
+  public static List<NameField.Name> names() {
+    return builtIn("names", () -> readResource("dictionaries/names.csv", (d, row) ->
+        new NameField.Name(d.getString(row, 0), d.getString(row, 1),
+            d.getString(row, 2), d.getString(row, 3), d.getString(row, 4)),
+        new NameField.Name("Anonymous", "", "", "", "")));
+  }
+
+  /**
+   * @return names of these countries (in order of filters), or all names if there is no filter
+   */
+  public static List<NameField.Name> namesOf(List<String> countries) {
+    return countries == null || countries.isEmpty() ? names() :
+        viewOf("names", names(), countries, NameField.Name::getCountry);
+  }
+
+  public static List<CityField.City> cities() {
+    return builtIn("cities", () -> readResource("dictionaries/worldcities.csv", (d, row) ->
+        new CityField.City(d.getString(row, 0), d.getString(row, 1),
+            d.getString(row, 2), d.getString(row, 3), d.getLong(row, 4)),
+        new CityField.City("world", "0", "0", "world", 8000000000L)));
+  }
+
+  public static List<CityField.City> citiesOf(List<String> countries) {
+    return countries == null || countries.isEmpty() ? Collections.emptyList() :
+        viewOf("cities", cities(), countries, CityField.City::getCountry);
+  }
+
+  public static List<PhoneField.Phone> phones() {
+    return builtIn("phones", () -> readResource("dictionaries/phone-country-codes.csv",
+        (d, row) -> new PhoneField.Phone(d.getString(row, 0), d.getString(row, 1)),
+        new PhoneField.Phone("00", "")));
+  }
+
+  public static List<PhoneField.Phone> phonesOf(List<String> countries) {
+    return countries == null || countries.isEmpty() ? Collections.emptyList() :
+        viewOf("phones", phones(), countries, PhoneField.Phone::getCountry);
+  }
+
+  public static List<String> countries() {
+    return builtIn("countries", () -> readResource("dictionaries/country-dico.txt",
+        (d, row) -> d.getString(row, 0), "World"));
+  }
+
+  /**
+   * Rows of a user CSV file, stored by column off heap (see CsvDictionary)
+   * @throws UncheckedIOException if file cannot be read, in which case nothing is kept
+   */
+  public static CsvDictionary csv(String file, String separator) {
+    File csvFile = new File(file);
+    // File is reloaded if it changed since it was read
+    String key = csvFile.getAbsolutePath() + "|" + separator + "|" +
+        csvFile.lastModified() + "|" + csvFile.length();
+    synchronized (csvFiles) {
+      CsvDictionary dictionary = csvFiles.get(key);
+      if (dictionary == null) {
+        try {
+          dictionary = CsvDictionary.load(file, separator);
+        } catch (IOException e) {
+          throw new UncheckedIOException("Could not read CSV file " + file, e);
+        }
+        csvFiles.put(key, dictionary);
+      }
+      return dictionary;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<T> builtIn(String dictionary, Supplier<List<T>> loader) {
+    return (List<T>) dictionaries.computeIfAbsent(dictionary, d -> {
+      long start = System.currentTimeMillis();
+      List<T> values = loader.get();
+      log.info("Loaded dictionary {} with {} values in {} ms", d, values.size(),
+          System.currentTimeMillis() - start);
+      return values;
+    });
+  }
+
+  /**
+   * Values whose country is one of the filters, grouped by filter in order of filters (as fields always did)
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> List<T> viewOf(String dictionary, List<T> values,
+                                    List<String> countries,
+                                    Function<T, String> countryOf) {
+    String key = dictionary + "|" + String.join(",", countries).toLowerCase(Locale.ROOT);
+    return (List<T>) views.computeIfAbsent(key, k -> {
+      List<T> view = new ArrayList<>();
+      countries.forEach(country -> view.addAll(values.stream()
+          .filter(v -> countryOf.apply(v).equalsIgnoreCase(country))
+          .toList()));
+      return Collections.unmodifiableList(view);
+    });
+  }
+
+  /**
+   * Values of a built-in dictionary, read from its compiled version when each one is needed
+   * (so values are not all on heap)
+   */
+  private static <T> List<T> readResource(String resource, RowReader<T> reader,
+                                          T defaultValue) {
+    try {
+      BinaryDictionary dictionary = BinaryDictionary.load(resource);
+      return new DictionaryList<>(dictionary, reader);
+    } catch (Exception e) {
+      log.warn("Could not load dictionary {} with error : ", resource, e);
+      return Collections.singletonList(defaultValue);
+    }
+  }
+
+  private interface RowReader<T> {
+    T read(BinaryDictionary dictionary, int row);
+  }
+
+  private static class DictionaryList<T> extends AbstractList<T> implements RandomAccess {
+    private final BinaryDictionary dictionary;
+    private final RowReader<T> reader;
+
+    private DictionaryList(BinaryDictionary dictionary, RowReader<T> reader) {
+      this.dictionary = dictionary;
+      this.reader = reader;
+    }
+
+    @Override
+    public T get(int index) {
+      Objects.checkIndex(index, dictionary.size());
+      return reader.read(dictionary, index);
+    }
+
+    @Override
+    public int size() {
+      return dictionary.size();
+    }
+  }
+
+}
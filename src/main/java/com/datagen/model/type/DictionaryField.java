@@ -0,0 +1,34 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import com.datagen.model.GenerationContext;
+
+import java.util.List;
+
+/**
+ * Field picking its values in a dictionary, so its values can be stored as an ordinal in it (see RowBatch)
+ */
+public interface DictionaryField<T> {
+
+  List<T> getDictionary();
+
+  // Pick randomly the ordinal of a value in the dictionary
+  int generateRandomOrdinal(GenerationContext context);
+
+}
@@ -17,8 +17,8 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import com.datagen.utils.Utils;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -29,68 +29,22 @@ import org.apache.kudu.Type;
 import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.random.RandomGenerator;
 
 @Slf4j
 public class EmailField extends Field<String> {
 
-  public class Name {
-    @Getter
-    String first_name;
-    @Getter
-    String country;
-    @Getter
-    Boolean unisex;
-    @Getter
-    Boolean female;
-    @Getter
-    Boolean male;
-
-    public Name(String name, String country, String male, String female,
-                String unisex) {
-      this.first_name = name;
-      this.country = country;
-      this.unisex = unisex.equalsIgnoreCase("true");
-      this.male = male.equalsIgnoreCase("true");
-      this.female = female.equalsIgnoreCase("true");
-    }
-
-    @Override
-    public String toString() {
-      return "Name{" +
-          "name='" + first_name + '\'' +
-          ", country='" + country + '\'' +
-          ", unisex='" + unisex.toString() + '\'' +
-          ", male='" + male.toString() + '\'' +
-          ", female='" + female.toString() + '\'' +
-          '}';
-    }
-  }
-
   private List<String> nameDicoasString;
-  private List<Name> nameDico;
+  private List<NameField.Name> nameDico;
 
   public EmailField(String name, HashMap<String, Long> possible_values_weighted,
                     List<String> filters) {
     this.name = name;
     this.filters = filters;
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(value);
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
-    this.nameDico = loadNameDico();
+    initPossibleValues(possible_values_weighted, value -> value);
+    this.nameDico = Dictionaries.names();
 
     if (possibleValuesProvided.isEmpty()) {
       this.nameDicoasString = new ArrayList<>();
@@ -107,38 +61,20 @@ public class EmailField extends Field<String> {
     }
   }
 
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     if (possibleValuesProvided.isEmpty()) {
       String prefix =
           random.nextBoolean() ? Utils.getAlphaNumericString(1, random) :
               nameDico.get(random.nextInt(nameDico.size())).first_name + ".";
       return prefix + nameDico.get(random.nextInt(nameDico.size())).first_name +
-          "@" + emailSupplier();
+          "@" + emailSupplier(random);
     } else {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
-    }
-  }
-
-  private List<Name> loadNameDico() {
-    try {
-      InputStream is = this.getClass().getClassLoader().getResourceAsStream(
-          "dictionaries/names.csv");
-      return new BufferedReader(
-          new InputStreamReader(is, StandardCharsets.UTF_8))
-          .lines()
-          .map(l -> {
-            String[] lineSplitted = l.split(";");
-            return new Name(lineSplitted[0], lineSplitted[1], lineSplitted[2],
-                lineSplitted[3], lineSplitted[4]);
-          })
-          .collect(Collectors.toList());
-    } catch (Exception e) {
-      log.warn("Could not load names-dico with error : " + e);
-      return Collections.singletonList(new Name("anonymous", "", "", "", ""));
+      return possibleValuesWeights.sample(random);
     }
   }
 
-  private String emailSupplier() {
+  private String emailSupplier(RandomGenerator random) {
     List<String> emailSupplier =
         Arrays.asList("gaagle.com", "yahaa.com", "uutlook.com", "email.fr");
     return emailSupplier.get(random.nextInt(emailSupplier.size()));
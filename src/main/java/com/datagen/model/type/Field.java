@@ -19,6 +19,9 @@ package com.datagen.model.type;
 
 
 import com.datagen.config.ApplicationConfigs;
+import com.datagen.model.AliasTable;
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import com.datagen.model.Row;
 import com.datagen.model.conditions.ConditionalEvaluator;
 import lombok.Getter;
@@ -35,12 +38,13 @@ import org.apache.solr.common.SolrInputDocument;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Function;
 
 
 /**
  * This abstract class describes a field with three characteristics: Name, Type, Length (which is optional)
  * Goal is also to describe how a field is rendered according to its type
- * Every new type added should extend this abstract class in a new Java Class (and override generateRandomValue())
+ * Every new type added should extend this abstract class in a new Java Class (and override generateRandomValue(GenerationContext))
  */
 @Slf4j
 public abstract class Field<T> {
@@ -60,6 +64,10 @@ public abstract class Field<T> {
   @Getter
   @Setter
   public Integer possibleValueSize;
+  // Possible values provided with their weights, to pick them according to their weights
+  @Getter
+  @Setter
+  public AliasTable<T> possibleValuesWeights;
   @Getter
   @Setter
   public List<String> filters;
@@ -89,7 +97,6 @@ public abstract class Field<T> {
   @Getter
   @Setter
   public boolean ghost;
-  Random random = new Random();
 
   public static String toString(List<Field> fieldList) {
     StringBuilder sb = new StringBuilder();
@@ -200,6 +207,9 @@ public abstract class Field<T> {
       case UUID:
         yield new UuidField(f.name);
 
+      case UUID_V7:
+        yield new UuidField(f.name, 7);
+
       case DATE:
         yield new DateField(f.name, possibleValuesWeighted, f.minDateTime, f.maxDateTime, f.useNow);
 
@@ -370,13 +380,74 @@ public abstract class Field<T> {
     return sb.toString();
   }
 
+  /**
+   * Set possible values provided in the model, each converted to the type of the field
+   * Values are kept once with their weights, rather than repeated as many times as their weight
+   */
+  protected void initPossibleValues(Map<String, Long> possibleValuesWeighted,
+                                    Function<String, T> converter) {
+    if (possibleValuesWeighted != null && possibleValuesWeighted.values().stream()
+        .anyMatch(weight -> weight != null && weight > 0)) {
+      this.possibleValuesWeights =
+          AliasTable.fromWeightedValues(possibleValuesWeighted, converter);
+      this.possibleValuesProvided =
+          new ArrayList<>(possibleValuesWeights.getValues());
+    } else {
+      this.possibleValuesProvided = new ArrayList<>();
+    }
+    this.possibleValueSize = this.possibleValuesProvided.size();
+  }
+
   // To init a field when starting generation (for connections etc...)
   public void initField() {}
 
   // To close a field when starting generation (for connections etc...)
   public void closeField() {}
 
-  public abstract T generateRandomValue();
+  // To start generation at a given row, when only a range of rows is generated (i.e. by a worker)
+  public void startAtRow(long firstRowIndex) {}
+
+  // Counter of a field generating increasing values, to keep it between executions (null for other fields)
+  public IncrementCounter getIncrementCounter() {
+    return null;
+  }
+
+  /**
+   * Generate a random value, using only the random generator of the context (which is not shared between threads)
+   */
+  public abstract T generateRandomValue(GenerationContext context);
+
+  /**
+   * Generate values of rows [from, from + count) of a column at once, context being started on this column
+   * (see GenerationContext.startColumn())
+   * Fields of primitive types override it to fill the array of the column in a tight loop without boxing,
+   * by default values are generated one by one
+   */
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    int end = from + count;
+    for (int row = from; row < end; row++) {
+      context.nextCell();
+      column.setValue(row, generateRandomValue(context));
+    }
+  }
+
+  // Generate a random value outside of a generation (i.e. tests), with the context of the current thread
+  public T generateRandomValue() {
+    return generateRandomValue(GenerationContext.current());
+  }
+
+  // Names of the fields this one needs to compute its value
+  public Set<String> getReferencedFields() {
+    return conditional == null ? Collections.emptySet() :
+        conditional.getReferencedFields();
+  }
+
+  // Fields long to compute (remote calls) that can be computed concurrently with others of the same row
+  // Formulas are evaluated in the generation thread, as handing them to another thread costs more than they do
+  public boolean isExpensiveToCompute() {
+    return false;
+  }
 
   public T generateComputedValue(Row row) {
     return toCastValue(conditional.evaluateConditions(row));
@@ -115,7 +115,13 @@ public class FieldRepresentation {
     this.length = field.getLength()!=20?field.getLength():null;
 
     this.possibleValuesWeighted = new HashMap<>();
-    if(field.getPossibleValuesProvided()!=null) {
+    if(field.getPossibleValuesWeights()!=null) {
+      var weights = field.getPossibleValuesWeights();
+      for (int i = 0; i < weights.size(); i++) {
+        this.possibleValuesWeighted.put(weights.getValues().get(i).toString(),
+            (long) weights.getWeight(i));
+      }
+    } else if(field.getPossibleValuesProvided()!=null) {
       new HashSet<>(field.getPossibleValuesProvided()).forEach(pvFromSet -> {
         var pvOccurences = field.getPossibleValuesProvided().stream()
             .filter(pv -> pv.toString().equalsIgnoreCase(pvFromSet.toString()))
@@ -273,7 +279,8 @@ public class FieldRepresentation {
     STRING,
     STRING_REGEX,
     TIMESTAMP,
-    UUID
+    UUID,
+    UUID_V7
   }
 
 }
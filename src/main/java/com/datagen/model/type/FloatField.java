@@ -17,6 +17,9 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.BulkRandom;
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -28,7 +31,6 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 @Slf4j
@@ -49,21 +51,13 @@ public class FloatField extends Field<Float> {
       this.min = min;
     }
     this.name = name;
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(Float.valueOf(value));
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, Float::valueOf);
   }
 
-  public Float generateRandomValue() {
+  public Float generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     if (!possibleValuesProvided.isEmpty()) {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+      return possibleValuesWeights.sample(random);
     } else {
       float randomFloat = random.nextFloat();
       // Because float are taken between 0 and 1, min and max should be added (max is an excluded bound in nextInt).
@@ -72,6 +66,35 @@ public class FloatField extends Field<Float> {
     }
   }
 
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    double[] values = column.getDoubles();
+    if (values == null) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    int end = from + count;
+    if (!possibleValuesProvided.isEmpty()) {
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = possibleValuesWeights.sample(context.getRandom());
+      }
+    } else if (!context.isSeeded()) {
+      // Values do not depend on rows, so they can be generated in bulk
+      BulkRandom.fillFloats(context.getRandom(), values, from, count, min, max);
+    } else {
+      long origin = min;
+      long bound = max;
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        var random = context.getRandom();
+        float randomFloat = random.nextFloat();
+        values[row] = randomFloat + (float) random.nextLong(origin, bound);
+      }
+    }
+  }
+
     /*
      Override if needed Field function to insert into special connectors
      */
@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import com.datagen.utils.Utils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
@@ -34,8 +35,8 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.random.RandomGenerator;
 
 @Slf4j
 public class HashMd5Field extends Field<byte[]> {
@@ -47,23 +48,15 @@ public class HashMd5Field extends Field<byte[]> {
     } else {
       this.length = length;
     }
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(value.getBytes());
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, String::getBytes);
   }
 
-  public byte[] generateRandomValue() {
+  public byte[] generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     if (possibleValuesProvided.isEmpty()) {
-      return hashAstring(Utils.getAlphaNumericString(this.length, random));
+      return hashAstring(Utils.getAlphaNumericString(this.length, random), random);
     } else {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+      return possibleValuesWeights.sample(random);
     }
   }
 
@@ -88,9 +81,10 @@ public class HashMd5Field extends Field<byte[]> {
    * Hash a string using MD5 algorithm or return a random 32 bytes array
    *
    * @param toHash
+   * @param random used if MD5 is not available
    * @return
    */
-  private byte[] hashAstring(String toHash) {
+  private byte[] hashAstring(String toHash, RandomGenerator random) {
     try {
       MessageDigest md = MessageDigest.getInstance("MD5");
       md.update(toHash.getBytes(StandardCharsets.UTF_8));
@@ -114,7 +108,7 @@ public class HashMd5Field extends Field<byte[]> {
 
   @Override
   public byte[] toCastValue(String value) {
-    return hashAstring(value);
+    return hashAstring(value, GenerationContext.current().getRandom());
   }
 
   @Override
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import com.datagen.model.GenerationContext;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Counter of an increment field, shared by all threads without lock
+ * Values are all greater than the origin (min of the field, last value given by previous executions, or sent by the
+ * coordinator to a shard):
+ * - ordered (default): value of a row is origin + its index + 1, so values follow rows in each batch and are never shared
+ * - otherwise values are only unique, each thread reserving blocks of values with one atomic operation
+ * Rows generated without an index (outside of a command) always take their values from blocks
+ * When seeded, value of a row is min + its index + 1, so it only depends on the row
+ */
+public class IncrementCounter {
+
+  // Values reserved at once by a thread generating rows one by one
+  static final int BLOCK_SIZE = 1024;
+
+  private final long min;
+  @Getter
+  @Setter
+  private volatile boolean ordered = true;
+  private volatile long origin;
+  // Incremented each time origin moves, so blocks reserved before are dropped
+  private volatile int epoch;
+  // Last value reserved by a thread
+  private final AtomicLong reserved;
+  // Last value given to a row by its index, striped so threads do not contend on it
+  private final LongAccumulator highestOrdered =
+      new LongAccumulator(Math::max, Long.MIN_VALUE);
+  // Values reserved by current thread and not given yet: next one, end (excluded) and epoch of reservation
+  private final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[3]);
+
+  public IncrementCounter(long min) {
+    this.min = min;
+    this.origin = min;
+    this.reserved = new AtomicLong(min);
+  }
+
+  public long next(GenerationContext context) {
+    if (context.isSeeded() && context.getRowIndex() >= 0) {
+      return min + context.getRowIndex() + 1;
+    }
+    if (ordered && context.getRowIndex() >= 0) {
+      long value = origin + context.getRowIndex() + 1;
+      highestOrdered.accumulate(value);
+      return value;
+    }
+    long[] values = block.get();
+    if (values[0] == values[1] || values[2] != epoch) {
+      values[2] = epoch;
+      values[0] = reserved.getAndAdd(BLOCK_SIZE) + 1;
+      values[1] = values[0] + BLOCK_SIZE;
+    }
+    return values[0]++;
+  }
+
+  /**
+   * Values of rows [from, from + count) of a column, context being on the row before the first one
+   */
+  public void next(long[] values, int from, int count, GenerationContext context) {
+    long first;
+    if (context.isSeeded() && context.getRowIndex() >= 0) {
+      first = min + context.getRowIndex() + 2;
+    } else if (ordered && context.getRowIndex() >= 0) {
+      first = origin + context.getRowIndex() + 2;
+      highestOrdered.accumulate(first + count - 1);
+    } else {
+      first = reserved.getAndAdd(count) + 1;
+    }
+    for (int i = 0; i < count; i++) {
+      values[from + i] = first + i;
+    }
+  }
+
+  /**
+   * Values of rows before this one (i.e. given by other workers) are not reserved again
+   */
+  public void startAtRow(long firstRowIndex) {
+    reserved.accumulateAndGet(origin + firstRowIndex, Math::max);
+  }
+
+  /**
+   * @return last value given or reserved, values of next execution start after it
+   */
+  public long getLast() {
+    return Math.max(reserved.get(), highestOrdered.get());
+  }
+
+  /**
+   * Start values after an origin: last value given by previous executions, or the one sent by the coordinator to a shard,
+   * min of the field if null, so all workers of a command share the same origin whatever their own history
+   * Rows of a shard or of a resumed execution are then only offset by their index (see startAtRow())
+   * It must be called before generating rows of an execution, not while rows are generated
+   */
+  public synchronized void restore(Long lastValue) {
+    this.origin = lastValue == null ? min : lastValue;
+    this.reserved.set(origin);
+    this.highestOrdered.reset();
+    this.epoch++;
+  }
+
+}
@@ -17,6 +17,8 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -32,7 +34,7 @@ import java.sql.SQLException;
 @Slf4j
 public class IncrementIntegerField extends Field<Integer> {
 
-  private Integer counter = 0;
+  private final IncrementCounter counter;
 
   public IncrementIntegerField(String name,
                                Long min) {
@@ -42,11 +44,36 @@ public class IncrementIntegerField extends Field<Integer> {
     } else {
       this.min = min;
     }
-    counter = this.min.intValue();
+    counter = new IncrementCounter(this.min);
   }
 
-  public synchronized Integer generateRandomValue() {
-    counter++;
+  public Integer generateRandomValue(GenerationContext context) {
+    return (int) counter.next(context);
+  }
+
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    long[] values = column.getLongs();
+    if (values == null) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    counter.next(values, from, count, context);
+    // Values are kept as integers, as when generated one by one
+    for (int row = from; row < from + count; row++) {
+      values[row] = (int) values[row];
+    }
+  }
+
+  // Values of a range of rows do not overlap with those of previous rows
+  @Override
+  public void startAtRow(long firstRowIndex) {
+    counter.startAtRow(firstRowIndex);
+  }
+
+  @Override
+  public IncrementCounter getIncrementCounter() {
     return counter;
   }
 
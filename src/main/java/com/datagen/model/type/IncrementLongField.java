@@ -17,6 +17,8 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -32,7 +34,7 @@ import java.sql.SQLException;
 @Slf4j
 public class IncrementLongField extends Field<Long> {
 
-  private Long counter = 0L;
+  private final IncrementCounter counter;
 
   public IncrementLongField(String name,
                             Long min) {
@@ -42,11 +44,32 @@ public class IncrementLongField extends Field<Long> {
     } else {
       this.min = min;
     }
-    counter = this.min;
+    counter = new IncrementCounter(this.min);
   }
 
-  public synchronized Long generateRandomValue() {
-    counter++;
+  public Long generateRandomValue(GenerationContext context) {
+    return counter.next(context);
+  }
+
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    long[] values = column.getLongs();
+    if (values == null) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    counter.next(values, from, count, context);
+  }
+
+  // Values of a range of rows do not overlap with those of previous rows
+  @Override
+  public void startAtRow(long firstRowIndex) {
+    counter.startAtRow(firstRowIndex);
+  }
+
+  @Override
+  public IncrementCounter getIncrementCounter() {
     return counter;
   }
 
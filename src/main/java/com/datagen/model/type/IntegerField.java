@@ -17,6 +17,9 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.BulkRandom;
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -28,7 +31,6 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 @Slf4j
@@ -48,21 +50,13 @@ public class IntegerField extends Field<Integer> {
     } else {
       this.min = min;
     }
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(Integer.valueOf(value));
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, Integer::valueOf);
   }
 
-  public Integer generateRandomValue() {
+  public Integer generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     if (!possibleValuesProvided.isEmpty()) {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+      return possibleValuesWeights.sample(random);
     } else if (min != Integer.MIN_VALUE) {
       return random.nextInt(Math.toIntExact(max - min + 1)) +
           Math.toIntExact(min);
@@ -71,6 +65,42 @@ public class IntegerField extends Field<Integer> {
     }
   }
 
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    long[] values = column.getLongs();
+    if (values == null) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    int end = from + count;
+    if (!possibleValuesProvided.isEmpty()) {
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = possibleValuesWeights.sample(context.getRandom());
+      }
+    } else if (!context.isSeeded()) {
+      // Values do not depend on rows, so they can be generated in bulk
+      long origin = min != Integer.MIN_VALUE ? Math.toIntExact(min) : 0L;
+      long bound = min != Integer.MIN_VALUE ?
+          origin + Math.toIntExact(max - min + 1) : Math.toIntExact(max);
+      BulkRandom.fillLongs(context.getRandom(), values, from, count, origin, bound);
+    } else if (min != Integer.MIN_VALUE) {
+      int bound = Math.toIntExact(max - min + 1);
+      int offset = Math.toIntExact(min);
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = context.getRandom().nextInt(bound) + offset;
+      }
+    } else {
+      int bound = Math.toIntExact(max);
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = context.getRandom().nextInt(bound);
+      }
+    }
+  }
+
   /*
   Override if needed Field function to insert into special connectors
   */
@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -36,7 +37,8 @@ public class IpField extends Field<String> {
     this.name = name;
   }
 
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     return (random.nextInt(256)) + "." + (random.nextInt(256)) + "." +
         (random.nextInt(256)) + "." + (random.nextInt(256));
   }
@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -39,7 +40,7 @@ public class LinkField extends Field<String> {
     this.name = name;
   }
 
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
     return "";
   }
 
@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import com.datagen.model.Row;
 import com.datagen.utils.ParsingUtils;
 import de.kherud.llama.InferenceParameters;
@@ -40,6 +41,7 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.sql.SQLException;
 import java.util.LinkedList;
+import java.util.Set;
 
 @Slf4j
 @Getter
@@ -120,6 +122,16 @@ public class LocalLLMField extends Field<String> {
     this.llamaModel.close();
   }
 
+  @Override
+  public Set<String> getReferencedFields() {
+    return ParsingUtils.getVariableNames(requestToInject);
+  }
+
+  @Override
+  public boolean isExpensiveToCompute() {
+    return true;
+  }
+
   @Override
   public String generateComputedValue(Row row) {
     var prompt = "<|system|>\n";
@@ -145,7 +157,7 @@ public class LocalLLMField extends Field<String> {
   }
 
   @Override
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
     return "";
   }
 
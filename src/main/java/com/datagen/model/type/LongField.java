@@ -17,6 +17,9 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.BulkRandom;
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -28,7 +31,6 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 @Slf4j
@@ -49,23 +51,42 @@ public class LongField extends Field<Long> {
       this.min = min;
     }
     this.name = name;
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(Long.valueOf(value));
-        }
-      });
+    initPossibleValues(possible_values_weighted, Long::valueOf);
+  }
+
+  public Long generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
+    if (!possibleValuesProvided.isEmpty()) {
+      return possibleValuesWeights.sample(random);
+    } else {
+      return random.nextLong(min, max + 1);
     }
-    this.possibleValueSize = this.possibleValuesProvided.size();
   }
 
-  public Long generateRandomValue() {
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    long[] values = column.getLongs();
+    if (values == null) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    int end = from + count;
     if (!possibleValuesProvided.isEmpty()) {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = possibleValuesWeights.sample(context.getRandom());
+      }
+    } else if (!context.isSeeded()) {
+      // Values do not depend on rows, so they can be generated in bulk
+      BulkRandom.fillLongs(context.getRandom(), values, from, count, min, max + 1);
     } else {
-      return random.longs(1, min, max + 1).findFirst().orElse(0L);
+      long origin = min;
+      long bound = max + 1;
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = context.getRandom().nextLong(origin, bound);
+      }
     }
   }
 
@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
@@ -29,20 +30,16 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 import org.apache.solr.common.SolrInputDocument;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.Serializable;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
-public class NameField extends Field<NameField.Name> {
+public class NameField extends Field<NameField.Name>
+    implements DictionaryField<NameField.Name> {
 
-  public class Name {
+  // Serializable so rows can be spilled to disk
+  public static class Name implements Serializable {
     @Getter
     String first_name;
     @Getter
@@ -75,53 +72,25 @@ public class NameField extends Field<NameField.Name> {
     }
   }
 
-  private List<Name> nameDico;
-
   public NameField(String name, List<String> filters) {
     this.name = name;
     this.filters = filters;
-    this.nameDico = loadNameDico();
-
-    this.possibleValuesInternal = new ArrayList<>();
-
-    if (!filters.isEmpty()) {
-      filters.forEach(filterOnCountry -> {
-        this.possibleValuesInternal.addAll(
-            nameDico.stream().filter(
-                    n -> n.country.equalsIgnoreCase(filterOnCountry))
-                .toList());
-      });
-    } else {
-      this.possibleValuesInternal.addAll(
-          nameDico.stream()
-              .toList()
-      );
-    }
+    this.possibleValuesInternal = Dictionaries.namesOf(filters);
     this.possibleValueSize = possibleValuesInternal.size();
   }
 
-  public Name generateRandomValue() {
-    return possibleValuesInternal.get(random.nextInt(possibleValueSize));
+  public Name generateRandomValue(GenerationContext context) {
+    return possibleValuesInternal.get(generateRandomOrdinal(context));
   }
 
-  private List<Name> loadNameDico() {
-    try {
-      InputStream is = this.getClass().getClassLoader().getResourceAsStream(
-          "dictionaries/names.csv");
-      return new BufferedReader(
-          new InputStreamReader(is, StandardCharsets.UTF_8))
-          .lines()
-          .map(l -> {
-            String[] lineSplitted = l.split(";");
-            return new NameField.Name(lineSplitted[0], lineSplitted[1],
-                lineSplitted[2], lineSplitted[3], lineSplitted[4]);
-          })
-          .collect(Collectors.toList());
-    } catch (Exception e) {
-      log.warn("Could not load names-dico with error : " + e);
-      return Collections.singletonList(
-          new NameField.Name("Anonymous", "", "", "", ""));
-    }
+  @Override
+  public List<Name> getDictionary() {
+    return possibleValuesInternal;
+  }
+
+  @Override
+  public int generateRandomOrdinal(GenerationContext context) {
+    return context.getRandom().nextInt(possibleValueSize);
   }
 
   @Override
@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import com.datagen.model.Row;
 import com.datagen.utils.ParsingUtils;
 import lombok.Getter;
@@ -39,6 +40,7 @@ import org.springframework.ai.ollama.api.OllamaOptions;
 import java.sql.SQLException;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Getter
@@ -90,6 +92,16 @@ public class OllamaField extends Field<String> {
     log.debug("Will provide following System information to the model: {}", systemMessage.getContent());
   }
 
+  @Override
+  public Set<String> getReferencedFields() {
+    return ParsingUtils.getVariableNames(requestToInject);
+  }
+
+  @Override
+  public boolean isExpensiveToCompute() {
+    return true;
+  }
+
   @Override
   public String generateComputedValue(Row row) {
     String stringToEvaluate = ParsingUtils.injectRowValuesToAString(row, requestToInject);
@@ -105,7 +117,7 @@ public class OllamaField extends Field<String> {
   }
 
   @Override
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
     return "";
   }
 
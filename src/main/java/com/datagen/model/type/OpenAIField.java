@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import com.datagen.model.Row;
 import com.datagen.utils.ParsingUtils;
 import lombok.Getter;
@@ -39,6 +40,7 @@ import org.springframework.ai.openai.api.OpenAiApi;
 import java.sql.SQLException;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Getter
@@ -99,6 +101,16 @@ public class OpenAIField extends Field<String> {
 
   }
 
+  @Override
+  public Set<String> getReferencedFields() {
+    return ParsingUtils.getVariableNames(requestToInject);
+  }
+
+  @Override
+  public boolean isExpensiveToCompute() {
+    return true;
+  }
+
   @Override
   public String generateComputedValue(Row row) {
     String stringToEvaluate =
@@ -114,7 +126,7 @@ public class OpenAIField extends Field<String> {
   }
 
   @Override
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
     return "";
   }
 
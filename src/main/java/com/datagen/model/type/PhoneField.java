@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
@@ -28,20 +29,13 @@ import org.apache.kudu.Type;
 import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class PhoneField extends Field<String> {
 
-  public class Phone {
+  public static class Phone {
     @Getter
     String indicator;
     @Getter
@@ -61,28 +55,19 @@ public class PhoneField extends Field<String> {
     }
   }
 
-  private final List<Phone> phoneIndicatorDico;
-
   public PhoneField(String name, Integer length, List<String> filters) {
     this.name = name;
     this.length = length;
     this.filters = filters;
-    this.phoneIndicatorDico = loadPhoneDico();
-
-    this.possibleValuesInternal = new ArrayList<>();
-
-    filters.forEach(filterOnCountry -> {
-      this.possibleValuesInternal.addAll(
-          phoneIndicatorDico.stream()
-              .filter(n -> n.country.equalsIgnoreCase(filterOnCountry))
-              .map(n -> n.indicator)
-              .toList());
-    });
+    this.possibleValuesInternal = Dictionaries.phonesOf(filters).stream()
+        .map(n -> n.indicator)
+        .toList();
     this.possibleValueSize = this.possibleValuesInternal.size();
     log.debug("There are {} possible values for phone indicators", this.possibleValueSize);
   }
 
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     String indicator =
         this.possibleValuesInternal.get(random.nextInt(this.possibleValueSize));
     StringBuffer sb = new StringBuffer();
@@ -98,24 +83,6 @@ public class PhoneField extends Field<String> {
     return sb.toString();
   }
 
-  private List<Phone> loadPhoneDico() {
-    try {
-      InputStream is = this.getClass().getClassLoader().getResourceAsStream(
-          "dictionaries/phone-country-codes.csv");
-      return new BufferedReader(
-          new InputStreamReader(is, StandardCharsets.UTF_8))
-          .lines()
-          .map(l -> {
-            String[] lineSplitted = l.split(";");
-            return new PhoneField.Phone(lineSplitted[0], lineSplitted[1]);
-          })
-          .collect(Collectors.toList());
-    } catch (Exception e) {
-      log.warn("Could not load names-dico with error : " + e);
-      return Collections.singletonList(new PhoneField.Phone("00", ""));
-    }
-  }
-
     /*
      Override if needed Field function to insert into special connectors
      */
@@ -0,0 +1,357 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A regex compiled once into nodes generating strings matching it
+ * Supported: literals, escapes (\t, \n, \r, \\uXXXX, any escaped char), predefined classes (\d, \w, \s and negations),
+ * '.', classes with ranges and negation ([a-z0-9_], [^,]), groups ((...) and (?:...)), alternation (|),
+ * quantifiers (?, *, +, {n}, {m,}, {m,n}, lazy or possessive ones being treated as greedy)
+ * Anchors (^ and $) are ignored, and unbounded quantifiers repeat at most MAX_UNBOUNDED_REPETITIONS times more than
+ * their minimum
+ * Negations and '.' pick among printable ASCII characters
+ * Automaton is immutable, so it can be shared between threads
+ */
+class RegexAutomaton {
+
+  static final int MAX_UNBOUNDED_REPETITIONS = 8;
+
+  private static final char[] PRINTABLE = charsOf(range(' ', '~'));
+  private static final ThreadLocal<StringBuilder> BUILDERS =
+      ThreadLocal.withInitial(StringBuilder::new);
+
+  private final Node root;
+
+  RegexAutomaton(String regex) {
+    Parser parser = new Parser(regex);
+    this.root = parser.parseAlternation();
+    if (parser.position < regex.length()) {
+      throw parser.error("unexpected ')'");
+    }
+  }
+
+  String generate(RandomGenerator random) {
+    StringBuilder sb = BUILDERS.get();
+    sb.setLength(0);
+    root.generate(random, sb);
+    return sb.toString();
+  }
+
+  private interface Node {
+    void generate(RandomGenerator random, StringBuilder sb);
+  }
+
+  private record Literal(char[] chars) implements Node {
+    public void generate(RandomGenerator random, StringBuilder sb) {
+      sb.append(chars);
+    }
+  }
+
+  private record CharClass(char[] chars) implements Node {
+    public void generate(RandomGenerator random, StringBuilder sb) {
+      sb.append(chars[random.nextInt(chars.length)]);
+    }
+  }
+
+  private record Sequence(Node[] nodes) implements Node {
+    public void generate(RandomGenerator random, StringBuilder sb) {
+      for (Node node : nodes) {
+        node.generate(random, sb);
+      }
+    }
+  }
+
+  private record Alternation(Node[] choices) implements Node {
+    public void generate(RandomGenerator random, StringBuilder sb) {
+      choices[random.nextInt(choices.length)].generate(random, sb);
+    }
+  }
+
+  private record Repeat(Node node, int min, int max) implements Node {
+    public void generate(RandomGenerator random, StringBuilder sb) {
+      int times = min == max ? min : min + random.nextInt(max - min + 1);
+      for (int i = 0; i < times; i++) {
+        node.generate(random, sb);
+      }
+    }
+  }
+
+  /**
+   * Recursive descent parser, each method reading from current position
+   */
+  private static class Parser {
+    private final String regex;
+    private int position;
+
+    private Parser(String regex) {
+      this.regex = regex;
+    }
+
+    private Node parseAlternation() {
+      List<Node> choices = new ArrayList<>();
+      choices.add(parseSequence());
+      while (peek('|')) {
+        position++;
+        choices.add(parseSequence());
+      }
+      return choices.size() == 1 ? choices.get(0) :
+          new Alternation(choices.toArray(new Node[0]));
+    }
+
+    private Node parseSequence() {
+      List<Node> nodes = new ArrayList<>();
+      StringBuilder literal = new StringBuilder();
+      while (position < regex.length() && !peek('|') && !peek(')')) {
+        Node atom = parseAtom();
+        if (atom == null) {
+          continue;
+        }
+        Node quantified = parseQuantifier(atom);
+        // Consecutive literal chars are merged to be appended at once
+        if (quantified instanceof Literal l) {
+          literal.append(l.chars());
+        } else {
+          if (!literal.isEmpty()) {
+            nodes.add(new Literal(literal.toString().toCharArray()));
+            literal.setLength(0);
+          }
+          nodes.add(quantified);
+        }
+      }
+      if (!literal.isEmpty()) {
+        nodes.add(new Literal(literal.toString().toCharArray()));
+      }
+      return nodes.size() == 1 ? nodes.get(0) : new Sequence(nodes.toArray(new Node[0]));
+    }
+
+    private Node parseAtom() {
+      char c = regex.charAt(position++);
+      switch (c) {
+      case '(':
+        if (regex.startsWith("?:", position)) {
+          position += 2;
+        }
+        Node group = parseAlternation();
+        if (!peek(')')) {
+          throw error("missing ')'");
+        }
+        position++;
+        return group;
+      case '[':
+        return new CharClass(charsOf(parseClass()));
+      case '.':
+        return new CharClass(PRINTABLE);
+      case '^':
+      case '$':
+        return null;
+      case '\\':
+        BitSet predefined = parsePredefinedClass();
+        if (predefined != null) {
+          return new CharClass(charsOf(predefined));
+        }
+        return new Literal(new char[] {parseEscapedChar()});
+      case '?':
+      case '*':
+      case '+':
+        throw error("nothing to repeat");
+      default:
+        return new Literal(new char[] {c});
+      }
+    }
+
+    private Node parseQuantifier(Node atom) {
+      if (position >= regex.length()) {
+        return atom;
+      }
+      int min;
+      int max;
+      char c = regex.charAt(position);
+      if (c == '?') {
+        min = 0;
+        max = 1;
+        position++;
+      } else if (c == '*') {
+        min = 0;
+        max = MAX_UNBOUNDED_REPETITIONS;
+        position++;
+      } else if (c == '+') {
+        min = 1;
+        max = 1 + MAX_UNBOUNDED_REPETITIONS;
+        position++;
+      } else if (c == '{' && regex.indexOf('}', position) > 0 &&
+          regex.substring(position + 1, regex.indexOf('}', position))
+              .matches("[0-9]+(,[0-9]*)?")) {
+        String[] bounds = regex.substring(position + 1, regex.indexOf('}', position))
+            .split(",", -1);
+        min = Integer.parseInt(bounds[0]);
+        max = bounds.length == 1 ? min :
+            bounds[1].isEmpty() ? min + MAX_UNBOUNDED_REPETITIONS : Integer.parseInt(bounds[1]);
+        if (max < min) {
+          throw error("repetition {" + min + "," + max + "} is not valid");
+        }
+        position = regex.indexOf('}', position) + 1;
+      } else {
+        // i.e. a '{' not starting a repetition is a literal
+        return atom;
+      }
+      // Lazy and possessive quantifiers generate the same strings
+      if (peek('?') || peek('+')) {
+        position++;
+      }
+      if (min == 1 && max == 1) {
+        return atom;
+      }
+      if (atom instanceof Literal l && min == max) {
+        return new Literal(new String(l.chars()).repeat(min).toCharArray());
+      }
+      return new Repeat(atom, min, max);
+    }
+
+    // Position is just after '['
+    private BitSet parseClass() {
+      boolean negated = peek('^');
+      if (negated) {
+        position++;
+      }
+      BitSet chars = new BitSet();
+      boolean first = true;
+      while (position < regex.length() && (first || !peek(']'))) {
+        first = false;
+        char from = regex.charAt(position++);
+        if (from == '\\') {
+          BitSet predefined = parsePredefinedClass();
+          if (predefined != null) {
+            chars.or(predefined);
+            continue;
+          }
+          from = parseEscapedChar();
+        }
+        if (peek('-') && position + 1 < regex.length() &&
+            regex.charAt(position + 1) != ']') {
+          position++;
+          char to = regex.charAt(position++);
+          if (to == '\\') {
+            to = parseEscapedChar();
+          }
+          if (to < from) {
+            throw error("range " + from + "-" + to + " is not valid");
+          }
+          chars.set(from, to + 1);
+        } else {
+          chars.set(from);
+        }
+      }
+      if (!peek(']')) {
+        throw error("missing ']'");
+      }
+      position++;
+      if (negated) {
+        BitSet printable = range(' ', '~');
+        printable.andNot(chars);
+        chars = printable;
+      }
+      if (chars.isEmpty()) {
+        throw error("class matches no character");
+      }
+      return chars;
+    }
+
+    // Position is just after '\', returns null if this is not a predefined class
+    private BitSet parsePredefinedClass() {
+      if (position >= regex.length()) {
+        throw error("nothing to escape");
+      }
+      BitSet chars;
+      switch (Character.toLowerCase(regex.charAt(position))) {
+      case 'd' -> chars = range('0', '9');
+      case 'w' -> {
+        chars = range('a', 'z');
+        chars.or(range('A', 'Z'));
+        chars.or(range('0', '9'));
+        chars.set('_');
+      }
+      case 's' -> {
+        chars = new BitSet();
+        chars.set(' ');
+      }
+      default -> {
+        return null;
+      }
+      }
+      if (Character.isUpperCase(regex.charAt(position))) {
+        BitSet printable = range(' ', '~');
+        printable.andNot(chars);
+        chars = printable;
+      }
+      position++;
+      return chars;
+    }
+
+    // Position is just after '\'
+    private char parseEscapedChar() {
+      if (position >= regex.length()) {
+        throw error("nothing to escape");
+      }
+      char c = regex.charAt(position++);
+      return switch (c) {
+        case 't' -> '\t';
+        case 'n' -> '\n';
+        case 'r' -> '\r';
+        case 'u' -> {
+          if (position + 4 > regex.length()) {
+            throw error("unicode escape must have 4 hexadecimal digits");
+          }
+          char unicode = (char) Integer.parseInt(regex.substring(position, position + 4), 16);
+          position += 4;
+          yield unicode;
+        }
+        default -> c;
+      };
+    }
+
+    private boolean peek(char c) {
+      return position < regex.length() && regex.charAt(position) == c;
+    }
+
+    private IllegalArgumentException error(String message) {
+      return new IllegalArgumentException(
+          "Regex " + regex + " is not valid at position " + position + ": " + message);
+    }
+  }
+
+  private static BitSet range(char from, char to) {
+    BitSet chars = new BitSet();
+    chars.set(from, to + 1);
+    return chars;
+  }
+
+  private static char[] charsOf(BitSet chars) {
+    char[] array = new char[chars.cardinality()];
+    int i = 0;
+    for (int c = chars.nextSetBit(0); c >= 0; c = chars.nextSetBit(c + 1)) {
+      array[i++] = (char) c;
+    }
+    return array;
+  }
+
+}
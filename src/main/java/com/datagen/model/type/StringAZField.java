@@ -17,6 +17,7 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -28,9 +29,8 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 @Slf4j
 public class StringAZField extends Field<String> {
@@ -43,32 +43,24 @@ public class StringAZField extends Field<String> {
     } else {
       this.length = length;
     }
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(value);
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, value -> value);
   }
 
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     return possibleValuesProvided.isEmpty() ?
         getAlphaString(this.length, random) :
-        possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+        possibleValuesWeights.sample(random);
   }
 
   /**
    * Generates a random Alpha string [A-Z] of specified length
    *
    * @param n      equals length of the string to generate
-   * @param random Random object used to generate random string
+   * @param random random generator used to generate random string
    * @return
    */
-  String getAlphaString(int n, Random random) {
+  String getAlphaString(int n, RandomGenerator random) {
     // chose a Character random from this String
     String alphaNumericString = "ABCDEFGHIJKLMNOPQRSTUVWXYZ"
         + "abcdefghijklmnopqrstuvxyz";
@@ -17,6 +17,8 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import com.datagen.utils.Utils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
@@ -28,13 +30,16 @@ import org.apache.kudu.Type;
 import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 @Slf4j
 public class StringField extends Field<String> {
 
+  // Possible values encoded once, arrays of a column are never modified so they can be shared (null if none)
+  private final byte[][] possibleValuesAsBytes;
+
   public StringField(String name, Integer length,
                      HashMap<String, Long> possible_values_weighted) {
     this.name = name;
@@ -43,26 +48,44 @@ public class StringField extends Field<String> {
     } else {
       this.length = length;
     }
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(value);
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, value -> value);
+    this.possibleValuesAsBytes = possibleValuesProvided.isEmpty() ? null :
+        possibleValuesWeights.getValues().stream()
+            .map(v -> v.getBytes(StandardCharsets.UTF_8))
+            .toArray(byte[][]::new);
   }
 
-  public String generateRandomValue() {
+  public String generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     if (!possibleValuesProvided.isEmpty()) {
-      return possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+      return possibleValuesWeights.sample(random);
     } else {
       return Utils.getAlphaNumericString(this.length, random);
     }
   }
 
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    byte[][] values = column.getBytes();
+    if (values == null) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    int end = from + count;
+    if (possibleValuesAsBytes != null) {
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = possibleValuesAsBytes[possibleValuesWeights.sampleIndex(context.getRandom())];
+      }
+    } else {
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = Utils.getAlphaNumericBytes(this.length, context.getRandom());
+      }
+    }
+  }
+
 
     /*
      Override if needed Field function to insert into special connectors
@@ -17,7 +17,7 @@
  */
 package com.datagen.model.type;
 
-import lombok.AllArgsConstructor;
+import com.datagen.model.GenerationContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
@@ -30,149 +30,88 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
 import java.sql.SQLException;
-import java.util.*;
+import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+/**
+ * Strings matching a regex (see RegexAutomaton for what is supported)
+ * Regexes used to only interpret classes followed by a number of occurrences ([a-z]{3}),
+ * choices of a class being separated by ',' and possibly of several chars ([A,567,BBB]{1}), all the rest being literal
+ * They are now standard regexes:
+ * - a class picks one char, ',' being one of them: choices of several chars are written as a group (A|567|BBB),
+ *   a class written as before with such choices is still rewritten to this group, so its values do not change
+ * - '.', '(', ')', '|', '?', '*' and '+' outside classes are not literal anymore and must be escaped with '\'
+ */
 @Slf4j
 public class StringRegexField extends Field<String> {
 
-  private final LinkedList<List<String>> possibleCharsList = new LinkedList();
-
-  private final String alphaNumericString =
-      "abcdefghijklmnopqrstuvxyz" +
-      "ABCDEFGHIJKLMNOPQRSTUVWXYZ" +
-      "0123456789";
+  // Class of choices separated by ',', as written before regexes were standard
+  private static final Pattern LEGACY_CLASS =
+      Pattern.compile("(?<!\\\\)\\[([^\\]]*,[^\\]]*)\\]");
 
   @Getter
   private final String regex;
 
-  // pattern to match all groups that needs to be replaced by something (all rest should be as is)
-  private final Pattern pattern = Pattern.compile("(\\[[^]]*\\])(\\{[0-9]*\\})");
-  private final Pattern patternReadRegexInterval = Pattern.compile("[A-Za-z0-9]-[A-Za-z0-9]");
-
-  @AllArgsConstructor
-  @Getter
-  private class matchedString {
-    String regexToEvaluate;
-    String occurrencesToEvaluate;
-    int start;
-    int end;
-  }
+  // Regex compiled once, to generate values matching it
+  private final RegexAutomaton automaton;
 
   public StringRegexField(String name, String regex) {
     this.name = name;
     this.regex = regex;
-
-    Matcher matcher = pattern.matcher(regex);
-
-    // Find all places in the regex string where there are replacing groups
-    LinkedList<matchedString> matchedStrings = new LinkedList<>();
-    while (matcher.find()) {
-      if (matcher.groupCount() == 2) {
-        matchedStrings.add(
-            new matchedString(matcher.group(1), matcher.group(2),
-                matcher.start(),
-                matcher.end())
-        );
-        log.debug(
-            "Found regex to analyze {} with occurrences {} at index {} until index {}",
-            matcher.group(1), matcher.group(2), matcher.start(), matcher.end());
-      } else {
-        log.warn("Regex found is not formatted correctly: {}", matcher.group(0));
-      }
-    }
-
-    int cursorPosition = 0;
-    for (int i = 0; i < matchedStrings.size(); i++) {
-      if (cursorPosition < matchedStrings.get(i).getStart()) {
-        // This is the case where this is just strings to add (nothing to compute as a regex)
-        // Add to possibleCharsList the strings from cursor to start (not included) + set cursor to start position
-        for (int j = cursorPosition; j < matchedStrings.get(i).getStart(); j++) {
-          log.debug("Normal string (not interpreted as regex): {}", regex.charAt(j));
-          possibleCharsList.add(Collections.singletonList(String.valueOf(regex.charAt(j))));
-        }
-      }
-        // Analyze the string to add smth to possibleCharsList + set cursor to end position
-        log.debug("Regex to analyze: {}",
-            matchedStrings.get(i).getRegexToEvaluate());
-        possibleCharsList.addAll(
-            analyzeRegex(matchedStrings.get(i).getRegexToEvaluate(), matchedStrings.get(i).getOccurrencesToEvaluate())
-        );
-        cursorPosition = matchedStrings.get(i).getEnd();
-    }
-    // Terminate until end of regex if needed
-    if(cursorPosition < regex.length()) {
-      for (int j = cursorPosition; j < regex.length(); j++) {
-        log.debug("Normal string (not interpreted as regex): {}", regex.charAt(j));
-        possibleCharsList.add(Collections.singletonList(
-            String.valueOf(regex.charAt(j))));
-      }
+    try {
+      this.automaton = new RegexAutomaton(rewriteLegacyClasses(name, regex));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException(
+          "Regex is not valid for field: " + name + " - " + e.getMessage(), e);
     }
+  }
 
+  public String generateRandomValue(GenerationContext context) {
+    return automaton.generate(context.getRandom());
   }
 
   /**
-   * Analyze a regex and return foreach character to generate a list of possible charachters, all being wrapped into a linkedlist (to keep order)
-   *
-   * @param readRegexVal that looks like: [possibleCharacters either as interval separated by a '-' or list separated by a ',']
-   * @param readRegexOcc that looks like: ( a number )
-   * @return
+   * Rewrite classes with choices of several chars separated by ',' to a group of these choices
+   * (i.e. [A,567,BBB] to (A|567|BBB)), as each char would now be a choice and values would silently change
+   * Other classes are kept as they are, as they are also standard ones ([a-z,0-9] picks ',' too)
    */
-  private LinkedList<List<String>> analyzeRegex(String readRegexVal,
-                                                String readRegexOcc) {
-    LinkedList<List<String>> regexList = new LinkedList<>();
-
-    int occurences =
-        Integer.parseInt(readRegexOcc.substring(1, readRegexOcc.length() - 1));
-    log.debug("Found {} occurrences to add", occurences);
-
-    List<String> regexUniqueList = new ArrayList<>();
-    String regexToAnalyze =
-        readRegexVal.substring(1, readRegexVal.length() - 1);
-    log.debug("Choices of the regex to analyze are: {}", regexToAnalyze);
-
-    // Analyze regex to extract possible values
-    String remainingExpressionsToAdd = regexToAnalyze;
-    Matcher matcher = patternReadRegexInterval.matcher(regexToAnalyze);
+  static String rewriteLegacyClasses(String name, String regex) {
+    Matcher matcher = LEGACY_CLASS.matcher(regex);
+    StringBuilder rewritten = new StringBuilder();
     while (matcher.find()) {
-      log.debug("Found an interval to add: {}", matcher.group());
-      String[] interval = matcher.group().split("-");
-      String charsMatchedByRegex =
-          alphaNumericString.substring(alphaNumericString.indexOf(interval[0]),
-              alphaNumericString.indexOf(interval[1]) + 1);
-      charsMatchedByRegex.chars().forEach(c ->
-          regexUniqueList.add(String.valueOf((char) c))
-      );
-    }
-    remainingExpressionsToAdd = matcher.replaceAll("");
-
-    // N.B: Juts before it replaces interval, so only retrieving values separated by a comma
-    log.debug("Remaining choices to add are: {}", remainingExpressionsToAdd);
-    regexUniqueList.addAll(
-        Arrays.stream(remainingExpressionsToAdd.split(","))
-            .filter(t -> !t.isEmpty())
-            .toList()
-    );
-
-    // Add list as many times as occurrences are found
-    for (int o = 0; o < occurences; o++) {
-      regexList.add(regexUniqueList);
+      String[] choices = matcher.group(1).split(",");
+      String replacement = matcher.group();
+      if (Arrays.stream(choices).anyMatch(choice -> choice.length() > 1 && !isRange(choice))) {
+        replacement = Arrays.stream(choices)
+            .map(choice -> isRange(choice) ? "[" + choice + "]" : escape(choice))
+            .collect(Collectors.joining("|", "(", ")"));
+        log.warn("Regex of field {} has class {} with choices separated by ',', it is read as {}: " +
+                "a class now picks one char (',' included), write choices of several chars as a group " +
+                "and escape '.', '(', '|' and '?' meant as literals",
+            name, matcher.group(), replacement);
+      }
+      matcher.appendReplacement(rewritten, Matcher.quoteReplacement(replacement));
     }
+    matcher.appendTail(rewritten);
+    return rewritten.toString();
+  }
 
-    return regexList;
+  private static boolean isRange(String choice) {
+    return choice.matches(".-.");
   }
 
-  public String generateRandomValue() {
-    StringBuilder sb = new StringBuilder();
-    possibleCharsList.forEach(c -> {
-      if(c.size()==1) {
-        sb.append(c.get(0));
-      } else {
-        sb.append(c.get(random.nextInt(c.size())));
+  // Choices were literal, letters and digits are kept as they are as escaping them may give a predefined class
+  private static String escape(String choice) {
+    StringBuilder escaped = new StringBuilder();
+    for (char c : choice.toCharArray()) {
+      if (!Character.isLetterOrDigit(c)) {
+        escaped.append('\\');
       }
-    });
-    return sb.toString();
+      escaped.append(c);
+    }
+    return escaped.toString();
   }
 
     /*
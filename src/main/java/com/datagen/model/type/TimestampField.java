@@ -17,6 +17,8 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -28,7 +30,6 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
 
 @Slf4j
@@ -36,21 +37,35 @@ public class TimestampField extends Field<Long> {
 
   public TimestampField(String name, HashMap<String, Long> possible_values_weighted) {
     this.name = name;
-    this.possibleValuesProvided = new ArrayList<>();
-    if (possible_values_weighted != null &&
-        !possible_values_weighted.isEmpty()) {
-      possible_values_weighted.forEach((value, probability) -> {
-        for (long i = 0; i < probability; i++) {
-          this.possibleValuesProvided.add(Long.valueOf(value));
-        }
-      });
-    }
-    this.possibleValueSize = this.possibleValuesProvided.size();
+    initPossibleValues(possible_values_weighted, Long::valueOf);
   }
 
-  public Long generateRandomValue() {
+  public Long generateRandomValue(GenerationContext context) {
+    var random = context.getRandom();
     return possibleValuesProvided.isEmpty() ? System.currentTimeMillis() :
-        possibleValuesProvided.get(random.nextInt(possibleValuesProvided.size()));
+        possibleValuesWeights.sample(random);
+  }
+
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    long[] values = column.getLongs();
+    if (values == null) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    int end = from + count;
+    if (possibleValuesProvided.isEmpty()) {
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = System.currentTimeMillis();
+      }
+    } else {
+      for (int row = from; row < end; row++) {
+        context.nextCell();
+        values[row] = possibleValuesWeights.sample(context.getRandom());
+      }
+    }
   }
 
   /*
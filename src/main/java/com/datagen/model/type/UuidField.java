@@ -17,6 +17,9 @@
  */
 package com.datagen.model.type;
 
+import com.datagen.model.ColumnSink;
+import com.datagen.model.GenerationContext;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -28,17 +31,46 @@ import org.apache.kudu.client.PartialRow;
 import org.apache.orc.TypeDescription;
 
 import java.sql.SQLException;
-import java.util.UUID;
 
 @Slf4j
 public class UuidField extends Field<String> {
 
+  // 4 (random) or 7 (time-ordered)
+  @Getter
+  private final int version;
+
   public UuidField(String name) {
+    this(name, 4);
+  }
+
+  public UuidField(String name, int version) {
     this.name = name;
+    this.version = version;
   }
 
-  public String generateRandomValue() {
-    return UUID.randomUUID().toString();
+  public String generateRandomValue(GenerationContext context) {
+    return UuidGenerator.generate(version, context.getRandom());
+  }
+
+  @Override
+  public void generateValues(ColumnSink column, int from, int count,
+                             GenerationContext context) {
+    byte[][] values = column.getBytes();
+    if (values == null) {
+      super.generateValues(column, from, count, context);
+      return;
+    }
+    for (int row = from; row < from + count; row++) {
+      context.nextCell();
+      byte[] uuid = new byte[UuidGenerator.LENGTH];
+      UuidGenerator.generate(version, context.getRandom(), uuid);
+      values[row] = uuid;
+    }
+  }
+
+  @Override
+  public String getTypeForModel() {
+    return version == 7 ? "UUID_V7" : "UUID";
   }
 
 
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import java.nio.charset.StandardCharsets;
+import java.util.random.RandomGenerator;
+
+/**
+ * UUIDs made from the random generator of the task instead of UUID.randomUUID() (which uses a shared SecureRandom),
+ * so they are fast to generate but not suited for security
+ * - version 4: all random
+ * - version 7: milliseconds since epoch then random, so UUIDs generated later sort after (RFC 9562)
+ * UUIDs are formatted in their canonical form (8-4-4-4-12 lower case hexadecimal digits) directly into bytes
+ */
+final class UuidGenerator {
+
+  static final int LENGTH = 36;
+
+  private static final byte[] HEX_DIGITS =
+      "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+  private static final ThreadLocal<byte[]> BUFFERS =
+      ThreadLocal.withInitial(() -> new byte[LENGTH]);
+
+  private UuidGenerator() {}
+
+  static String generate(int version, RandomGenerator random) {
+    byte[] buffer = BUFFERS.get();
+    generate(version, random, buffer);
+    // Digits are ASCII, so they are copied as is
+    return new String(buffer, 0, LENGTH, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Write a new UUID in its canonical form into buffer, of at least LENGTH bytes
+   */
+  static void generate(int version, RandomGenerator random, byte[] buffer) {
+    long mostSigBits;
+    if (version == 7) {
+      // 48 bits of timestamp, version, 12 random bits
+      mostSigBits = (System.currentTimeMillis() << 16) |
+          0x7000L | (random.nextLong() & 0x0FFFL);
+    } else {
+      mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+    }
+    // IETF variant, 62 random bits
+    long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    format(mostSigBits, leastSigBits, buffer);
+  }
+
+  static void format(long mostSigBits, long leastSigBits, byte[] buffer) {
+    hex(mostSigBits >>> 32, 8, buffer, 0);
+    buffer[8] = '-';
+    hex(mostSigBits >>> 16, 4, buffer, 9);
+    buffer[13] = '-';
+    hex(mostSigBits, 4, buffer, 14);
+    buffer[18] = '-';
+    hex(leastSigBits >>> 48, 4, buffer, 19);
+    buffer[23] = '-';
+    hex(leastSigBits, 12, buffer, 24);
+  }
+
+  // Write the lowest digits of value, last digit first
+  private static void hex(long value, int digits, byte[] buffer, int offset) {
+    for (int i = offset + digits - 1; i >= offset; i--) {
+      buffer[i] = HEX_DIGITS[(int) (value & 0xF)];
+      value >>>= 4;
+    }
+  }
+
+}
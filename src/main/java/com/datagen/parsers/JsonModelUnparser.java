@@ -96,7 +96,19 @@ public class JsonModelUnparser implements ModelUnParser {
       if (field.getLength()!=-1) {
         objectNode.put("length", field.getLength());
       }
-      if (field.getPossibleValuesProvided() != null &&
+      if (field.getPossibleValuesWeights() != null) {
+        var weights = field.getPossibleValuesWeights();
+        if (weights.isUniform()) {
+          ArrayNode possibleValuesNode = objectNode.putArray("possible_values");
+          weights.getValues().forEach(pv -> possibleValuesNode.add(pv.toString()));
+        } else {
+          var possibleValuesWeightedNode = objectNode.putObject("possible_values_weighted");
+          for (int i = 0; i < weights.size(); i++) {
+            possibleValuesWeightedNode.put(weights.getValues().get(i).toString(),
+                (long) weights.getWeight(i));
+          }
+        }
+      } else if (field.getPossibleValuesProvided() != null &&
           !field.getPossibleValuesProvided().isEmpty()) {
         var possibleValAsSet = new HashSet<>(field.getPossibleValuesProvided());
         if(field.getPossibleValuesProvided().size()>possibleValAsSet.size()) {
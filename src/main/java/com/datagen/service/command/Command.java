@@ -28,6 +28,9 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -62,6 +65,22 @@ public class Command implements Serializable {
   private Long lastFinishedTimestamp;
   private Long lastStartedTimestamp;
   private double progress;
+  // Live statistics of a command in streaming mode, written with its JSON status but not kept with scheduled commands
+  private double targetRowsPerSecond;
+  private double achievedRowsPerSecond;
+  private long rowsGenerated;
+  // Checkpoint of a command, saved after each batch delivered to all connectors, to resume it after a restart
+  private long batchesDone;
+  private List<Integer> connectorsCounters;
+  @JsonIgnore
+  private boolean resuming;
+  // Set through the REST API to stop a streaming command, checked between slices of rows
+  @JsonIgnore
+  private volatile boolean stopRequested;
+  // Why chunks of the command have been resized or why it is held back, to fit in memory
+  private String memoryComment;
+  // Last value of each increment field, so next execution goes on after it
+  private Map<String, Long> incrementCounters;
 
 
   private void writeObject(ObjectOutputStream oos) throws IOException {
@@ -82,6 +101,7 @@ public class Command implements Serializable {
     oos.writeObject(lastFinishedTimestamp);
     oos.writeObject(lastStartedTimestamp);
     oos.writeObject(progress);
+    oos.writeObject(incrementCounters);
   }
 
   private void readObject(ObjectInputStream ois)
@@ -103,6 +123,12 @@ public class Command implements Serializable {
     this.lastFinishedTimestamp = (Long) ois.readObject();
     this.lastStartedTimestamp = (Long) ois.readObject();
     this.progress = (double) ois.readObject();
+    // Commands scheduled before counters were kept do not have them
+    try {
+      this.incrementCounters = (Map<String, Long>) ois.readObject();
+    } catch (OptionalDataException e) {
+      this.incrementCounters = null;
+    }
   }
 
   public void writeCommandAsJSON(OutputStream outputStream) {
@@ -114,9 +140,14 @@ public class Command implements Serializable {
     }
   }
 
-  public void writeCommandAsJSON(String path) {
+  // Written to a temporary file first, so a command is never read half written (i.e. after a crash during a checkpoint)
+  public synchronized void writeCommandAsJSON(String path) {
+    var tmpPath = Paths.get(path + ".tmp");
     try {
-      writeCommandAsJSON(new FileOutputStream(path));
+      new ObjectMapper().writer().withDefaultPrettyPrinter()
+          .writeValue(tmpPath.toFile(), this);
+      Files.move(tmpPath, Paths.get(path), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
     } catch (Exception e) {
       log.warn("Could not write command to file: {}", path);
     }
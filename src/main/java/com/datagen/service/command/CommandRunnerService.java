@@ -25,6 +25,8 @@ import com.datagen.connector.ConnectorInterface;
 import com.datagen.connector.ConnectorsUtils;
 import com.datagen.connector.storage.utils.FileUtils;
 import com.datagen.model.Model;
+import com.datagen.model.OptionsConverter;
+import com.datagen.model.RowGeneratorPool;
 import com.datagen.service.credentials.Credentials;
 import com.datagen.service.credentials.CredentialsService;
 import com.datagen.service.metrics.MetricsService;
@@ -34,6 +36,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.Nullable;
@@ -57,10 +60,14 @@ public class CommandRunnerService {
   @Autowired
   private CredentialsService credentialsService;
 
+  @Autowired
+  private RestTemplate restTemplate;
+
   private final Map<UUID, Command> commands;
   private final ConcurrentLinkedQueue<Command> commandsToProcess;
   private final Map<UUID, Command> scheduledCommands;
   private final String scheduledCommandsFilePath;
+  private final MemoryAdmission memoryAdmission;
 
   @Autowired
   public CommandRunnerService(PropertiesLoader propertiesLoader, ModelStoreService modelStoreService) {
@@ -70,6 +77,7 @@ public class CommandRunnerService {
     this.commandsToProcess = new ConcurrentLinkedQueue<>();
     this.scheduledCommands = new HashMap<>();
     this.commands = new HashMap<>();
+    this.memoryAdmission = new MemoryAdmission(properties);
 
     FileUtils.createLocalDirectory(this.properties.get(ApplicationConfigs.DATAGEN_HOME_DIRECTORY));
 
@@ -80,6 +88,11 @@ public class CommandRunnerService {
     writeScheduledCommands();
 
     readCommands();
+
+    // Pool of generation is shared by all commands and batches
+    RowGeneratorPool.init(getPositiveIntProperty(properties,
+        ApplicationConfigs.GENERATION_POOL_THREADS,
+        Runtime.getRuntime().availableProcessors()));
   }
 
   /**
@@ -110,6 +123,11 @@ public class CommandRunnerService {
     var commandFiles = FileUtils.listLocalFiles(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH));
     if(commandFiles!=null) {
       Arrays.stream(commandFiles).forEach(c -> {
+        // Temporary file of a command not fully written, the command itself has its previous checkpoint
+        if (c.getName().endsWith(".tmp")) {
+          FileUtils.deleteLocalFile(c.getAbsolutePath());
+          return;
+        }
         try {
           var command = Command.readCommandFromJSON(new FileInputStream(c));
           var model = modelStoreService.getModel(command.getModelId());
@@ -119,7 +137,22 @@ public class CommandRunnerService {
             log.info("Command: {} has been deleted as its model is no longer available", command.getCommandUuid());
           } else {
             command.setModel(model);
+            boolean interrupted = command.getStatus() == Command.CommandStatus.STARTED ||
+                command.getStatus() == Command.CommandStatus.RUNNING;
+            // Scheduler and list of commands share the same scheduled command, it takes the checkpoint of its last execution
+            Command scheduledCommand = scheduledCommands.get(command.getCommandUuid());
+            if (scheduledCommand != null) {
+              if (interrupted) {
+                scheduledCommand.setBatchesDone(command.getBatchesDone());
+                scheduledCommand.setConnectorsCounters(command.getConnectorsCounters());
+                scheduledCommand.setIncrementCounters(command.getIncrementCounters());
+              }
+              command = scheduledCommand;
+            }
             commands.put(command.getCommandUuid(), command);
+            if (interrupted) {
+              resumeInterruptedCommand(command);
+            }
           }
         } catch (Exception e) {
           log.warn("Cannot read command from file: {}", c.getAbsolutePath());
@@ -127,6 +160,40 @@ public class CommandRunnerService {
         }
       });
     }
+    // Scheduled commands interrupted without a checkpoint (i.e. still queued) are run again from scratch
+    synchronized (scheduledCommands) {
+      scheduledCommands.values().stream()
+          .filter(c -> c.getStatus() == Command.CommandStatus.QUEUED &&
+              !commandsToProcess.contains(c))
+          .forEach(c -> {
+            commands.putIfAbsent(c.getCommandUuid(), c);
+            commandsToProcess.add(c);
+          });
+    }
+  }
+
+  /**
+   * Queue again a command that was running when datagen stopped, it will go on from its last checkpoint
+   * Commands dispatched to workers or streaming can not be resumed
+   */
+  private void resumeInterruptedCommand(Command command) {
+    if (!getWorkers(command.getProperties()).isEmpty() ||
+        getPositiveDoubleProperty(command.getProperties(),
+            ApplicationConfigs.GENERATION_STREAMING_RATE) > 0) {
+      log.warn("Command {} has been interrupted and can not be resumed",
+          command.getCommandUuid());
+      command.setCommandError("Command has been interrupted by a restart of datagen");
+      command.setStatus(Command.CommandStatus.FAILED);
+      command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
+      return;
+    }
+    log.info("Command {} has been interrupted after {} batches, it is queued to be resumed",
+        command.getCommandUuid(), command.getBatchesDone());
+    // Model of the store must not be changed by the run
+    command.setModel(new Model(command.getModel()));
+    command.setResuming(true);
+    command.setStatus(Command.CommandStatus.QUEUED);
+    commandsToProcess.add(command);
   }
 
   public CommandSoft getCommandStatusShort(UUID uuid) {
@@ -171,6 +238,20 @@ public class CommandRunnerService {
     return commandsAsList;
   }
 
+  /**
+   * Ask a streaming command to stop, it finishes once rows already generated are written
+   * @return false if the command is unknown or does not stream rows
+   */
+  public boolean stopCommand(UUID uuid) {
+    Command command = commands.get(uuid);
+    if (command == null || !isStreaming(command.getProperties())) {
+      return false;
+    }
+    command.setStopRequested(true);
+    log.info("Stop of streaming command {} is requested", uuid);
+    return true;
+  }
+
   public void removeScheduledCommands(UUID uuid) {
     synchronized (scheduledCommands) {
       scheduledCommands.remove(uuid);
@@ -248,10 +329,10 @@ public class CommandRunnerService {
           if (c.getStatus() == Command.CommandStatus.FAILED) {
             wrongScheduledCommandsRead.add(c.getCommandUuid());
           }
-          // If commands were stopped in the middle, their status should be rest
-          if (c.getStatus() == Command.CommandStatus.QUEUED ||
-              c.getStatus() == Command.CommandStatus.STARTED) {
-            c.setStatus(Command.CommandStatus.FINISHED);
+          // Commands stopped in the middle are queued again when commands are read, from their checkpoint if they have one
+          if (c.getStatus() == Command.CommandStatus.STARTED ||
+              c.getStatus() == Command.CommandStatus.RUNNING) {
+            c.setStatus(Command.CommandStatus.QUEUED);
           }
         });
 
@@ -372,37 +453,39 @@ public class CommandRunnerService {
     // Before generating any data, a deep copy of the model must be made as it will be enhanced with extra properties and credentials
     var modelForTheRun = new Model(model.getModel());
 
+    // Extra properties only apply to this command, not to next ones
+    Map<ApplicationConfigs, String> commandProperties = new HashMap<>(properties);
     if (extraProperties != null && !extraProperties.isEmpty()) {
       log.info(
           "Found extra properties sent with the call, these will replace defaults ones");
-      properties.putAll(extraProperties);
+      commandProperties.putAll(extraProperties);
     }
 
     int threads = 1;
     if (numberOfThreads != null) {
       threads = numberOfThreads;
-    } else if (properties.get(ApplicationConfigs.GENERATION_THREADS_DEFAULT) != null) {
-      threads = Integer.parseInt(properties.get(ApplicationConfigs.GENERATION_THREADS_DEFAULT));
+    } else if (commandProperties.get(ApplicationConfigs.GENERATION_THREADS_DEFAULT) != null) {
+      threads = Integer.parseInt(commandProperties.get(ApplicationConfigs.GENERATION_THREADS_DEFAULT));
     }
     log.info("Will run generation using {} thread(s)", threads);
 
     Long batches = 1L;
     if (numberOfBatches != null) {
       batches = numberOfBatches;
-    } else if (properties.get(ApplicationConfigs.GENERATION_BATCHES_DEFAULT) !=
+    } else if (commandProperties.get(ApplicationConfigs.GENERATION_BATCHES_DEFAULT) !=
         null) {
       batches = Long.valueOf(
-          properties.get(ApplicationConfigs.GENERATION_BATCHES_DEFAULT));
+          commandProperties.get(ApplicationConfigs.GENERATION_BATCHES_DEFAULT));
     }
     log.info("Will run generation for {} batches", batches);
 
     Long rows = 1L;
     if (rowsPerBatch != null) {
       rows = rowsPerBatch;
-    } else if (properties.get(ApplicationConfigs.GENERATION_ROWS_DEFAULT) !=
+    } else if (commandProperties.get(ApplicationConfigs.GENERATION_ROWS_DEFAULT) !=
         null) {
       rows = Long.valueOf(
-          properties.get(ApplicationConfigs.GENERATION_ROWS_DEFAULT));
+          commandProperties.get(ApplicationConfigs.GENERATION_ROWS_DEFAULT));
     }
     log.info("Will run generation for {} rows", rows);
 
@@ -439,7 +522,7 @@ public class CommandRunnerService {
     // Creation of command and queued to be processed
     Command command =
         new Command(model.getPath(), modelForTheRun, owner, threads, batches, rows, scheduled,
-            delayBetweenExecutions, connectorsList, properties);
+            delayBetweenExecutions, connectorsList, commandProperties);
     commands.put(command.getCommandUuid(), command);
     commandsToProcess.add(command);
     command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
@@ -464,78 +547,45 @@ public class CommandRunnerService {
    */
   @Scheduled(fixedDelay = 1000, initialDelay = 10000)
   public void processCommands() {
-    Command command = commandsToProcess.poll();
+    // A command stays first in queue while there is not enough memory to run it
+    Command command = commandsToProcess.peek();
+    if (command != null && getWorkers(command.getProperties()).isEmpty() &&
+        !memoryAdmission.admit(command)) {
+      command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
+      return;
+    }
+    command = commandsToProcess.poll();
 
     if (command != null) {
       command.setStatus(Command.CommandStatus.STARTED);
       long start = System.currentTimeMillis();
       command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
 
+      // Execution resumed after a restart runs on a copy of the model
+      boolean resumed = command.isResuming();
       try {
         log.info("Starting Generation for command: {}",
             command.getCommandUuid());
 
-
-        log.info("Initialization of all connectors");
-        /**
-         *  WARNING 1 : Having Ozone initiated after other connectors will corrupt Hadoop config and Hive or HDFS will not work, so need to initialize it first
-         *  WARNING 2 : If Hive is in the list of connectors, it should be initialized first as it changes columns orders if there are partitions
-         *  WARNING 3 : If Kudu is in the list of connectors, it should be initialized first as it changes columns orders if there are partitions
-         *  Hence, we need to order connectors properly: Ozone first, Hive always before other (except for ozone) and then the rest
-         **/
-        List<ConnectorParser.Connector> connectorList = command.getConnectorsList();
-        connectorList.sort(ConnectorParser.Connector.connectorInitPrecedence);
-
-        log.debug("Print connector in order: ");
-        connectorList.forEach(s -> log.debug("connector: {}", s.toString()));
-
-        List<ConnectorInterface> connectors = ConnectorsUtils
-            .connectorInit(command.getModel(), command.getProperties(),
-                connectorList,
-                true);
-
-        // Launch Generation of data
-        command.setStatus(Command.CommandStatus.RUNNING);
-        command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
-        for (long i = 1; i <= command.getNumberOfBatches(); i++) {
-          log.info("Start to process batch {}/{} of {} rows", i,
-              command.getNumberOfBatches(), command.getRowsPerBatch());
-
-          List randomDataList = command.getModel()
-              .generateRandomRows(command.getRowsPerBatch(),
-                  command.getNumberOfThreads());
-
-          // Send Data to connectors in parallel if there are multiple connectors
-          connectors.parallelStream()
-              .forEach(connector -> connector.sendOneBatchOfRows(randomDataList));
-
-          // For tests only: print generated data
-          if (log.isDebugEnabled()) {
-            randomDataList.forEach(
-                data -> log.debug("Data is : " + data.toString()));
-          }
-
-          log.info("Finished to process batch {}/{} of {} rows", i,
-              command.getNumberOfBatches(), command.getRowsPerBatch());
-          command.setDurationMilliSeconds(System.currentTimeMillis() - start);
-          command.setProgress(
-              ((double) i / (double) command.getNumberOfBatches()) * 100.0);
-          command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
+        List<String> workers = getWorkers(command.getProperties());
+        if (!workers.isEmpty()) {
+          dispatchToWorkers(command, workers, start);
+        } else {
+          generate(command, start);
         }
 
-        // Terminate all connectors
-        connectors.forEach(ConnectorInterface::terminate);
-
-        // Add metrics
-        metricsService.updateMetrics(command.getNumberOfBatches(),
-            command.getRowsPerBatch(), command.getConnectorsList());
-
-        // Recap of what has been generated
-        Utils.recap(command.getNumberOfBatches(), command.getRowsPerBatch(),
-            command.getConnectorsList(), command.getModel());
         command.setStatus(Command.CommandStatus.FINISHED);
         command.setLastFinishedTimestamp(System.currentTimeMillis());
         command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
+        // Counters of increment fields are kept for next executions, even after a restart
+        if (Boolean.TRUE.equals(command.getScheduled())) {
+          // Next executions run on the model of the store, as after a restart
+          Model modelOfStore = modelStoreService.getModel(command.getModelId());
+          if (resumed && modelOfStore != null) {
+            command.setModel(modelOfStore);
+          }
+          writeScheduledCommands();
+        }
       } catch (Exception e) {
         log.warn(
             "An error occurred on command: {} => Mark this command as failed, error is: ",
@@ -562,6 +612,356 @@ public class CommandRunnerService {
   }
 
 
+  /**
+   * Generate all rows of a command on this instance, or only its range of rows if it is a shard sent by a coordinator
+   */
+  private void generate(Command command, long start) throws Exception {
+    // A shard sent by a coordinator starts at its first row, and writes to its own files
+    long firstRowIndex = 0L;
+    Map<String, Long> incrementOrigins = command.getIncrementCounters();
+    String shardName = command.getProperties().get(ApplicationConfigs.GENERATION_SHARD_NAME);
+    if (shardName != null && !shardName.isBlank()) {
+      String shardFirstRow = command.getProperties().get(ApplicationConfigs.GENERATION_SHARD_FIRST_ROW);
+      firstRowIndex = shardFirstRow == null ? 0L : Long.parseLong(shardFirstRow.trim());
+      log.info("Command {} is shard {} of a distributed generation, starting at row {}",
+          command.getCommandUuid(), shardName, firstRowIndex);
+      command.getModel().suffixFileNames("-" + shardName);
+      // Increment fields of all shards start from the same origin, given by the coordinator
+      incrementOrigins = ShardDispatcher.parseIncrementOrigins(command.getProperties()
+          .get(ApplicationConfigs.GENERATION_SHARD_INCREMENT_ORIGINS));
+    }
+
+    // A command interrupted by a restart goes on after its last checkpoint, keeping what has already been written
+    long batchesDone = command.isResuming() ? command.getBatchesDone() : 0L;
+    List<Integer> connectorsCounters = command.getConnectorsCounters();
+    command.setResuming(false);
+    boolean writesOneFile = !(Boolean) command.getModel()
+        .getOptionsOrDefault(OptionsConverter.Options.ONE_FILE_PER_ITERATION) &&
+        command.getConnectorsList().stream().anyMatch(ConnectorParser.Connector::writesFiles);
+    if (batchesDone > 0 && writesOneFile) {
+      log.warn("Command {} can not be resumed as it writes all batches to one file, it is restarted from scratch",
+          command.getCommandUuid());
+      batchesDone = 0L;
+    }
+    if (batchesDone > 0) {
+      log.info("Command {} is resumed after its batch {}/{}",
+          command.getCommandUuid(), batchesDone, command.getNumberOfBatches());
+      command.getModel().getOptions()
+          .put(OptionsConverter.Options.DELETE_PREVIOUS, false);
+    }
+    command.setBatchesDone(batchesDone);
+    // Increment fields go on after values given by previous executions of the command
+    command.getModel().startIncrementCounters(incrementOrigins);
+    if (firstRowIndex + batchesDone * command.getRowsPerBatch() > 0) {
+      command.getModel().startAtRow(firstRowIndex + batchesDone * command.getRowsPerBatch());
+    }
+
+    log.info("Initialization of all connectors");
+    /**
+     *  WARNING 1 : Having Ozone initiated after other connectors will corrupt Hadoop config and Hive or HDFS will not work, so need to initialize it first
+     *  WARNING 2 : If Hive is in the list of connectors, it should be initialized first as it changes columns orders if there are partitions
+     *  WARNING 3 : If Kudu is in the list of connectors, it should be initialized first as it changes columns orders if there are partitions
+     *  Hence, we need to order connectors properly: Ozone first, Hive always before other (except for ozone) and then the rest
+     **/
+    List<ConnectorParser.Connector> connectorList = command.getConnectorsList();
+    connectorList.sort(ConnectorParser.Connector.connectorInitPrecedence);
+
+    log.debug("Print connector in order: ");
+    connectorList.forEach(s -> log.debug("connector: {}", s.toString()));
+
+    List<ConnectorInterface> connectors = ConnectorsUtils
+        .connectorInit(command.getModel(), command.getProperties(),
+            connectorList,
+            true);
+    if (batchesDone > 0 && connectorsCounters != null &&
+        connectorsCounters.size() == connectors.size()) {
+      for (int c = 0; c < connectors.size(); c++) {
+        connectors.get(c).setCounter(connectorsCounters.get(c));
+      }
+    }
+
+    // Rows of a batch are streamed by chunks from the pool of generation to connectors
+    int chunkSize = getPositiveIntProperty(command.getProperties(),
+        ApplicationConfigs.GENERATION_CHUNK_SIZE, 100000);
+    int queueSize = getPositiveIntProperty(command.getProperties(),
+        ApplicationConfigs.GENERATION_QUEUE_SIZE, 4);
+    if (command.getNumberOfThreads() > RowGeneratorPool.getPoolSize()) {
+      log.warn("Command asks for {} threads but pool of generation only has {} threads",
+          command.getNumberOfThreads(), RowGeneratorPool.getPoolSize());
+    }
+    // Rows are generated by columns only if all connectors can use them directly, otherwise they would be converted back
+    boolean generateByColumns = !log.isDebugEnabled() &&
+        connectors.stream().allMatch(ConnectorInterface::supportsRowBatch);
+    log.info("Generation of rows by columns is {}",
+        generateByColumns ? "enabled" : "disabled");
+    // A streaming command generates rows at a given rate, instead of a number of batches
+    double streamingRate = getPositiveDoubleProperty(command.getProperties(),
+        ApplicationConfigs.GENERATION_STREAMING_RATE);
+    // A seed passed to the command overrides the one of the model
+    String seed = command.getProperties().get(ApplicationConfigs.GENERATION_SEED);
+    if (seed != null && !seed.isBlank()) {
+      command.getModel().getOptions()
+          .put(OptionsConverter.Options.SEED, Long.valueOf(seed.trim()));
+    }
+    if (command.getModel().getOptions().get(OptionsConverter.Options.SEED) != null) {
+      log.info("Generation is seeded with: {}",
+          command.getModel().getOptions().get(OptionsConverter.Options.SEED));
+    }
+
+    // Launch Generation of data
+    command.setStatus(Command.CommandStatus.RUNNING);
+    command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
+    // Fields are initialized once for all batches of the command
+    command.getModel().initFields();
+    // Chunks are written by each connector while next ones are generated
+    try (DeliveryPipeline deliveryPipeline = new DeliveryPipeline(
+        command.getCommandUuid().toString(), command.getModel(), connectors,
+        command.getProperties())) {
+      if (streamingRate > 0) {
+        generateStream(command, deliveryPipeline, generateByColumns,
+            chunkSize, queueSize, streamingRate, start);
+      } else {
+        generateBatches(command, deliveryPipeline, generateByColumns,
+            chunkSize, queueSize, firstRowIndex, batchesDone + 1, start);
+      }
+    } finally {
+      command.getModel().closeFields();
+    }
+    command.setIncrementCounters(command.getModel().getIncrementCounters());
+
+    // Terminate all connectors
+    connectors.forEach(ConnectorInterface::terminate);
+
+    // Add metrics, a stream is accounted as one batch of all rows generated
+    long batchesAccounted = streamingRate > 0 ? 1L : command.getNumberOfBatches();
+    long rowsPerBatchDone = streamingRate > 0 ? command.getRowsGenerated() :
+        command.getRowsPerBatch();
+    metricsService.updateMetrics(batchesAccounted, rowsPerBatchDone,
+        command.getConnectorsList());
+
+    // Recap of what has been generated
+    Utils.recap(batchesAccounted, rowsPerBatchDone,
+        command.getConnectorsList(), command.getModel());
+  }
+
+  /**
+   * Generate a command on workers, each of them generating a range of all rows, this instance only follows their progress
+   */
+  private void dispatchToWorkers(Command command, List<String> workers,
+                                 long start) throws InterruptedException {
+    log.info("Command {} is dispatched to workers: {}",
+        command.getCommandUuid(), workers);
+    command.setStatus(Command.CommandStatus.RUNNING);
+    command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
+    String user = command.getProperties().getOrDefault(
+        ApplicationConfigs.DATAGEN_WORKERS_USER,
+        properties.get(ApplicationConfigs.DATAGEN_ADMIN_USER));
+    String password = command.getProperties().getOrDefault(
+        ApplicationConfigs.DATAGEN_WORKERS_PASSWORD,
+        properties.get(ApplicationConfigs.DATAGEN_ADMIN_PASSWORD));
+    // Workers start increment fields from where previous executions of the command ended
+    command.getModel().startIncrementCounters(command.getIncrementCounters());
+    Map<String, Long> incrementOrigins = command.getModel().getIncrementCounters();
+    long rowsDispatched = new ShardDispatcher(restTemplate, workers, user, password)
+        .run(command, incrementOrigins, () -> {
+          command.setDurationMilliSeconds(System.currentTimeMillis() - start);
+          command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
+        });
+    // Rows of all shards follow each other, so next execution starts after the last row of all of them
+    incrementOrigins.replaceAll((name, origin) -> origin + rowsDispatched);
+    command.setIncrementCounters(incrementOrigins);
+  }
+
+  /**
+   * Workers to dispatch a command to, none if this instance generates rows itself:
+   * a shard received from a coordinator or a streaming command are always generated locally
+   */
+  private static List<String> getWorkers(Map<ApplicationConfigs, String> props) {
+    String workers = props.get(ApplicationConfigs.DATAGEN_WORKERS);
+    if (workers == null || workers.isBlank() ||
+        props.get(ApplicationConfigs.GENERATION_SHARD_NAME) != null ||
+        isStreaming(props)) {
+      return Collections.emptyList();
+    }
+    return Arrays.stream(workers.split(","))
+        .map(String::trim)
+        .filter(w -> !w.isEmpty())
+        .map(w -> w.endsWith("/") ? w.substring(0, w.length() - 1) : w)
+        .toList();
+  }
+
+  /**
+   * Generate all batches of a command from the first one (1 unless command is resumed), one after the other
+   * A checkpoint of the command is saved once each batch has been written by all connectors,
+   * if interrupted, the batch being generated is not checkpointed and next ones are not generated
+   */
+  private void generateBatches(Command command,
+                               DeliveryPipeline deliveryPipeline,
+                               boolean generateByColumns, int chunkSize,
+                               int queueSize, long shardFirstRow,
+                               long firstBatch, long start)
+      throws InterruptedException {
+    for (long i = firstBatch; i <= command.getNumberOfBatches(); i++) {
+      log.info("Start to generate batch {}/{} of {} rows", i,
+          command.getNumberOfBatches(), command.getRowsPerBatch());
+
+      // Rows are numbered across batches, so a seeded command gives different rows in each batch
+      long firstRowIndex = (i - 1) * command.getRowsPerBatch();
+      generateChunks(command, deliveryPipeline, generateByColumns,
+          shardFirstRow + firstRowIndex, command.getRowsPerBatch(), chunkSize, queueSize);
+      command.setRowsGenerated(firstRowIndex + command.getRowsPerBatch());
+
+      // A batch is processed once its last chunk has been written
+      long batchNumber = i;
+      deliveryPipeline.whenDelivered(connectorsCounters -> {
+        log.info("Finished to process batch {}/{} of {} rows", batchNumber,
+            command.getNumberOfBatches(), command.getRowsPerBatch());
+        command.setDurationMilliSeconds(System.currentTimeMillis() - start);
+        command.setProgress(
+            ((double) batchNumber / (double) command.getNumberOfBatches()) * 100.0);
+        command.setBatchesDone(batchNumber);
+        command.setConnectorsCounters(connectorsCounters);
+        command.writeCommandAsJSON(properties.get(ApplicationConfigs.DATAGEN_COMMANDS_PATH)+"/"+command.getCommandUuid());
+      });
+    }
+  }
+
+  /**
+   * Generate rows at the rate of a token bucket, until the duration or the number of rows is reached (or forever)
+   * Rows are generated by slices of a tenth of second, so the rate is smooth whatever the size of chunks
+   */
+  private void generateStream(Command command,
+                              DeliveryPipeline deliveryPipeline,
+                              boolean generateByColumns, int chunkSize,
+                              int queueSize, double streamingRate, long start)
+      throws InterruptedException {
+    RateLimiter.Profile profile = RateLimiter.Profile.CONSTANT;
+    String profileProperty = command.getProperties()
+        .get(ApplicationConfigs.GENERATION_STREAMING_PROFILE);
+    if (profileProperty != null && !profileProperty.isBlank()) {
+      profile = RateLimiter.Profile.valueOf(
+          profileProperty.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+    double periodSeconds = getPositiveDoubleProperty(command.getProperties(),
+        ApplicationConfigs.GENERATION_STREAMING_PERIOD_SECONDS);
+    long durationMs = (long) (getPositiveDoubleProperty(command.getProperties(),
+        ApplicationConfigs.GENERATION_STREAMING_DURATION_SECONDS) * 1000d);
+    long maxRows = (long) getPositiveDoubleProperty(command.getProperties(),
+        ApplicationConfigs.GENERATION_STREAMING_MAX_ROWS);
+    RateLimiter rateLimiter = new RateLimiter(streamingRate, profile,
+        periodSeconds > 0 ? periodSeconds : 60d);
+    log.info("Start to stream rows at {} rows/s with profile {}, during {} ms and up to {} rows (0 is unlimited)",
+        streamingRate, profile, durationMs, maxRows);
+    if (durationMs == 0 && maxRows == 0) {
+      log.info("Command {} streams rows until it is stopped with: /api/v1/command/stop?commandUuid={}",
+          command.getCommandUuid(), command.getCommandUuid());
+    }
+
+    long rowsGenerated = 0L;
+    long lastReportTime = System.currentTimeMillis();
+    long lastReportRows = 0L;
+    while (!command.isStopRequested()
+        && (durationMs == 0 || System.currentTimeMillis() - start < durationMs)
+        && (maxRows == 0 || rowsGenerated < maxRows)) {
+      double currentRate = rateLimiter.getCurrentRate();
+      long rowsOfSlice = Math.max(1L, Math.min(chunkSize, (long) (currentRate / 10d)));
+      if (maxRows > 0) {
+        rowsOfSlice = Math.min(rowsOfSlice, maxRows - rowsGenerated);
+      }
+      rateLimiter.acquire(rowsOfSlice);
+      generateChunks(command, deliveryPipeline, generateByColumns,
+          rowsGenerated, rowsOfSlice, chunkSize, queueSize);
+      rowsGenerated += rowsOfSlice;
+
+      // Report achieved rate every second
+      long now = System.currentTimeMillis();
+      if (now - lastReportTime >= 1000) {
+        command.setAchievedRowsPerSecond(
+            (rowsGenerated - lastReportRows) * 1000d / (now - lastReportTime));
+        command.setTargetRowsPerSecond(currentRate);
+        command.setRowsGenerated(rowsGenerated);
+        command.setDurationMilliSeconds(now - start);
+        if (maxRows > 0) {
+          command.setProgress((double) rowsGenerated / (double) maxRows * 100.0);
+        } else if (durationMs > 0) {
+          command.setProgress(Math.min(100.0, (double) (now - start) / (double) durationMs * 100.0));
+        }
+        log.debug("Streaming at {} rows/s for a target of {} rows/s",
+            command.getAchievedRowsPerSecond(), currentRate);
+        lastReportTime = now;
+        lastReportRows = rowsGenerated;
+      }
+    }
+    if (command.isStopRequested()) {
+      log.info("Streaming of command {} is stopped as requested", command.getCommandUuid());
+      command.setStopRequested(false);
+    }
+    command.setRowsGenerated(rowsGenerated);
+    command.setProgress(100.0);
+    log.info("Finished to stream {} rows", rowsGenerated);
+  }
+
+  private void generateChunks(Command command,
+                              DeliveryPipeline deliveryPipeline,
+                              boolean generateByColumns, long firstRowIndex,
+                              long numberOfRows, int chunkSize, int queueSize)
+      throws InterruptedException {
+    if (generateByColumns) {
+      command.getModel()
+          .generateRowBatchesByChunks(firstRowIndex, numberOfRows,
+              command.getNumberOfThreads(), chunkSize, queueSize,
+              deliveryPipeline::submitRowBatch);
+    } else {
+      command.getModel()
+          .generateRandomRowsByChunks(firstRowIndex, numberOfRows,
+              command.getNumberOfThreads(), chunkSize, queueSize,
+              randomDataList -> {
+                // Send Data to all connectors, each one writes it at its own pace
+                deliveryPipeline.submitRows(randomDataList);
+
+                // For tests only: print generated data
+                if (log.isDebugEnabled()) {
+                  randomDataList.forEach(
+                      data -> log.debug("Data is : " + data.toString()));
+                }
+              });
+    }
+  }
+
+  // A streaming command generates rows at a given rate, instead of a number of batches
+  static boolean isStreaming(Map<ApplicationConfigs, String> props) {
+    return getPositiveDoubleProperty(props, ApplicationConfigs.GENERATION_STREAMING_RATE) > 0;
+  }
+
+  // Returns 0 if property is not set or not a strictly positive number
+  private static double getPositiveDoubleProperty(Map<ApplicationConfigs, String> props,
+                                                  ApplicationConfigs config) {
+    try {
+      if (props != null && props.get(config) != null && !props.get(config).isBlank()) {
+        return Math.max(0d, Double.parseDouble(props.get(config).trim()));
+      }
+    } catch (NumberFormatException e) {
+      log.warn("Property {} is not a valid number, it is ignored", config);
+    }
+    return 0d;
+  }
+
+  private static int getPositiveIntProperty(Map<ApplicationConfigs, String> props,
+                                            ApplicationConfigs config,
+                                            int defaultValue) {
+    try {
+      if (props != null && props.get(config) != null) {
+        int value = Integer.parseInt(props.get(config));
+        if (value > 0) {
+          return value;
+        }
+      }
+    } catch (NumberFormatException e) {
+      log.warn("Property {} is not a valid number, using default: {}", config, defaultValue);
+    }
+    return defaultValue;
+  }
+
   @Scheduled(fixedDelay = 1000, initialDelay = 15000)
   public void checkScheduledCommandsToProcess() {
     for (Command c : scheduledCommands.values()) {
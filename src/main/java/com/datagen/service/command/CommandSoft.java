@@ -34,6 +34,10 @@ public class CommandSoft {
   private String commandComment = "";
   private Long durationSeconds = 0L;
   private double progress = 0d;
+  private long rowsGenerated = 0L;
+  private double targetRowsPerSecond = 0d;
+  private double achievedRowsPerSecond = 0d;
+  private String memoryComment = "";
 
   CommandSoft(@Nullable Command command) {
     if (command != null) {
@@ -42,6 +46,10 @@ public class CommandSoft {
       this.commandComment = command.getCommandError();
       this.durationSeconds = command.getDurationMilliSeconds();
       this.progress = command.getProgress();
+      this.rowsGenerated = command.getRowsGenerated();
+      this.targetRowsPerSecond = command.getTargetRowsPerSecond();
+      this.achievedRowsPerSecond = command.getAchievedRowsPerSecond();
+      this.memoryComment = command.getMemoryComment();
     } else {
       this.commandComment = "Command not Found";
     }
@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import com.datagen.connector.ConnectorInterface;
+import com.datagen.model.Row;
+import com.datagen.model.RowBatch;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Writes chunks to one connector, in order, with its own thread
+ * At most (depth) chunks are kept in memory for this connector, when they are all taken,
+ * next chunk is handled according to the overflow policy
+ */
+@Slf4j
+class ConnectorWriter {
+
+  // What to do with a chunk when the buffer of the connector is full
+  enum OverflowPolicy {
+    BLOCK,
+    SPILL,
+    FAIL
+  }
+
+  private static final Runnable END_OF_DELIVERIES = () -> {};
+
+  @Getter
+  private final String name;
+  private final ConnectorInterface connector;
+  private final int depth;
+  private final OverflowPolicy overflowPolicy;
+  private final SpillFile spillFile;
+  private final Path spillDirectory;
+  private final BlockingQueue<Runnable> deliveries = new LinkedBlockingQueue<>();
+  // Chunks in memory take a permit, chunks spilled to disk and markers do not
+  private final Semaphore buffer;
+  private final Thread writerThread;
+  private long chunksSpilled = 0;
+  @Getter
+  private volatile Exception failure;
+
+  ConnectorWriter(String name, ConnectorInterface connector, int depth,
+                  OverflowPolicy overflowPolicy, SpillFile spillFile,
+                  Path spillDirectory) {
+    this.name = name;
+    this.connector = connector;
+    this.depth = depth;
+    this.overflowPolicy = overflowPolicy;
+    this.spillFile = spillFile;
+    this.spillDirectory = spillDirectory;
+    this.buffer = new Semaphore(depth);
+    this.writerThread = new Thread(this::write, "datagen-writer-" + name);
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  private void write() {
+    while (true) {
+      Runnable delivery;
+      try {
+        delivery = deliveries.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (delivery == END_OF_DELIVERIES) {
+        return;
+      }
+      // Once a delivery failed, next ones are only drained (they check failure), so generation is not blocked
+      try {
+        delivery.run();
+      } catch (Exception e) {
+        log.warn("Writing to connector {} failed, next chunks for it will be dropped", name, e);
+        failure = e;
+      }
+    }
+  }
+
+  void submitRows(List<Row> rows) {
+    submit(() -> connector.sendOneBatchOfRows(rows), path -> {
+      spillFile.write(rows, path);
+      return () -> connector.sendOneBatchOfRows(spillFile.read(path));
+    });
+  }
+
+  void submitRowBatch(RowBatch rowBatch) {
+    // Columns are spilled as they are, so values picked in dictionaries stay ordinals
+    submit(() -> connector.sendOneRowBatch(rowBatch), path -> {
+      spillFile.write(rowBatch, path);
+      return () -> connector.sendOneRowBatch(spillFile.readRowBatch(path));
+    });
+  }
+
+  // Only consistent when read from the writer thread, i.e. in a marker
+  int getCounter() {
+    return connector.getCounter();
+  }
+
+  // Only called from the writer thread, i.e. in a marker
+  void flush() {
+    connector.flush();
+  }
+
+  // Only called from the writer thread, i.e. in a marker
+  void endBatch() {
+    connector.endBatch();
+  }
+
+  /**
+   * Run an action once all chunks submitted before have been written
+   */
+  void submitMarker(Runnable marker) {
+    deliveries.add(() -> {
+      if (failure == null) {
+        marker.run();
+      }
+    });
+  }
+
+  /**
+   * @param spill writes the chunk to a file and returns how to send it back from this file
+   */
+  private void submit(Runnable send, Function<Path, Runnable> spill) {
+    if (!buffer.tryAcquire()) {
+      switch (overflowPolicy) {
+      case FAIL -> throw new IllegalStateException(
+          "Buffer of " + depth + " chunks for connector " + name +
+              " is full, it does not write fast enough");
+      case SPILL -> {
+        spill(spill);
+        return;
+      }
+      default -> {
+        try {
+          buffer.acquire();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException(
+              "Interrupted while waiting for connector " + name, e);
+        }
+      }
+      }
+    }
+    deliveries.add(() -> {
+      try {
+        if (failure == null) {
+          send.run();
+        }
+      } finally {
+        buffer.release();
+      }
+    });
+  }
+
+  private void spill(Function<Path, Runnable> spill) {
+    Path path = spillDirectory.resolve(name + "-" + chunksSpilled++ + ".spill");
+    Runnable sendSpilled = spill.apply(path);
+    log.debug("Spilled a chunk for connector {} to {}", name, path);
+    deliveries.add(() -> {
+      try {
+        if (failure == null) {
+          sendSpilled.run();
+        }
+      } finally {
+        deleteSpilled(path);
+      }
+    });
+  }
+
+  /**
+   * Wait for all chunks submitted to be written
+   */
+  void close() throws InterruptedException {
+    if (writerThread.isAlive()) {
+      deliveries.add(END_OF_DELIVERIES);
+    }
+    writerThread.join();
+    if (chunksSpilled > 0) {
+      log.info("{} chunks have been spilled to disk for connector {}",
+          chunksSpilled, name);
+    }
+  }
+
+  private static void deleteSpilled(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Could not delete spilled file: {}", path, e);
+    }
+  }
+
+}
@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import com.datagen.config.ApplicationConfigs;
+import com.datagen.connector.ConnectorInterface;
+import com.datagen.model.Model;
+import com.datagen.model.Row;
+import com.datagen.model.RowBatch;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Deliveries of generated chunks to connectors
+ * Each connector has its own writer thread and buffer, so a fast connector is not held by a slow one,
+ * and generation of next chunks (and next batches) goes on while previous ones are written
+ */
+@Slf4j
+public class DeliveryPipeline implements AutoCloseable {
+
+  private final List<ConnectorWriter> writers = new ArrayList<>();
+  private final Path spillDirectory;
+
+  /**
+   * @param name       of the pipeline, to name its threads and spill files
+   * @param model      of rows delivered
+   * @param connectors to write to
+   * @param properties buffer depth (possibly per connector) and overflow policy
+   */
+  public DeliveryPipeline(String name, Model model,
+                          List<ConnectorInterface> connectors,
+                          Map<ApplicationConfigs, String> properties) {
+    int defaultDepth = parsePositiveInt(
+        properties.get(ApplicationConfigs.GENERATION_DELIVERY_DEPTH), 2);
+    Map<String, Integer> depthPerConnector = parseDepthPerConnector(
+        properties.get(ApplicationConfigs.GENERATION_DELIVERY_DEPTH_PER_CONNECTOR));
+    ConnectorWriter.OverflowPolicy overflowPolicy = parseOverflowPolicy(
+        properties.get(ApplicationConfigs.GENERATION_DELIVERY_OVERFLOW_POLICY));
+    this.spillDirectory = Paths.get(properties.getOrDefault(
+        ApplicationConfigs.DATAGEN_SPILL_PATH, "/tmp/datagen/spill"), name);
+    if (overflowPolicy == ConnectorWriter.OverflowPolicy.SPILL) {
+      try {
+        Files.createDirectories(spillDirectory);
+      } catch (IOException e) {
+        throw new IllegalStateException(
+            "Could not create directory to spill rows: " + spillDirectory, e);
+      }
+    }
+
+    SpillFile spillFile = new SpillFile(model);
+    for (ConnectorInterface connector : connectors) {
+      String connectorName = connector.getClass().getSimpleName();
+      int depth = depthPerConnector.getOrDefault(connectorName.toLowerCase(Locale.ROOT),
+          defaultDepth);
+      log.info("Connector {} has a buffer of {} chunks, policy when it is full: {}",
+          connectorName, depth, overflowPolicy);
+      writers.add(new ConnectorWriter(connectorName + "-" + name, connector,
+          depth, overflowPolicy, spillFile, spillDirectory));
+    }
+  }
+
+  /**
+   * Queue rows for all connectors, waiting, spilling or failing if a buffer is full
+   * @throws IllegalStateException if a previous write failed
+   */
+  public void submitRows(List<Row> rows) {
+    checkFailure();
+    writers.forEach(w -> w.submitRows(rows));
+  }
+
+  /**
+   * Same as submitRows() for rows stored by columns
+   */
+  public void submitRowBatch(RowBatch rowBatch) {
+    checkFailure();
+    writers.forEach(w -> w.submitRowBatch(rowBatch));
+  }
+
+  /**
+   * Run an action once all connectors have written all chunks submitted before, it is run by the last writer to get there
+   * Each connector is flushed first, so rows it was holding (i.e. in a MicroBatcher) are written before the action,
+   * then told its batch ends, as chunks submitted before are all rows of a batch
+   * Action gets counters of files of each connector (in order of connectors) as they were right after these chunks
+   */
+  public void whenDelivered(Consumer<List<Integer>> action) {
+    AtomicInteger writersRemaining = new AtomicInteger(writers.size());
+    Integer[] counters = new Integer[writers.size()];
+    for (int w = 0; w < writers.size(); w++) {
+      ConnectorWriter writer = writers.get(w);
+      int index = w;
+      writer.submitMarker(() -> {
+        writer.flush();
+        writer.endBatch();
+        counters[index] = writer.getCounter();
+        if (writersRemaining.decrementAndGet() == 0) {
+          action.accept(Arrays.asList(counters));
+        }
+      });
+    }
+  }
+
+  /**
+   * Wait for all chunks submitted to be written
+   * @throws IllegalStateException if one of them failed
+   */
+  @Override
+  public void close() throws InterruptedException {
+    for (ConnectorWriter writer : writers) {
+      writer.close();
+    }
+    try {
+      Files.deleteIfExists(spillDirectory);
+    } catch (IOException e) {
+      log.debug("Could not delete spill directory: {}", spillDirectory, e);
+    }
+    checkFailure();
+  }
+
+  private void checkFailure() {
+    for (ConnectorWriter writer : writers) {
+      if (writer.getFailure() != null) {
+        throw new IllegalStateException(
+            "Delivery of rows to connector " + writer.getName() + " failed",
+            writer.getFailure());
+      }
+    }
+  }
+
+  private static int parsePositiveInt(String value, int defaultValue) {
+    try {
+      if (value != null && Integer.parseInt(value.trim()) > 0) {
+        return Integer.parseInt(value.trim());
+      }
+    } catch (NumberFormatException e) {
+      log.warn("Delivery depth {} is not a valid number, using default: {}", value, defaultValue);
+    }
+    return defaultValue;
+  }
+
+  // Format is: connectorClass:depth,connectorClass:depth (i.e. KafkaConnector:16,SolRConnector:4)
+  private static Map<String, Integer> parseDepthPerConnector(String value) {
+    Map<String, Integer> depthPerConnector = new HashMap<>();
+    if (value == null || value.isBlank()) {
+      return depthPerConnector;
+    }
+    for (String connectorDepth : value.split(",")) {
+      String[] connectorAndDepth = connectorDepth.split(":");
+      if (connectorAndDepth.length != 2) {
+        log.warn("Could not parse delivery depth for a connector: {}", connectorDepth);
+        continue;
+      }
+      int depth = parsePositiveInt(connectorAndDepth[1], -1);
+      if (depth > 0) {
+        depthPerConnector.put(connectorAndDepth[0].trim().toLowerCase(Locale.ROOT),
+            depth);
+      }
+    }
+    return depthPerConnector;
+  }
+
+  private static ConnectorWriter.OverflowPolicy parseOverflowPolicy(String value) {
+    if (value == null || value.isBlank()) {
+      return ConnectorWriter.OverflowPolicy.BLOCK;
+    }
+    try {
+      return ConnectorWriter.OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      log.warn("Overflow policy {} is unknown, using block", value);
+      return ConnectorWriter.OverflowPolicy.BLOCK;
+    }
+  }
+
+}
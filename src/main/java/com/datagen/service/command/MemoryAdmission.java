@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import com.datagen.config.ApplicationConfigs;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Admission of commands according to memory they need, so a command does not make the server run out of heap
+ * Memory of a command is the number of rows held at once (chunks queued for generation and buffered for connectors)
+ * times an estimation of bytes per row, made from a sample of rows of its model
+ * If it does not fit in the budget, chunks are made smaller, and if it does not fit in heap currently free,
+ * command is held back until it does (or until it waited too long)
+ */
+@Slf4j
+class MemoryAdmission {
+
+  private static final int SAMPLE_ROWS = 500;
+  private static final int MIN_CHUNK_SIZE = 1000;
+  private static final long MB = 1024L * 1024L;
+
+  private final long budget;
+  private final long maxWaitMs;
+  // Command first in queue, checked until it is admitted
+  private UUID commandChecked;
+  private long checkedSince;
+  private long needed;
+  private String resizeComment;
+
+  MemoryAdmission(Map<ApplicationConfigs, String> properties) {
+    int budgetPercent = parsePositiveInt(
+        properties.get(ApplicationConfigs.GENERATION_MEMORY_BUDGET_PERCENT), 50);
+    this.budget = Runtime.getRuntime().maxMemory() / 100L * Math.min(100, budgetPercent);
+    this.maxWaitMs = parsePositiveInt(
+        properties.get(ApplicationConfigs.GENERATION_MEMORY_MAX_WAIT_SECONDS), 300) * 1000L;
+    log.info("Memory budget for generation is {} MB", budget / MB);
+  }
+
+  /**
+   * Resize chunks of the command if needed, and check it can run now
+   * Reason of any resize or hold is recorded in the command
+   * @return true if command can be processed now, false if it must stay queued
+   */
+  boolean admit(Command command) {
+    // Memory needed is estimated once, not each time a held back command is checked again
+    if (!command.getCommandUuid().equals(commandChecked)) {
+      commandChecked = command.getCommandUuid();
+      checkedSince = System.currentTimeMillis();
+      resizeComment = null;
+      needed = estimateAndResize(command);
+    }
+
+    long free = budget - liveHeap();
+    if (needed <= free) {
+      command.setMemoryComment(resizeComment);
+      commandChecked = null;
+      return true;
+    }
+    if (System.currentTimeMillis() - checkedSince > maxWaitMs) {
+      log.warn("Command {} waited more than {} ms for memory, it is started anyway",
+          command.getCommandUuid(), maxWaitMs);
+      command.setMemoryComment(withResizeComment("Started without enough free memory after waiting " +
+          maxWaitMs / 1000 + " seconds (needs " + needed / MB + " MB, " +
+          Math.max(0L, free) / MB + " MB free in budget)"));
+      commandChecked = null;
+      return true;
+    }
+    command.setMemoryComment(withResizeComment("Held back as it needs " + needed / MB +
+        " MB and only " + Math.max(0L, free) / MB + " MB are free in memory budget of " +
+        budget / MB + " MB"));
+    log.debug("Command {}: {}", command.getCommandUuid(), command.getMemoryComment());
+    return false;
+  }
+
+  /**
+   * @return bytes needed by the command, once its chunks have been resized to fit in the budget
+   */
+  private long estimateAndResize(Command command) {
+    int chunkSize = getPositiveIntProperty(command, ApplicationConfigs.GENERATION_CHUNK_SIZE, 100000);
+    // A streaming command has no batches, all its chunks are full
+    boolean streaming = CommandRunnerService.isStreaming(command.getProperties());
+    long rowsPerChunk = streaming ? chunkSize : Math.min(chunkSize, command.getRowsPerBatch());
+    int chunksInMemory = chunksInMemory(command);
+    long bytesPerRow;
+    try {
+      bytesPerRow = command.getModel().estimateBytesPerRow(SAMPLE_ROWS);
+    } catch (Exception e) {
+      log.warn("Could not estimate memory needed by command {}, it is not checked",
+          command.getCommandUuid(), e);
+      return 0L;
+    }
+    long bytesNeeded = bytesPerRow * rowsPerChunk * chunksInMemory;
+    log.debug("Command {} needs {} MB: {} bytes per row, {} chunks of {} rows in memory",
+        command.getCommandUuid(), bytesNeeded / MB, bytesPerRow, chunksInMemory, rowsPerChunk);
+
+    if (bytesNeeded > budget) {
+      int newChunkSize = (int) Math.max(MIN_CHUNK_SIZE,
+          budget / ((long) chunksInMemory * bytesPerRow));
+      command.getProperties().put(ApplicationConfigs.GENERATION_CHUNK_SIZE,
+          String.valueOf(newChunkSize));
+      resizeComment = "Chunks resized from " + rowsPerChunk + " to " + newChunkSize +
+          " rows to fit in memory budget of " + budget / MB + " MB (estimated " +
+          bytesPerRow + " bytes per row, " + chunksInMemory + " chunks in memory)";
+      log.info("Command {}: {}", command.getCommandUuid(), resizeComment);
+      rowsPerChunk = streaming ? newChunkSize : Math.min(newChunkSize, command.getRowsPerBatch());
+      bytesNeeded = bytesPerRow * rowsPerChunk * chunksInMemory;
+    }
+    return bytesNeeded;
+  }
+
+  private String withResizeComment(String comment) {
+    return resizeComment == null ? comment : resizeComment + " ; " + comment;
+  }
+
+  /**
+   * Chunks waiting to be taken from generation, being generated, and buffered for each connector (plus the one written)
+   */
+  private static int chunksInMemory(Command command) {
+    int queueSize = getPositiveIntProperty(command, ApplicationConfigs.GENERATION_QUEUE_SIZE, 4);
+    int deliveryDepth = getPositiveIntProperty(command, ApplicationConfigs.GENERATION_DELIVERY_DEPTH, 2);
+    return queueSize + command.getNumberOfThreads() +
+        (deliveryDepth + 1) * command.getConnectorsList().size();
+  }
+
+  /**
+   * Heap used by live objects, as measured after last garbage collection (as current usage also counts garbage)
+   */
+  private static long liveHeap() {
+    long used = 0L;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        MemoryUsage usage = pool.getCollectionUsage() != null ?
+            pool.getCollectionUsage() : pool.getUsage();
+        used += usage.getUsed();
+      }
+    }
+    return used;
+  }
+
+  private static int getPositiveIntProperty(Command command,
+                                            ApplicationConfigs config,
+                                            int defaultValue) {
+    return command.getProperties() == null ? defaultValue :
+        parsePositiveInt(command.getProperties().get(config), defaultValue);
+  }
+
+  private static int parsePositiveInt(String value, int defaultValue) {
+    try {
+      if (value != null && Integer.parseInt(value.trim()) > 0) {
+        return Integer.parseInt(value.trim());
+      }
+    } catch (NumberFormatException e) {
+      log.warn("Value {} is not a valid number, using default: {}", value, defaultValue);
+    }
+    return defaultValue;
+  }
+
+}
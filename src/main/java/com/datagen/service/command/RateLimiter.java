@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token bucket limiting the number of rows generated per second in streaming mode
+ * Tokens are added continuously at the rate given by the profile, and the bucket holds at most one second of tokens,
+ * so a slow period is not followed by an unbounded burst
+ */
+@Slf4j
+public class RateLimiter {
+
+  // Shape of the rate over time, all profiles are based on the target rate and a period
+  public enum Profile {
+    // Always the target rate
+    CONSTANT,
+    // From 0 to the target rate during the first period, then constant
+    RAMP_UP,
+    // Oscillates between half and one and a half times the target rate
+    SINE,
+    // Target rate, with a spike at three times the target rate during the first tenth of each period
+    SPIKES;
+
+    double rateAt(double targetRate, double elapsedSeconds, double periodSeconds) {
+      return switch (this) {
+        case RAMP_UP -> targetRate * Math.min(1d, elapsedSeconds / periodSeconds);
+        case SINE -> targetRate *
+            (1d + 0.5d * Math.sin(2d * Math.PI * elapsedSeconds / periodSeconds));
+        case SPIKES -> (elapsedSeconds % periodSeconds) < periodSeconds / 10d ?
+            3d * targetRate : targetRate;
+        default -> targetRate;
+      };
+    }
+  }
+
+  private static final long MAX_SLEEP_MS = 100;
+
+  @Getter
+  private final double targetRate;
+  private final Profile profile;
+  private final double periodSeconds;
+  private final long startNanos;
+  private long lastRefillNanos;
+  private double tokens;
+
+  /**
+   * @param targetRate    rows per second
+   * @param profile       shape of the rate over time
+   * @param periodSeconds period of the profile
+   */
+  public RateLimiter(double targetRate, Profile profile, double periodSeconds) {
+    this.targetRate = targetRate;
+    this.profile = profile;
+    this.periodSeconds = Math.max(1d, periodSeconds);
+    this.startNanos = System.nanoTime();
+    this.lastRefillNanos = startNanos;
+    this.tokens = 0d;
+  }
+
+  /**
+   * @return rate expected now according to the profile, at least one row per second
+   */
+  public double getCurrentRate() {
+    return Math.max(1d, profile.rateAt(targetRate,
+        (System.nanoTime() - startNanos) / 1e9d, periodSeconds));
+  }
+
+  /**
+   * Wait until (rows) tokens are available and take them
+   */
+  public void acquire(long rows) throws InterruptedException {
+    while (true) {
+      double currentRate = getCurrentRate();
+      refill(currentRate);
+      // A request bigger than the bucket can only be served once it is full
+      double needed = Math.min(rows, currentRate);
+      if (tokens >= needed) {
+        tokens -= rows;
+        return;
+      }
+      long sleepMs = (long) Math.ceil((needed - tokens) * 1000d / currentRate);
+      Thread.sleep(Math.max(1L, Math.min(MAX_SLEEP_MS, sleepMs)));
+    }
+  }
+
+  private void refill(double currentRate) {
+    long now = System.nanoTime();
+    tokens = Math.min(currentRate,
+        tokens + currentRate * (now - lastRefillNanos) / 1e9d);
+    lastRefillNanos = now;
+  }
+
+}
@@ -0,0 +1,242 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import com.datagen.config.ApplicationConfigs;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Split a command into ranges of rows (shards), and run each of them on a datagen worker through its REST API
+ * Progress of workers is aggregated into the command, which fails as soon as one of them fails
+ */
+@Slf4j
+class ShardDispatcher {
+
+  private static final long POLL_INTERVAL_MS = 1000;
+
+  // Properties of the command sent to workers, others are taken from the configuration of each worker
+  private static final Set<ApplicationConfigs> PROPERTIES_FORWARDED = EnumSet.of(
+      ApplicationConfigs.GENERATION_SEED,
+      ApplicationConfigs.GENERATION_CHUNK_SIZE,
+      ApplicationConfigs.GENERATION_QUEUE_SIZE,
+      ApplicationConfigs.GENERATION_DELIVERY_DEPTH,
+      ApplicationConfigs.GENERATION_DELIVERY_DEPTH_PER_CONNECTOR,
+      ApplicationConfigs.GENERATION_DELIVERY_OVERFLOW_POLICY
+  );
+
+  /**
+   * Rows from firstRowIndex to firstRowIndex + numberOfBatches * rowsPerBatch (excluded), generated by one worker
+   */
+  record Shard(String worker, String name, long firstRowIndex,
+               long numberOfBatches, long rowsPerBatch) {
+    long numberOfRows() {
+      return numberOfBatches * rowsPerBatch;
+    }
+  }
+
+  private final RestTemplate restTemplate;
+  private final List<String> workers;
+  private final String authHeader;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * @param workers  base URLs of workers (i.e. http://localhost:4243)
+   * @param user     to authenticate on workers
+   * @param password to authenticate on workers
+   */
+  ShardDispatcher(RestTemplate restTemplate, List<String> workers, String user,
+                  String password) {
+    this.restTemplate = restTemplate;
+    this.workers = workers;
+    this.authHeader = "Basic " + Base64.getEncoder().encodeToString(
+        (user + ":" + password).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Shards are contiguous ranges of rows, so values following the row index (increments, seeded values) do not overlap
+   * Workers get whole batches when there are enough of them, otherwise a part of each batch
+   */
+  static List<Shard> split(List<String> workers, long numberOfBatches,
+                           long rowsPerBatch) {
+    List<Shard> shards = new ArrayList<>();
+    int numberOfWorkers = workers.size();
+    if (numberOfBatches >= numberOfWorkers) {
+      long firstBatch = 0;
+      for (int w = 0; w < numberOfWorkers; w++) {
+        long batches = numberOfBatches / numberOfWorkers +
+            (w < numberOfBatches % numberOfWorkers ? 1 : 0);
+        shards.add(new Shard(workers.get(w), "shard-" + w,
+            firstBatch * rowsPerBatch, batches, rowsPerBatch));
+        firstBatch += batches;
+      }
+    } else {
+      long firstRowIndex = 0;
+      for (int w = 0; w < numberOfWorkers; w++) {
+        long rows = rowsPerBatch / numberOfWorkers +
+            (w < rowsPerBatch % numberOfWorkers ? 1 : 0);
+        if (rows > 0) {
+          shards.add(new Shard(workers.get(w), "shard-" + w, firstRowIndex,
+              numberOfBatches, rows));
+          firstRowIndex += numberOfBatches * rows;
+        }
+      }
+    }
+    return shards;
+  }
+
+  /**
+   * Send all shards of the command to workers and wait for them to finish
+   * @param incrementOrigins values increment fields of all shards start after, by field name
+   * @param onProgress       called each time progress of the command is updated
+   * @return number of rows generated by all shards
+   * @throws IllegalStateException if a shard could not be sent or failed on its worker
+   */
+  long run(Command command, Map<String, Long> incrementOrigins,
+           Runnable onProgress) throws InterruptedException {
+    List<Shard> shards = split(workers, command.getNumberOfBatches(),
+        command.getRowsPerBatch());
+    Map<Shard, UUID> commandsOfShards = new LinkedHashMap<>();
+    for (Shard shard : shards) {
+      UUID shardCommand = submit(command, shard, incrementOrigins);
+      log.info("Shard {} with {} rows from row {} is run by worker {} as command {}",
+          shard.name(), shard.numberOfRows(), shard.firstRowIndex(),
+          shard.worker(), shardCommand);
+      commandsOfShards.put(shard, shardCommand);
+    }
+
+    long totalRows = shards.stream().mapToLong(Shard::numberOfRows).sum();
+    while (true) {
+      boolean allFinished = true;
+      double rowsDone = 0d;
+      for (Map.Entry<Shard, UUID> shardCommand : commandsOfShards.entrySet()) {
+        Shard shard = shardCommand.getKey();
+        JsonNode status = getStatus(shard.worker(), shardCommand.getValue());
+        String shardStatus = status.path("status").asText("");
+        if (Command.CommandStatus.FAILED.name().equals(shardStatus)) {
+          throw new IllegalStateException("Shard " + shard.name() + " failed on worker " +
+              shard.worker() + " with error: " + status.path("commandComment").asText(""));
+        }
+        if (Command.CommandStatus.FINISHED.name().equals(shardStatus)) {
+          rowsDone += shard.numberOfRows();
+        } else {
+          allFinished = false;
+          rowsDone += shard.numberOfRows() * status.path("progress").asDouble(0d) / 100d;
+        }
+      }
+      command.setProgress(totalRows == 0 ? 100d : rowsDone / totalRows * 100d);
+      onProgress.run();
+      if (allFinished) {
+        return totalRows;
+      }
+      Thread.sleep(POLL_INTERVAL_MS);
+    }
+  }
+
+  private UUID submit(Command command, Shard shard,
+                      Map<String, Long> incrementOrigins) {
+    MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+    body.add("model_file", new FileSystemResource(command.getModelFilePath()));
+    body.add("threads", command.getNumberOfThreads());
+    body.add("batches", shard.numberOfBatches());
+    body.add("rows", shard.rowsPerBatch());
+    body.add("first_row", shard.firstRowIndex());
+    body.add("shard", shard.name());
+    command.getConnectorsList().forEach(c -> body.add("connectors", c.name()));
+    command.getProperties().forEach((config, value) -> {
+      if (PROPERTIES_FORWARDED.contains(config) && value != null && !value.isBlank()) {
+        body.add("properties", config.name() + "=" + value);
+      }
+    });
+    if (!incrementOrigins.isEmpty()) {
+      body.add("properties", ApplicationConfigs.GENERATION_SHARD_INCREMENT_ORIGINS.name() +
+          "=" + formatIncrementOrigins(incrementOrigins));
+    }
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+    headers.set("Authorization", authHeader);
+    String response = restTemplate.postForObject(
+        shard.worker() + "/api/v1/datagen/shard",
+        new HttpEntity<>(body, headers), String.class);
+
+    JsonNode responseAsJson = readJson(shard.worker(), response);
+    String shardCommand = responseAsJson.path("commandUuid").asText("");
+    if (shardCommand.isBlank()) {
+      throw new IllegalStateException("Worker " + shard.worker() +
+          " refused shard " + shard.name() + " with error: " +
+          responseAsJson.path("error").asText(""));
+    }
+    return UUID.fromString(shardCommand);
+  }
+
+  // Format is: field:origin,field:origin
+  static String formatIncrementOrigins(Map<String, Long> incrementOrigins) {
+    StringJoiner origins = new StringJoiner(",");
+    incrementOrigins.forEach((field, origin) -> origins.add(field + ":" + origin));
+    return origins.toString();
+  }
+
+  /**
+   * @return origins of increment fields sent to a shard, by field name, null if there are none
+   */
+  static Map<String, Long> parseIncrementOrigins(String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    Map<String, Long> incrementOrigins = new HashMap<>();
+    for (String fieldOrigin : value.split(",")) {
+      int separator = fieldOrigin.lastIndexOf(':');
+      incrementOrigins.put(fieldOrigin.substring(0, separator).trim(),
+          Long.parseLong(fieldOrigin.substring(separator + 1).trim()));
+    }
+    return incrementOrigins;
+  }
+
+  private JsonNode getStatus(String worker, UUID shardCommand) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+    headers.set("Authorization", authHeader);
+    String response = restTemplate.postForObject(
+        worker + "/api/v1/command/getCommandStatus?commandUuid=" + shardCommand,
+        new HttpEntity<>(headers), String.class);
+    return readJson(worker, response);
+  }
+
+  private JsonNode readJson(String worker, String response) {
+    try {
+      return objectMapper.readTree(response == null ? "{}" : response);
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          "Could not read response of worker " + worker + ": " + response, e);
+    }
+  }
+
+}
@@ -0,0 +1,206 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import com.datagen.model.Model;
+import com.datagen.model.Row;
+import com.datagen.model.RowBatch;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Rows written to a local file while a connector is too slow to take them, and read back when it catches up
+ * Batches of rows stored by columns are written column by column, so values picked in a dictionary are written as
+ * their ordinal and dictionaries are never read again
+ * Rows are written value by value, values must then be serializable
+ */
+class SpillFile {
+
+  private final Model model;
+  private final int[] fieldsWritten;
+
+  SpillFile(Model model) {
+    this.model = model;
+    this.fieldsWritten = IntStream.range(0, model.getFields().size())
+        .filter(model::isFieldGenerated).toArray();
+  }
+
+  void write(List<Row> rows, Path path) {
+    try (ObjectOutputStream out = open(path)) {
+      out.writeInt(rows.size());
+      for (Row row : rows) {
+        for (int index : fieldsWritten) {
+          out.writeObject(serializable(row.getValue(index)));
+        }
+      }
+    } catch (NotSerializableException e) {
+      throw notSerializable(e);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not spill rows to file: " + path, e);
+    }
+  }
+
+  List<Row> read(Path path) {
+    try (ObjectInputStream in = openForRead(path)) {
+      int size = in.readInt();
+      List<Row> rows = new ArrayList<>(size);
+      for (int r = 0; r < size; r++) {
+        Row row = new Row(model);
+        for (int index : fieldsWritten) {
+          row.setValue(index, in.readObject());
+        }
+        rows.add(row);
+      }
+      return rows;
+    } catch (IOException | ClassNotFoundException e) {
+      throw new IllegalStateException("Could not read rows spilled to file: " + path, e);
+    }
+  }
+
+  void write(RowBatch rowBatch, Path path) {
+    try (ObjectOutputStream out = open(path)) {
+      int size = rowBatch.getSize();
+      out.writeInt(size);
+      RowBatch.ColumnType[] columnTypes = rowBatch.getColumnTypes();
+      for (int c = 0; c < columnTypes.length; c++) {
+        switch (columnTypes[c]) {
+        case INTEGER, LONG, BOOLEAN -> {
+          long[] values = rowBatch.getLongColumn(c);
+          for (int r = 0; r < size; r++) {
+            out.writeLong(values[r]);
+          }
+        }
+        case FLOAT -> {
+          double[] values = rowBatch.getDoubleColumn(c);
+          for (int r = 0; r < size; r++) {
+            out.writeDouble(values[r]);
+          }
+        }
+        case STRING, BYTES -> {
+          byte[][] values = rowBatch.getBytesColumn(c);
+          for (int r = 0; r < size; r++) {
+            if (values[r] == null) {
+              out.writeInt(-1);
+            } else {
+              out.writeInt(values[r].length);
+              out.write(values[r]);
+            }
+          }
+        }
+        case DICTIONARY -> {
+          int[] ordinals = rowBatch.getDictionaryColumn(c);
+          for (int r = 0; r < size; r++) {
+            out.writeInt(ordinals[r]);
+          }
+        }
+        case UNUSED -> { }
+        default -> {
+          Object[] values = rowBatch.getObjectColumn(c);
+          for (int r = 0; r < size; r++) {
+            out.writeObject(serializable(values[r]));
+          }
+        }
+        }
+      }
+    } catch (NotSerializableException e) {
+      throw notSerializable(e);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not spill rows to file: " + path, e);
+    }
+  }
+
+  RowBatch readRowBatch(Path path) {
+    try (ObjectInputStream in = openForRead(path)) {
+      int size = in.readInt();
+      RowBatch rowBatch = new RowBatch(model, size);
+      RowBatch.ColumnType[] columnTypes = rowBatch.getColumnTypes();
+      for (int c = 0; c < columnTypes.length; c++) {
+        switch (columnTypes[c]) {
+        case INTEGER, LONG, BOOLEAN -> {
+          long[] values = rowBatch.getLongColumn(c);
+          for (int r = 0; r < size; r++) {
+            values[r] = in.readLong();
+          }
+        }
+        case FLOAT -> {
+          double[] values = rowBatch.getDoubleColumn(c);
+          for (int r = 0; r < size; r++) {
+            values[r] = in.readDouble();
+          }
+        }
+        case STRING, BYTES -> {
+          byte[][] values = rowBatch.getBytesColumn(c);
+          for (int r = 0; r < size; r++) {
+            int length = in.readInt();
+            if (length >= 0) {
+              values[r] = new byte[length];
+              in.readFully(values[r]);
+            }
+          }
+        }
+        case DICTIONARY -> {
+          int[] ordinals = rowBatch.getDictionaryColumn(c);
+          for (int r = 0; r < size; r++) {
+            ordinals[r] = in.readInt();
+          }
+        }
+        case UNUSED -> { }
+        default -> {
+          Object[] values = rowBatch.getObjectColumn(c);
+          for (int r = 0; r < size; r++) {
+            values[r] = in.readObject();
+          }
+        }
+        }
+      }
+      rowBatch.setFilled(size);
+      return rowBatch;
+    } catch (IOException | ClassNotFoundException e) {
+      throw new IllegalStateException("Could not read rows spilled to file: " + path, e);
+    }
+  }
+
+  // Rows of a CSV dictionary are views on it, they are copied to be written on their own
+  private static Object serializable(Object value) {
+    if (value instanceof Map<?, ?> map && !(value instanceof Serializable)) {
+      return new LinkedHashMap<>(map);
+    }
+    return value;
+  }
+
+  private IllegalStateException notSerializable(NotSerializableException e) {
+    return new IllegalStateException(
+        "Rows of model " + model.getName() + " can not be spilled to disk, a value is not serializable: " +
+            e.getMessage(), e);
+  }
+
+  private static ObjectOutputStream open(Path path) throws IOException {
+    return new ObjectOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(path)));
+  }
+
+  private static ObjectInputStream openForRead(Path path) throws IOException {
+    return new ObjectInputStream(
+        new BufferedInputStream(Files.newInputStream(path)));
+  }
+
+}
@@ -6,9 +6,11 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.LinkedList;
-import java.util.Map;
+import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -58,14 +60,19 @@ public class ParsingUtils {
   return stringParsed;
   }
 
+  // Names of the fields injected in fragments
+  public static Set<String> getVariableNames(List<StringFragment> fragments) {
+    return fragments.stream().filter(f -> f.isAVariableToReplace)
+        .map(f -> f.variableName).collect(Collectors.toSet());
+  }
+
   // Evaluate fragments by injecting in it
   public static String injectRowValuesToAString(Row row, LinkedList<StringFragment> fragments) {
-    Map<String, Object> rowValues = row.getValues();
     Model model = row.getModel();
 
     return fragments.stream().map(f -> {
       if(f.isAVariableToReplace) {
-       return model.getFieldFromName(f.variableName).toStringValue(rowValues.get(f.variableName));
+       return model.getFieldFromName(f.variableName).toStringValue(row.getValue(f.variableName));
       } else  {
        return f.stringToPrint;
       }
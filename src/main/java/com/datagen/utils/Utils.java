@@ -33,10 +33,11 @@ import org.w3c.dom.NodeList;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 @Slf4j
 public class Utils {
@@ -45,6 +46,13 @@ public class Utils {
     throw new IllegalStateException("Could not initialize this class");
   }
 
+  // chose a Character random from this String
+  private static final String alphaNumericString = "ABCDEFGHIJKLMNOPQRSTUVWXYZ"
+      + "0123456789"
+      + "abcdefghijklmnopqrstuvxyz";
+  private static final byte[] alphaNumericBytes =
+      alphaNumericString.getBytes(StandardCharsets.US_ASCII);
+
   private static final long oneHour = 1000 * 60 * 60;
   private static final long oneMinute = 1000 * 60;
 
@@ -55,14 +63,10 @@ public class Utils {
    * Generates a random AlphaNumeric string of specified length
    *
    * @param n      equals length of the string to generate
-   * @param random Random object used to generate random string
+   * @param random random generator used to generate random string
    * @return
    */
-  public static String getAlphaNumericString(int n, Random random) {
-    // chose a Character random from this String
-    String alphaNumericString = "ABCDEFGHIJKLMNOPQRSTUVWXYZ"
-        + "0123456789"
-        + "abcdefghijklmnopqrstuvxyz";
+  public static String getAlphaNumericString(int n, RandomGenerator random) {
     // create StringBuffer size of alphaNumericString
     StringBuilder sb = new StringBuilder(n);
     for (int i = 0; i < n; i++) {
@@ -78,6 +82,17 @@ public class Utils {
     return sb.toString();
   }
 
+  /**
+   * Same string as getAlphaNumericString() (for the same random generator), directly encoded in UTF-8
+   */
+  public static byte[] getAlphaNumericBytes(int n, RandomGenerator random) {
+    byte[] bytes = new byte[n];
+    for (int i = 0; i < n; i++) {
+      bytes[i] = alphaNumericBytes[(int) (alphaNumericBytes.length * random.nextDouble())];
+    }
+    return bytes;
+  }
+
 
   /**
    * Setup haddop env by setting up needed Hadoop system property and adding to configuration required files
@@ -1738,6 +1738,14 @@ public class ModelsCreationView extends Composite<VerticalLayout> {
             createInfoForAParameter(
                 createGenericStringOptionProps("HBase Column Families Mapping", null,
                     OptionsConverter.Options.HBASE_COLUMN_FAMILIES_MAPPING, optionsPropsBinder),
+                ""),
+            createInfoForAParameter(
+                createGenericIntegerOptionProps("HBase Flush Size (rows)", null,
+                    OptionsConverter.Options.HBASE_FLUSH_SIZE, optionsPropsBinder),
+                ""),
+            createInfoForAParameter(
+                createGenericIntegerOptionProps("HBase Flush Interval (ms)", null,
+                    OptionsConverter.Options.HBASE_FLUSH_INTERVAL_MS, optionsPropsBinder),
                 "")
         )
     );
@@ -1816,6 +1824,14 @@ public class ModelsCreationView extends Composite<VerticalLayout> {
             createInfoForAParameter(
                 createGenericStringOptionProps("Kudu Primary Keys", null,
                     OptionsConverter.Options.KUDU_PRIMARY_KEYS, optionsPropsBinder),
+                ""),
+            createInfoForAParameter(
+                createGenericIntegerOptionProps("Kudu Flush Size (rows)", null,
+                    OptionsConverter.Options.KUDU_FLUSH_SIZE, optionsPropsBinder),
+                ""),
+            createInfoForAParameter(
+                createGenericIntegerOptionProps("Kudu Flush Interval (ms)", null,
+                    OptionsConverter.Options.KUDU_FLUSH_INTERVAL_MS, optionsPropsBinder),
                 "")
         )
     );
@@ -1839,6 +1855,14 @@ public class ModelsCreationView extends Composite<VerticalLayout> {
             createInfoForAParameter(
                 createGenericStringOptionProps("SOLR JaaS File Path", null,
                     OptionsConverter.Options.SOLR_JAAS_FILE_PATH, optionsPropsBinder),
+                ""),
+            createInfoForAParameter(
+                createGenericIntegerOptionProps("SolR Flush Size (rows)", null,
+                    OptionsConverter.Options.SOLR_FLUSH_SIZE, optionsPropsBinder),
+                ""),
+            createInfoForAParameter(
+                createGenericIntegerOptionProps("SolR Flush Interval (ms)", null,
+                    OptionsConverter.Options.SOLR_FLUSH_INTERVAL_MS, optionsPropsBinder),
                 "")
         )
     );
@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Random values generated in bulk with the Vector API (jdk.incubator.vector), one SplitMix64 generator per lane
+ * It is only built with profile vector (mvn -Pvector), as incubator modules make the compiler warn,
+ * and loaded by BulkRandom only when the module is present, other values are generated by BulkRandom
+ */
+final class VectorBulkRandom implements BulkFiller {
+
+  private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+  // As many lanes of floats as of longs
+  private static final VectorSpecies<Float> FLOATS = VectorSpecies.of(float.class,
+      VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+  private static final int LANES = LONGS.length();
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  private static final float FLOAT_UNIT = 0x1.0p-24f;
+
+  // Created by BulkRandom through reflection, as this class is not always built
+  VectorBulkRandom() {}
+
+  @Override
+  public int lanes() {
+    return LANES;
+  }
+
+  /**
+   * Fill values[from, from + count) with longs in [origin, bound), origin being lower than bound
+   * Values are unbiased: bits above the range are dropped and values still out of it drawn again
+   * @return number of values filled (a multiple of lanes), remaining ones are left to the caller
+   */
+  @Override
+  public int fillLongs(RandomGenerator random, long[] values, int from, int count,
+                       long origin, long bound) {
+    int filled = count - count % LANES;
+    if (filled == 0) {
+      return 0;
+    }
+    long range = bound - origin;
+    if (range == 1L) {
+      Arrays.fill(values, from, from + filled, origin);
+      return filled;
+    }
+    LongVector state = seed(random);
+    LongVector rangeVector = LongVector.broadcast(LONGS, range);
+    // Power of 2 ranges never need to draw again
+    int shift = Long.numberOfLeadingZeros(range - 1);
+    for (int row = from; row < from + filled; row += LANES) {
+      state = state.add(GOLDEN_GAMMA);
+      LongVector candidates = mix64(state).lanewise(VectorOperators.LSHR, shift);
+      VectorMask<Long> rejected =
+          candidates.compare(VectorOperators.UNSIGNED_GE, rangeVector);
+      while (rejected.anyTrue()) {
+        state = state.add(GOLDEN_GAMMA);
+        LongVector drawnAgain = mix64(state).lanewise(VectorOperators.LSHR, shift);
+        candidates = candidates.blend(drawnAgain, rejected);
+        rejected = candidates.compare(VectorOperators.UNSIGNED_GE, rangeVector);
+      }
+      candidates.add(origin).intoArray(values, row);
+    }
+    return filled;
+  }
+
+  /**
+   * Fill values[from, from + count) with floats in [0, 1) added to longs in [origin, bound)
+   * @return number of values filled (a multiple of lanes), remaining ones are left to the caller
+   */
+  @Override
+  public int fillFloats(RandomGenerator random, double[] values, int from, int count,
+                        long origin, long bound) {
+    int filled = count - count % LANES;
+    if (filled == 0) {
+      return 0;
+    }
+    long[] bases = new long[filled];
+    fillLongs(random, bases, 0, filled, origin, bound);
+    LongVector state = seed(random);
+    for (int i = 0; i < filled; i += LANES) {
+      state = state.add(GOLDEN_GAMMA);
+      // Same 24 bits precision as SplittableRandom.nextFloat()
+      FloatVector fraction = (FloatVector) mix64(state)
+          .lanewise(VectorOperators.LSHR, 40)
+          .convertShape(VectorOperators.L2F, FLOATS, 0);
+      FloatVector base = (FloatVector) LongVector.fromArray(LONGS, bases, i)
+          .convertShape(VectorOperators.L2F, FLOATS, 0);
+      // Added as floats, so sums are rounded as the ones of values generated one by one
+      ((DoubleVector) fraction.mul(FLOAT_UNIT).add(base)
+          .convertShape(VectorOperators.F2D, DOUBLES, 0))
+          .intoArray(values, from + i);
+    }
+    return filled;
+  }
+
+  /**
+   * Fill values[from, from + count) with 0 or 1, each random long giving 64 of them
+   * @return number of values filled (a multiple of 64 * lanes), remaining ones are left to the caller
+   */
+  @Override
+  public int fillBooleans(RandomGenerator random, long[] values, int from, int count) {
+    int block = Long.SIZE * LANES;
+    int filled = count - count % block;
+    if (filled == 0) {
+      return 0;
+    }
+    LongVector state = seed(random);
+    for (int row = from; row < from + filled; row += block) {
+      state = state.add(GOLDEN_GAMMA);
+      LongVector bits = mix64(state);
+      for (int bit = 0; bit < Long.SIZE; bit++) {
+        bits.lanewise(VectorOperators.LSHR, bit).and(1L)
+            .intoArray(values, row + bit * LANES);
+      }
+    }
+    return filled;
+  }
+
+  // Each lane starts from its own seed, taken from the random generator of the task
+  private static LongVector seed(RandomGenerator random) {
+    long[] seeds = new long[LANES];
+    for (int i = 0; i < LANES; i++) {
+      seeds[i] = random.nextLong();
+    }
+    return LongVector.fromArray(LONGS, seeds, 0);
+  }
+
+  // Finalizer of SplitMix64, as used by SplittableRandom
+  private static LongVector mix64(LongVector z) {
+    z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 30))
+        .mul(0xbf58476d1ce4e5b9L);
+    z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 27))
+        .mul(0x94d049bb133111ebL);
+    return z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 31));
+  }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.connector;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class MicroBatcherTest {
+
+  @Test
+  public void itemsAreWrittenBySize() {
+    List<List<Integer>> writes = new ArrayList<>();
+    MicroBatcher<Integer> batcher = new MicroBatcher<>("test", 4, 0, writes::add);
+
+    batcher.add(range(0, 3));
+    Assert.assertTrue(writes.isEmpty());
+    batcher.add(range(3, 10));
+
+    Assert.assertEquals(List.of(range(0, 4), range(4, 8)), writes);
+  }
+
+  @Test
+  public void pendingItemsAreWrittenByFlush() {
+    List<List<Integer>> writes = new ArrayList<>();
+    MicroBatcher<Integer> batcher = new MicroBatcher<>("test", 4, 0, writes::add);
+
+    batcher.add(range(0, 6));
+    batcher.flush();
+    // Nothing is written when nothing is pending
+    batcher.flush();
+
+    Assert.assertEquals(List.of(range(0, 4), range(4, 6)), writes);
+  }
+
+  @Test
+  public void pendingItemsAreWrittenByClose() {
+    List<List<Integer>> writes = new ArrayList<>();
+    MicroBatcher<Integer> batcher = new MicroBatcher<>("test", 100, 60_000, writes::add);
+
+    batcher.add(range(0, 5));
+    Assert.assertTrue(writes.isEmpty());
+    batcher.close();
+
+    Assert.assertEquals(List.of(range(0, 5)), writes);
+  }
+
+  @Test
+  public void pendingItemsAreWrittenByTimer() throws InterruptedException {
+    List<List<Integer>> writes = Collections.synchronizedList(new ArrayList<>());
+    MicroBatcher<Integer> batcher = new MicroBatcher<>("test", 100, 50, writes::add);
+
+    batcher.add(range(0, 5));
+    // No more items are added, so only the timer can write them
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (writes.isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    batcher.close();
+
+    Assert.assertEquals(List.of(range(0, 5)), writes);
+  }
+
+  @Test
+  public void failedWriteDoesNotStopTimer() throws InterruptedException {
+    List<List<Integer>> writes = Collections.synchronizedList(new ArrayList<>());
+    MicroBatcher<Integer> batcher = new MicroBatcher<>("test", 100, 50, items -> {
+      if (items.contains(0)) {
+        throw new IllegalStateException("Connector is not available");
+      }
+      writes.add(items);
+    });
+
+    batcher.add(range(0, 2));
+    Thread.sleep(200);
+    batcher.add(range(2, 4));
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (writes.isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    batcher.close();
+
+    Assert.assertEquals(List.of(range(2, 4)), writes);
+  }
+
+  private static List<Integer> range(int from, int to) {
+    return IntStream.range(from, to).boxed().collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public class AliasTableTest {
+
+  private static final int SAMPLES = 200_000;
+
+  @Test
+  public void valuesArePickedAccordingToWeights() {
+    double[] weights = {1d, 2d, 3d, 4d, 90d};
+    AliasTable<String> table =
+        new AliasTable<>(List.of("a", "b", "c", "d", "e"), weights);
+
+    double[] frequencies = frequencies(table, new SplittableRandom(42L));
+
+    for (int i = 0; i < weights.length; i++) {
+      Assert.assertEquals("Frequency of " + table.getValues().get(i),
+          weights[i] / 100d, frequencies[i], 0.01d);
+    }
+  }
+
+  @Test
+  public void valuesWithoutPositiveWeightAreNeverPicked() {
+    AliasTable<String> table = new AliasTable<>(List.of("a", "b", "c", "d"),
+        new double[] {0d, 5d, -3d, 5d});
+
+    double[] frequencies = frequencies(table, new SplittableRandom(42L));
+
+    Assert.assertEquals(0d, frequencies[0], 0d);
+    Assert.assertEquals(0d, frequencies[2], 0d);
+    Assert.assertEquals(0.5d, frequencies[1], 0.01d);
+    Assert.assertEquals(0.5d, frequencies[3], 0.01d);
+  }
+
+  @Test
+  public void weightsOfValuesEqualOnceConvertedAreAdded() {
+    Map<String, Long> weightedValues = new LinkedHashMap<>();
+    weightedValues.put("1", 10L);
+    weightedValues.put("01", 20L);
+    weightedValues.put("2", 70L);
+    weightedValues.put("3", 0L);
+    AliasTable<Long> table = AliasTable.fromWeightedValues(weightedValues, Long::valueOf);
+
+    Assert.assertEquals(List.of(1L, 2L), table.getValues());
+    Assert.assertEquals(30d, table.getWeight(0), 0d);
+    Assert.assertEquals(70d, table.getWeight(1), 0d);
+
+    double[] frequencies = frequencies(table, new SplittableRandom(42L));
+    Assert.assertEquals(0.3d, frequencies[0], 0.01d);
+    Assert.assertEquals(0.7d, frequencies[1], 0.01d);
+  }
+
+  @Test
+  public void sameWeightsAreUniform() {
+    Assert.assertTrue(new AliasTable<>(List.of("a", "b", "c"),
+        new double[] {2d, 2d, 2d}).isUniform());
+    Assert.assertFalse(new AliasTable<>(List.of("a", "b", "c"),
+        new double[] {2d, 2d, 3d}).isUniform());
+  }
+
+  @Test
+  public void tableWithoutPositiveWeightIsRejected() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new AliasTable<>(List.of("a", "b"), new double[] {0d, 0d}));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new AliasTable<>(List.of("a", "b"), new double[] {1d}));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new AliasTable<>(List.of(), new double[0]));
+  }
+
+  private static double[] frequencies(AliasTable<?> table, SplittableRandom random) {
+    double[] frequencies = new double[table.size()];
+    for (int i = 0; i < SAMPLES; i++) {
+      frequencies[table.sampleIndex(random)]++;
+    }
+    for (int i = 0; i < frequencies.length; i++) {
+      frequencies[i] /= SAMPLES;
+    }
+    return frequencies;
+  }
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare numbers generated one by one (as fields did) with the ones generated in bulk with Vector API
+ * Run it with: mvn -Pvector test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.datagen.model.BulkRandomBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class BulkRandomBenchmark {
+
+  // Rows of a batch
+  @Param({"10000"})
+  public int rows;
+
+  private SplittableRandom random;
+  private long[] longs;
+  private double[] doubles;
+
+  @Setup
+  public void setup() {
+    random = new SplittableRandom(42L);
+    longs = new long[rows];
+    doubles = new double[rows];
+  }
+
+  @Benchmark
+  public long[] intsScalar() {
+    BulkRandom.fillLongsScalar(random, longs, 0, rows, -1000L, 1000L);
+    return longs;
+  }
+
+  @Benchmark
+  public long[] intsBulk() {
+    BulkRandom.fillLongs(random, longs, 0, rows, -1000L, 1000L);
+    return longs;
+  }
+
+  @Benchmark
+  public long[] longsScalar() {
+    BulkRandom.fillLongsScalar(random, longs, 0, rows, Long.MIN_VALUE, Long.MAX_VALUE);
+    return longs;
+  }
+
+  @Benchmark
+  public long[] longsBulk() {
+    BulkRandom.fillLongs(random, longs, 0, rows, Long.MIN_VALUE, Long.MAX_VALUE);
+    return longs;
+  }
+
+  @Benchmark
+  public double[] floatsScalar() {
+    BulkRandom.fillFloatsScalar(random, doubles, 0, rows, 0L, 100L);
+    return doubles;
+  }
+
+  @Benchmark
+  public double[] floatsBulk() {
+    BulkRandom.fillFloats(random, doubles, 0, rows, 0L, 100L);
+    return doubles;
+  }
+
+  @Benchmark
+  public long[] booleansScalar() {
+    BulkRandom.fillBooleansScalar(random, longs, 0, rows);
+    return longs;
+  }
+
+  @Benchmark
+  public long[] booleansBulk() {
+    BulkRandom.fillBooleans(random, longs, 0, rows);
+    return longs;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(BulkRandomBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import com.datagen.model.type.Field;
+import com.datagen.model.type.LongField;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class GenerationPlanTest {
+
+  @Test
+  public void computedFieldsAreSortedByDependencies() {
+    // b needs c, c needs a (random), d needs nothing: c and d go first, then b
+    List<Field> fields = List.of(
+        field("a"),
+        field("b", "c"),
+        field("c", "a"),
+        field("d"));
+
+    GenerationPlan plan = GenerationPlan.compile(fields, indexesOf(fields),
+        new int[] {1, 2, 3});
+
+    Assert.assertArrayEquals(new int[] {2, 3, 1}, plan.getComputedOrder());
+  }
+
+  @Test
+  public void declarationOrderIsKeptWithoutDependencies() {
+    List<Field> fields = List.of(
+        field("a"),
+        field("b", "a"),
+        field("c", "a"),
+        field("d", "a"));
+
+    GenerationPlan plan = GenerationPlan.compile(fields, indexesOf(fields),
+        new int[] {1, 2, 3});
+
+    Assert.assertArrayEquals(new int[] {1, 2, 3}, plan.getComputedOrder());
+  }
+
+  @Test
+  public void chainOfDependenciesIsReversed() {
+    List<Field> fields = List.of(
+        field("a", "b"),
+        field("b", "c"),
+        field("c", "d"),
+        field("d"));
+
+    GenerationPlan plan = GenerationPlan.compile(fields, indexesOf(fields),
+        new int[] {0, 1, 2, 3});
+
+    Assert.assertArrayEquals(new int[] {3, 2, 1, 0}, plan.getComputedOrder());
+  }
+
+  @Test
+  public void cyclicDependenciesAreRejected() {
+    List<Field> fields = List.of(
+        field("a"),
+        field("b", "c"),
+        field("c", "d"),
+        field("d", "b"),
+        field("e", "a"));
+
+    IllegalStateException e = Assert.assertThrows(IllegalStateException.class,
+        () -> GenerationPlan.compile(fields, indexesOf(fields),
+            new int[] {1, 2, 3, 4}));
+
+    // Only fields of the cycle are reported
+    Assert.assertTrue(e.getMessage(), e.getMessage().endsWith("b c d"));
+  }
+
+  @Test
+  public void fieldReferencingItselfIsRejected() {
+    List<Field> fields = List.of(field("a"), field("b", "b"));
+
+    Assert.assertThrows(IllegalStateException.class,
+        () -> GenerationPlan.compile(fields, indexesOf(fields), new int[] {1}));
+  }
+
+  // Field referencing other fields, as a computed field would with its conditionals
+  private static Field field(String name, String... referencedFields) {
+    return new LongField(name, null, null, null) {
+      @Override
+      public Set<String> getReferencedFields() {
+        return Set.of(referencedFields);
+      }
+    };
+  }
+
+  private static Map<String, Integer> indexesOf(List<Field> fields) {
+    Map<String, Integer> indexes = new HashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      indexes.put(fields.get(i).getName(), i);
+    }
+    return indexes;
+  }
+}
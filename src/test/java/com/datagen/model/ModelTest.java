@@ -17,9 +17,22 @@
  */
 package com.datagen.model;
 
+import com.datagen.model.type.CityField;
+import com.datagen.model.type.Field;
+import com.datagen.model.type.FloatField;
+import com.datagen.model.type.IntegerField;
+import com.datagen.model.type.LongField;
+import com.datagen.model.type.StringField;
 import org.apache.log4j.Logger;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class ModelTest {
 
     private final static Logger logger = Logger.getLogger(ModelTest.class);
@@ -33,4 +46,73 @@ public class ModelTest {
                 .forEach((k,v) -> logger.warn("key : " + k + " - value: " + v)); */
 
     }
+
+    @Test
+    public void seededRowsDoNotDependOnThreads() {
+        List<String> rowsWithOneThread = rowsAsStrings(seededModel(42L).generateRandomRows(1000, 1));
+        List<String> rowsWithFourThreads = rowsAsStrings(seededModel(42L).generateRandomRows(1000, 4));
+        List<String> rowsWithSevenThreads = rowsAsStrings(seededModel(42L).generateRandomRows(1000, 7));
+
+        Assert.assertEquals(1000, rowsWithOneThread.size());
+        Assert.assertEquals(rowsWithOneThread, rowsWithFourThreads);
+        Assert.assertEquals(rowsWithOneThread, rowsWithSevenThreads);
+    }
+
+    @Test
+    public void seededRowsByChunksDoNotDependOnThreads() throws InterruptedException {
+        List<String> expectedRows = rowsAsStrings(seededModel(42L).generateRandomRows(1000, 1));
+
+        for (int threads : new int[] {1, 3, 8}) {
+            Assert.assertEquals("Rows with " + threads + " threads",
+                expectedRows, rowsByChunks(seededModel(42L), threads));
+            Assert.assertEquals("Row batches with " + threads + " threads",
+                expectedRows, rowBatchesByChunks(seededModel(42L), threads));
+        }
+    }
+
+    @Test
+    public void seededRowsDependOnSeed() {
+        Assert.assertEquals(
+            rowsAsStrings(seededModel(42L).generateRandomRows(100, 2)),
+            rowsAsStrings(seededModel(42L).generateRandomRows(100, 2)));
+        Assert.assertNotEquals(
+            rowsAsStrings(seededModel(42L).generateRandomRows(100, 2)),
+            rowsAsStrings(seededModel(43L).generateRandomRows(100, 2)));
+    }
+
+    private static Model<Field> seededModel(long seed) {
+        HashMap<String, Long> weights = new HashMap<>();
+        weights.put("1", 10L);
+        weights.put("2", 30L);
+        weights.put("3", 60L);
+        LinkedHashMap<String, Field> fields = new LinkedHashMap<>();
+        fields.put("id", new LongField("id", null, 0L, 1_000_000L));
+        fields.put("name", new StringField("name", 12, null));
+        fields.put("score", new FloatField("score", null, 0L, 100L));
+        fields.put("level", new IntegerField("level", weights, null, null));
+        fields.put("city", new CityField("city", null));
+        return new Model<>("seeded", fields, null, null,
+            Map.of("seed", String.valueOf(seed)), null);
+    }
+
+    // Small chunks and several threads, so ranges may finish in any order
+    private static List<String> rowsByChunks(Model<Field> model, int threads) throws InterruptedException {
+        List<String> rows = new ArrayList<>();
+        model.initFields();
+        model.generateRandomRowsByChunks(0L, 1000, threads, 37, 2,
+            chunk -> rows.addAll(rowsAsStrings(chunk)));
+        return rows;
+    }
+
+    private static List<String> rowBatchesByChunks(Model<Field> model, int threads) throws InterruptedException {
+        List<String> rows = new ArrayList<>();
+        model.initFields();
+        model.generateRowBatchesByChunks(0L, 1000, threads, 37, 2,
+            rowBatch -> rows.addAll(rowsAsStrings(rowBatch.toRows())));
+        return rows;
+    }
+
+    private static List<String> rowsAsStrings(List<Row> rows) {
+        return rows.stream().map(Row::toString).toList();
+    }
 }
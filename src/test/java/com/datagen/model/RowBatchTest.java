@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model;
+
+import com.datagen.model.type.BooleanField;
+import com.datagen.model.type.CityField;
+import com.datagen.model.type.Field;
+import com.datagen.model.type.FloatField;
+import com.datagen.model.type.IntegerField;
+import com.datagen.model.type.LongField;
+import com.datagen.model.type.StringAZField;
+import com.datagen.model.type.StringField;
+import com.datagen.model.type.UuidField;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+public class RowBatchTest {
+
+  private static final int ROWS = 500;
+  private static final long SEED = 42L;
+
+  @Test
+  public void rowsGeneratedByColumnAreTheSameAsRowByRow() {
+    Model<Field> model = model();
+
+    RowBatch byRow = new RowBatch(model, ROWS);
+    GenerationContext rowContext = GenerationContext.seeded(SEED).forRange(0L);
+    for (int i = 0; i < ROWS; i++) {
+      byRow.generateRow(rowContext);
+    }
+
+    RowBatch byColumn = new RowBatch(model, ROWS);
+    byColumn.generateRows(ROWS, GenerationContext.seeded(SEED).forRange(0L));
+
+    assertSameValues(byRow, byColumn);
+  }
+
+  @Test
+  public void rowsGeneratedByColumnAreTheSameAsRowsOfModel() {
+    Model<Field> model = model();
+
+    List<Row> rows = model.generateRows(ROWS, GenerationContext.seeded(SEED).forRange(0L));
+    RowBatch byColumn = new RowBatch(model, ROWS);
+    byColumn.generateRows(ROWS, GenerationContext.seeded(SEED).forRange(0L));
+
+    Assert.assertEquals(ROWS, byColumn.getSize());
+    for (int r = 0; r < ROWS; r++) {
+      for (int c = 0; c < byColumn.getColumnNames().length; c++) {
+        Assert.assertEquals("Row " + r + " of " + byColumn.getColumnNames()[c],
+            rows.get(r).getValue(c), byColumn.getValue(c, r));
+      }
+    }
+  }
+
+  @Test
+  public void rowsGeneratedInSeveralCallsAreTheSameAsInOne() {
+    Model<Field> model = model();
+
+    RowBatch inOneCall = new RowBatch(model, ROWS);
+    inOneCall.generateRows(ROWS, GenerationContext.seeded(SEED).forRange(0L));
+
+    RowBatch inThreeCalls = new RowBatch(model, ROWS);
+    GenerationContext context = GenerationContext.seeded(SEED).forRange(0L);
+    inThreeCalls.generateRows(100, context);
+    inThreeCalls.generateRow(context);
+    inThreeCalls.generateRows(ROWS - 101, context);
+
+    assertSameValues(inOneCall, inThreeCalls);
+  }
+
+  @Test
+  public void batchCanNotGetMoreRowsThanItsCapacity() {
+    RowBatch rowBatch = new RowBatch(model(), 10);
+    GenerationContext context = GenerationContext.seeded(SEED).forRange(0L);
+
+    Assert.assertThrows(IllegalStateException.class,
+        () -> rowBatch.generateRows(11, context));
+    rowBatch.generateRows(10, context);
+    Assert.assertTrue(rowBatch.isFull());
+    Assert.assertThrows(IllegalStateException.class,
+        () -> rowBatch.generateRow(context));
+  }
+
+  private static void assertSameValues(RowBatch expected, RowBatch actual) {
+    Assert.assertEquals(expected.getSize(), actual.getSize());
+    for (int r = 0; r < expected.getSize(); r++) {
+      for (int c = 0; c < expected.getColumnNames().length; c++) {
+        Assert.assertEquals("Row " + r + " of " + expected.getColumnNames()[c],
+            expected.getValue(c, r), actual.getValue(c, r));
+      }
+    }
+  }
+
+  // One field of each type of column
+  private static Model<Field> model() {
+    HashMap<String, Long> weights = new HashMap<>();
+    weights.put("low", 80L);
+    weights.put("high", 20L);
+    LinkedHashMap<String, Field> fields = new LinkedHashMap<>();
+    fields.put("id", new LongField("id", null, 0L, 1_000_000L));
+    fields.put("age", new IntegerField("age", null, 18L, 99L));
+    fields.put("score", new FloatField("score", null, 0L, 100L));
+    fields.put("active", new BooleanField("active", null));
+    fields.put("code", new StringField("code", 8, null));
+    fields.put("level", new StringField("level", null, weights));
+    fields.put("letters", new StringAZField("letters", 6, null));
+    fields.put("uuid", new UuidField("uuid"));
+    fields.put("city", new CityField("city", List.of("France")));
+    return new Model<>("row-batch", fields, null, null, null, null);
+  }
+}
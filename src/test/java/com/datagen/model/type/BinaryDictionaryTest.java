@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class BinaryDictionaryTest {
+
+  @Test
+  public void firstLineIsHeaderWhenOnlyItBreaksNumericColumn() throws IOException {
+    BinaryDictionary dictionary = BinaryDictionary.of(List.of(
+        "name;population;country",
+        "Paris;2100000;France",
+        "Lyon;500000;France",
+        "Genève;200000;Suisse"));
+
+    Assert.assertEquals(3, dictionary.size());
+    Assert.assertEquals(List.of("name", "population", "country"), dictionary.getHeader());
+    Assert.assertEquals("Paris", dictionary.getString(0, 0));
+    Assert.assertEquals("Genève", dictionary.getString(2, 0));
+    Assert.assertEquals(2100000L, dictionary.getLong(0, 1));
+    Assert.assertEquals(200000L, dictionary.getLong(2, 1));
+    // Numbers can be read as strings too
+    Assert.assertEquals("500000", dictionary.getString(1, 1));
+    Assert.assertEquals("France", dictionary.getString(1, 2));
+    Assert.assertEquals("Suisse", dictionary.getString(2, 2));
+  }
+
+  @Test
+  public void firstLineIsNotHeaderWhenItIsNumericToo() throws IOException {
+    BinaryDictionary dictionary = BinaryDictionary.of(List.of(
+        "33;France",
+        "41;Suisse"));
+
+    Assert.assertEquals(2, dictionary.size());
+    Assert.assertTrue(dictionary.getHeader().isEmpty());
+    Assert.assertEquals(33L, dictionary.getLong(0, 0));
+    Assert.assertEquals(41L, dictionary.getLong(1, 0));
+    Assert.assertEquals("France", dictionary.getString(0, 1));
+  }
+
+  @Test
+  public void firstLineIsNotHeaderWithoutNumericColumn() throws IOException {
+    BinaryDictionary dictionary = BinaryDictionary.of(List.of(
+        "name;country",
+        "Paris;France",
+        "Lyon;France"));
+
+    // Nothing tells a header from values, so it is kept as a row
+    Assert.assertEquals(3, dictionary.size());
+    Assert.assertTrue(dictionary.getHeader().isEmpty());
+    Assert.assertEquals("name", dictionary.getString(0, 0));
+    Assert.assertEquals("Lyon", dictionary.getString(2, 0));
+    Assert.assertEquals("France", dictionary.getString(2, 1));
+  }
+
+  @Test
+  public void valuesNotReadBackTheSameAsNumbersAreStrings() throws IOException {
+    BinaryDictionary dictionary = BinaryDictionary.of(List.of(
+        "code",
+        "007",
+        "+33",
+        "42"));
+
+    Assert.assertEquals(4, dictionary.size());
+    Assert.assertTrue(dictionary.getHeader().isEmpty());
+    Assert.assertEquals("007", dictionary.getString(1, 0));
+    Assert.assertEquals("+33", dictionary.getString(2, 0));
+    Assert.assertEquals(42L, dictionary.getLong(3, 0));
+  }
+
+  @Test
+  public void missingValuesAreEmptyStrings() throws IOException {
+    BinaryDictionary dictionary = BinaryDictionary.of(List.of(
+        "Paris;France;75",
+        "Lyon"));
+
+    Assert.assertEquals(2, dictionary.size());
+    Assert.assertEquals("", dictionary.getString(1, 1));
+    Assert.assertEquals("", dictionary.getString(1, 2));
+    Assert.assertEquals("75", dictionary.getString(0, 2));
+  }
+
+  @Test
+  public void singleLineIsNeverHeader() throws IOException {
+    BinaryDictionary dictionary = BinaryDictionary.of(List.of("name;1"));
+
+    Assert.assertEquals(1, dictionary.size());
+    Assert.assertTrue(dictionary.getHeader().isEmpty());
+    Assert.assertEquals("name", dictionary.getString(0, 0));
+    Assert.assertEquals(1L, dictionary.getLong(0, 1));
+  }
+
+  @Test
+  public void emptyDictionaryHasNoRows() throws IOException {
+    BinaryDictionary dictionary = BinaryDictionary.of(List.of());
+
+    Assert.assertEquals(0, dictionary.size());
+    Assert.assertTrue(dictionary.getHeader().isEmpty());
+  }
+
+  @Test
+  public void loadedDictionaryHasSameValuesAsItsText() throws IOException {
+    String resource = "dictionaries/phone-country-codes.csv";
+    List<String> lines;
+    try (InputStream is = getClass().getClassLoader().getResourceAsStream(resource)) {
+      Assert.assertNotNull(is);
+      lines = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))
+          .lines().toList();
+    }
+
+    // Compiled by the build if it ran, compiled from its text otherwise
+    BinaryDictionary loaded = BinaryDictionary.load(resource);
+    BinaryDictionary compiled = BinaryDictionary.of(lines);
+
+    Assert.assertEquals(lines.size(), loaded.size());
+    Assert.assertEquals(compiled.size(), loaded.size());
+    Assert.assertEquals(compiled.getHeader(), loaded.getHeader());
+    for (int r = 0; r < loaded.size(); r++) {
+      String[] values = lines.get(r).split(";", -1);
+      for (int c = 0; c < values.length; c++) {
+        Assert.assertEquals(values[c], loaded.getString(r, c));
+      }
+    }
+  }
+
+  @Test
+  public void loadingUnknownDictionaryFails() {
+    Assert.assertThrows(FileNotFoundException.class,
+        () -> BinaryDictionary.load("dictionaries/unknown.csv"));
+  }
+}
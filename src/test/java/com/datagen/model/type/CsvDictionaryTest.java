@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class CsvDictionaryTest {
+
+  private static final String CSV = String.join("\n",
+      "name;country;team",
+      "Alice;France;red",
+      "Bob;Germany;blue",
+      "Chloé;france;blue",
+      "Dan;France",
+      "Eve;Spain;red");
+
+  @Test
+  public void allRowsAreReturnedWithoutFilters() throws IOException {
+    CsvDictionary dictionary = load(CSV);
+
+    Assert.assertEquals(List.of("name", "country", "team"), dictionary.getColumnNames());
+    Assert.assertEquals(5, dictionary.size());
+    Assert.assertEquals(5, dictionary.rows(null).size());
+    Assert.assertEquals(5, dictionary.rows(List.of()).size());
+    Assert.assertEquals(Map.of("name", "Alice", "country", "France", "team", "red"),
+        dictionary.rows(null).get(0));
+  }
+
+  @Test
+  public void filterIsCaseInsensitiveOnValue() throws IOException {
+    CsvDictionary dictionary = load(CSV);
+
+    Assert.assertEquals(List.of("Alice", "Chloé", "Dan"),
+        namesOf(dictionary.rows(List.of("country=FRANCE"))));
+  }
+
+  @Test
+  public void allFiltersMustMatch() throws IOException {
+    CsvDictionary dictionary = load(CSV);
+
+    Assert.assertEquals(List.of("Chloé"),
+        namesOf(dictionary.rows(List.of("country=France", "team=blue"))));
+    Assert.assertEquals(List.of(),
+        namesOf(dictionary.rows(List.of("country=Spain", "team=blue"))));
+  }
+
+  @Test
+  public void filterOnUnknownColumnFails() throws IOException {
+    CsvDictionary dictionary = load(CSV);
+
+    // Nothing could be picked in an empty list of rows, so fields using it fall back to their default value
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> dictionary.rows(List.of("city=Paris")));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> dictionary.rows(List.of("country=France", "city=Paris")));
+    // Failure is not kept, other filters still work
+    Assert.assertEquals(3, dictionary.rows(List.of("country=France")).size());
+  }
+
+  @Test
+  public void missingValuesAreNull() throws IOException {
+    CsvDictionary dictionary = load(CSV);
+    Map<String, String> dan = dictionary.rows(List.of("name=Dan")).get(0);
+
+    Assert.assertNull(dan.get("team"));
+    Assert.assertFalse(dan.containsKey("team"));
+    Assert.assertEquals(Map.of("name", "Dan", "country", "France"), dan);
+    // A missing value does not match a filter
+    Assert.assertEquals(List.of("Bob", "Chloé"),
+        namesOf(dictionary.rows(List.of("team=blue"))));
+  }
+
+  @Test
+  public void filteredRowsAreComputedOnce() throws IOException {
+    CsvDictionary dictionary = load(CSV);
+
+    Assert.assertSame(dictionary.rows(List.of("country=France")),
+        dictionary.rows(List.of("country=France")));
+  }
+
+  @Test
+  public void lineWithTooManyValuesIsRejected() {
+    Assert.assertThrows(IOException.class,
+        () -> load("name;country\nAlice;France;red"));
+  }
+
+  private static CsvDictionary load(String content) throws IOException {
+    Path file = Files.createTempFile("datagen-csv-dictionary-test-", ".csv");
+    try {
+      Files.writeString(file, content);
+      return CsvDictionary.load(file.toString(), ";");
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static List<String> namesOf(List<Map<String, String>> rows) {
+    return rows.stream().map(row -> row.get("name")).toList();
+  }
+}
@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import com.datagen.model.GenerationContext;
+import com.datagen.model.Model;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class IncrementCounterTest {
+
+  @Test
+  public void orderedValuesFollowRows() {
+    IncrementCounter counter = new IncrementCounter(0L);
+
+    Assert.assertEquals(List.of(1L, 2L, 3L, 4L, 5L), values(counter, 0, 5));
+    Assert.assertEquals(5L, counter.getLast());
+  }
+
+  @Test
+  public void resumedExecutionStartsAfterLastValue() {
+    IncrementCounter counter = new IncrementCounter(0L);
+    values(counter, 0, 5);
+
+    // As done when a model generates rows again
+    counter.restore(counter.getLast());
+    Assert.assertEquals(List.of(6L, 7L, 8L), values(counter, 0, 3));
+    Assert.assertEquals(8L, counter.getLast());
+
+    // Without previous values, counter starts again from its min
+    counter.restore(null);
+    Assert.assertEquals(List.of(1L, 2L), values(counter, 0, 2));
+  }
+
+  @Test
+  public void shardsWithSameOriginDoNotOverlap() {
+    // Each worker has its own counter, coordinator sends them the same origin
+    IncrementCounter firstShard = new IncrementCounter(0L);
+    IncrementCounter secondShard = new IncrementCounter(0L);
+    firstShard.restore(100L);
+    secondShard.restore(100L);
+    firstShard.startAtRow(0L);
+    secondShard.startAtRow(10L);
+
+    List<Long> values = new ArrayList<>(values(firstShard, 0, 10));
+    values.addAll(values(secondShard, 10, 10));
+
+    for (int i = 0; i < values.size(); i++) {
+      Assert.assertEquals(101L + i, (long) values.get(i));
+    }
+    Assert.assertEquals(110L, firstShard.getLast());
+    Assert.assertEquals(120L, secondShard.getLast());
+  }
+
+  @Test
+  public void unorderedShardsWithSameOriginDoNotOverlap() {
+    IncrementCounter firstShard = new IncrementCounter(0L);
+    IncrementCounter secondShard = new IncrementCounter(0L);
+    firstShard.setOrdered(false);
+    secondShard.setOrdered(false);
+    firstShard.restore(100L);
+    secondShard.restore(100L);
+    firstShard.startAtRow(0L);
+    secondShard.startAtRow(10L);
+
+    Assert.assertEquals(List.of(101L, 102L, 103L), values(firstShard, 0, 3));
+    Assert.assertEquals(List.of(111L, 112L, 113L), values(secondShard, 10, 3));
+  }
+
+  @Test
+  public void valuesOfColumnAreTheSameAsRowByRow() {
+    IncrementCounter counter = new IncrementCounter(10L);
+    counter.restore(50L);
+    GenerationContext context = unseededContext().forRange(20L);
+    long[] column = new long[8];
+
+    counter.next(column, 3, 5, context);
+
+    Assert.assertArrayEquals(new long[] {0L, 0L, 0L, 71L, 72L, 73L, 74L, 75L}, column);
+    Assert.assertEquals(List.of(71L, 72L, 73L, 74L, 75L), values(counter, 20, 5));
+  }
+
+  @Test
+  public void orderedValuesFollowRowsAcrossChunks() throws InterruptedException {
+    LinkedHashMap<String, Field> fields = new LinkedHashMap<>();
+    fields.put("id", new IncrementLongField("id", 0L));
+    fields.put("amount", new LongField("amount", null, 0L, 100L));
+    Model<Field> model = new Model<>("increments", fields, null, null, null, null);
+
+    for (int execution = 0; execution < 2; execution++) {
+      long firstValue = 1L + execution * 2000L;
+      model.startIncrementCounters(model.getIncrementCounters());
+      model.initFields();
+      // Small chunks and several threads, so ranges may finish in any order
+      for (String generation : List.of("rows", "row batches")) {
+        List<Long> ids = new ArrayList<>();
+        if (generation.equals("rows")) {
+          model.generateRandomRowsByChunks(0L, 1000, 4, 25, 2,
+              chunk -> chunk.forEach(row -> ids.add((Long) row.getValue("id"))));
+        } else {
+          model.generateRowBatchesByChunks(1000L, 1000, 4, 25, 2,
+              rowBatch -> {
+                for (int r = 0; r < rowBatch.getSize(); r++) {
+                  ids.add((Long) rowBatch.getValue(0, r));
+                }
+              });
+        }
+        long expectedFirstValue = generation.equals("rows") ? firstValue : firstValue + 1000L;
+        for (int i = 0; i < ids.size(); i++) {
+          Assert.assertEquals(generation + ", value " + i, expectedFirstValue + i, (long) ids.get(i));
+        }
+        Assert.assertEquals(1000, ids.size());
+      }
+    }
+  }
+
+  @Test
+  public void seededValuesOnlyDependOnRow() {
+    IncrementCounter counter = new IncrementCounter(10L);
+    counter.restore(500L);
+    GenerationContext context = GenerationContext.seeded(42L).forRange(4L);
+    context.nextRow();
+
+    Assert.assertEquals(15L, counter.next(context));
+  }
+
+  @Test
+  public void valuesWithoutRowIndexAreUnique() throws InterruptedException {
+    IncrementCounter counter = new IncrementCounter(0L);
+    Set<Long> values = ConcurrentHashMap.newKeySet();
+    int threads = 4;
+    int valuesPerThread = 10 * IncrementCounter.BLOCK_SIZE + 7;
+
+    List<Thread> generators = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      Thread generator = new Thread(() -> {
+        GenerationContext context = unseededContext();
+        for (int i = 0; i < valuesPerThread; i++) {
+          values.add(counter.next(context));
+        }
+      });
+      generator.start();
+      generators.add(generator);
+    }
+    for (Thread generator : generators) {
+      generator.join();
+    }
+
+    Assert.assertEquals(threads * valuesPerThread, values.size());
+    Assert.assertTrue(values.stream().allMatch(v -> v > 0L));
+  }
+
+  @Test
+  public void restoreDropsValuesReservedBefore() {
+    IncrementCounter counter = new IncrementCounter(0L);
+    GenerationContext context = unseededContext();
+    Assert.assertEquals(1L, counter.next(context));
+
+    counter.restore(1000L);
+
+    Assert.assertEquals(1001L, counter.next(context));
+  }
+
+  private static GenerationContext unseededContext() {
+    return new GenerationContext(new SplittableRandom());
+  }
+
+  // Values given to rows [firstRowIndex, firstRowIndex + count) generated one by one
+  private static List<Long> values(IncrementCounter counter, long firstRowIndex, int count) {
+    GenerationContext context = unseededContext().forRange(firstRowIndex);
+    List<Long> values = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      context.nextRow();
+      values.add(counter.next(context));
+    }
+    return values;
+  }
+}
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+public class RegexAutomatonTest {
+
+  private static final int SAMPLES = 500;
+
+  @Test
+  public void generatedStringsMatchRegex() {
+    List<String> regexes = List.of(
+        "[a-z]{5}",
+        "\\d{3}-\\d{4}",
+        "(foo|bar)+baz",
+        "[A-Z][a-z]*( [A-Z][a-z]*)?",
+        "^\\w+@\\w+\\.(com|org)$",
+        "[^0-9]{2,4}",
+        "\\D\\W\\S\\s",
+        "a{2,}b?",
+        "(?:ab|cd){3}",
+        "[\\d_-]+",
+        "x*?y++",
+        "\\u0041\\t\\.",
+        "(a|)b",
+        "((a|b)c|d){1,3}",
+        ".{0,10}");
+    SplittableRandom random = new SplittableRandom(42L);
+    for (String regex : regexes) {
+      RegexAutomaton automaton = new RegexAutomaton(regex);
+      Pattern pattern = Pattern.compile(regex);
+      for (int i = 0; i < SAMPLES; i++) {
+        String generated = automaton.generate(random);
+        Assert.assertTrue("'" + generated + "' does not match " + regex,
+            pattern.matcher(generated).matches());
+      }
+    }
+  }
+
+  @Test
+  public void unboundedQuantifiersAreCapped() {
+    RegexAutomaton automaton = new RegexAutomaton("a*b+c{2,}");
+    SplittableRandom random = new SplittableRandom(42L);
+    for (int i = 0; i < SAMPLES; i++) {
+      String generated = automaton.generate(random);
+      Assert.assertTrue(generated, generated.length() <=
+          3 * RegexAutomaton.MAX_UNBOUNDED_REPETITIONS + 3);
+    }
+  }
+
+  @Test
+  public void sameRandomGivesSameStrings() {
+    RegexAutomaton automaton = new RegexAutomaton("[A-Z]{2}-\\d{2,6}(x|y)*");
+    SplittableRandom random = new SplittableRandom(7L);
+    SplittableRandom sameRandom = new SplittableRandom(7L);
+    for (int i = 0; i < SAMPLES; i++) {
+      Assert.assertEquals(automaton.generate(random), automaton.generate(sameRandom));
+    }
+  }
+
+  @Test
+  public void invalidRegexesAreRejectedWithTheirPosition() {
+    assertInvalid("ab)c", 2, "unexpected ')'");
+    assertInvalid("(ab", 3, "missing ')'");
+    assertInvalid("[abc", 4, "missing ']'");
+    assertInvalid("*a", 1, "nothing to repeat");
+    assertInvalid("a{3,1}", 1, "repetition {3,1} is not valid");
+    assertInvalid("[z-a]", 4, "range z-a is not valid");
+    assertInvalid("ab\\", 3, "nothing to escape");
+    assertInvalid("\\u00", 2, "unicode escape must have 4 hexadecimal digits");
+  }
+
+  private static void assertInvalid(String regex, int position, String message) {
+    IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class,
+        () -> new RegexAutomaton(regex));
+    Assert.assertEquals("Regex " + regex + " is not valid at position " + position +
+        ": " + message, e.getMessage());
+  }
+}
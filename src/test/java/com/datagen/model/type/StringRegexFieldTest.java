@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import com.datagen.model.GenerationContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class StringRegexFieldTest {
+
+  private static final int SAMPLES = 500;
+
+  @Test
+  public void legacyClassWithChoicesOfSeveralCharsIsRewrittenToGroup() {
+    Assert.assertEquals("(A|567|BBB){1}",
+        StringRegexField.rewriteLegacyClasses("f", "[A,567,BBB]{1}"));
+    Assert.assertEquals("id-(AB|[0-9]|\\-6|\\&|\\?){2}-[a-z]{3}",
+        StringRegexField.rewriteLegacyClasses("f", "id-[AB,0-9,-6,&,?]{2}-[a-z]{3}"));
+  }
+
+  @Test
+  public void standardClassesAreKept() {
+    for (String regex : new String[] {"[a-z]{3}", "[a,b]{2}", "[a-z,0-9]+", "[^,]*", "\\[AB,CD\\]"}) {
+      Assert.assertEquals(regex, StringRegexField.rewriteLegacyClasses("f", regex));
+    }
+  }
+
+  @Test
+  public void legacyClassKeepsItsValues() {
+    StringRegexField field = new StringRegexField("f", "[A,567,BBB]{1}");
+    GenerationContext context = GenerationContext.seeded(42L).forRange(0L);
+    Set<String> values = new HashSet<>();
+    for (int i = 0; i < SAMPLES; i++) {
+      values.add(field.generateRandomValue(context));
+    }
+
+    Assert.assertEquals(Set.of("A", "567", "BBB"), values);
+    // Regex is kept as written, i.e. to save the model
+    Assert.assertEquals("[A,567,BBB]{1}", field.getRegex());
+  }
+}
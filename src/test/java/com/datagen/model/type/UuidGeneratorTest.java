@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.model.type;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+public class UuidGeneratorTest {
+
+  private static final int SAMPLES = 10_000;
+  private static final Pattern CANONICAL =
+      Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+  @Test
+  public void version4HasVersionAndVariantBits() {
+    SplittableRandom random = new SplittableRandom(42L);
+    Set<String> uuids = new HashSet<>();
+    for (int i = 0; i < SAMPLES; i++) {
+      String uuid = UuidGenerator.generate(4, random);
+      assertCanonical(uuid);
+      Assert.assertEquals(4, UUID.fromString(uuid).version());
+      Assert.assertEquals(2, UUID.fromString(uuid).variant());
+      uuids.add(uuid);
+    }
+    Assert.assertEquals(SAMPLES, uuids.size());
+  }
+
+  @Test
+  public void version7HasVersionVariantAndTimestamp() {
+    SplittableRandom random = new SplittableRandom(42L);
+    for (int i = 0; i < SAMPLES; i++) {
+      long before = System.currentTimeMillis();
+      String uuid = UuidGenerator.generate(7, random);
+      long after = System.currentTimeMillis();
+      assertCanonical(uuid);
+      UUID parsed = UUID.fromString(uuid);
+      Assert.assertEquals(7, parsed.version());
+      Assert.assertEquals(2, parsed.variant());
+      long timestamp = parsed.getMostSignificantBits() >>> 16;
+      Assert.assertTrue(uuid, timestamp >= before && timestamp <= after);
+    }
+  }
+
+  @Test
+  public void version7GeneratedLaterSortsAfter() throws InterruptedException {
+    SplittableRandom random = new SplittableRandom(42L);
+    String previous = UuidGenerator.generate(7, random);
+    for (int i = 0; i < 20; i++) {
+      Thread.sleep(2);
+      String next = UuidGenerator.generate(7, random);
+      Assert.assertTrue(previous + " is not before " + next, previous.compareTo(next) < 0);
+      previous = next;
+    }
+  }
+
+  @Test
+  public void bytesAreTheSameAsString() {
+    for (int version : new int[] {4, 7}) {
+      SplittableRandom random = new SplittableRandom(7L);
+      SplittableRandom sameRandom = new SplittableRandom(7L);
+      byte[] buffer = new byte[UuidGenerator.LENGTH];
+      UuidGenerator.generate(version, random, buffer);
+      String uuid = UuidGenerator.generate(version, sameRandom);
+      // Only random bits are compared, as timestamp of version 7 may have changed in between
+      Assert.assertEquals(uuid.substring(14),
+          new String(buffer, StandardCharsets.US_ASCII).substring(14));
+    }
+  }
+
+  @Test
+  public void formatIsTheSameAsUuid() {
+    SplittableRandom random = new SplittableRandom(42L);
+    byte[] buffer = new byte[UuidGenerator.LENGTH];
+    for (int i = 0; i < SAMPLES; i++) {
+      UUID uuid = new UUID(random.nextLong(), random.nextLong());
+      UuidGenerator.format(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), buffer);
+      Assert.assertEquals(uuid.toString(), new String(buffer, StandardCharsets.US_ASCII));
+    }
+  }
+
+  private static void assertCanonical(String uuid) {
+    Assert.assertEquals(UuidGenerator.LENGTH, uuid.length());
+    Assert.assertTrue(uuid, CANONICAL.matcher(uuid).matches());
+    Assert.assertEquals(uuid, UUID.fromString(uuid).toString());
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import com.datagen.config.ApplicationConfigs;
+import com.datagen.config.ConnectorParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class CommandTest {
+
+  @Test
+  public void checkpointIsKeptThroughJson() {
+    Command command = interruptedCommand();
+    ByteArrayOutputStream json = new ByteArrayOutputStream();
+
+    command.writeCommandAsJSON(json);
+    Command commandRead = Command.readCommandFromJSON(
+        new ByteArrayInputStream(json.toByteArray()));
+
+    Assert.assertNotNull(commandRead);
+    Assert.assertEquals(command.getCommandUuid(), commandRead.getCommandUuid());
+    Assert.assertEquals(Command.CommandStatus.RUNNING, commandRead.getStatus());
+    Assert.assertEquals(3L, commandRead.getBatchesDone());
+    Assert.assertEquals(10L, (long) commandRead.getNumberOfBatches());
+    Assert.assertEquals(1000L, (long) commandRead.getRowsPerBatch());
+    Assert.assertEquals(List.of(3000, 2000), commandRead.getConnectorsCounters());
+    Assert.assertEquals(Map.of("id", 5000L, "order_id", 12L), commandRead.getIncrementCounters());
+    Assert.assertEquals(command.getConnectorsList(), commandRead.getConnectorsList());
+    Assert.assertEquals(command.getProperties(), commandRead.getProperties());
+    Assert.assertTrue(commandRead.getScheduled());
+    // Only the service decides to resume a command, once it is read back
+    Assert.assertFalse(commandRead.isResuming());
+  }
+
+  @Test
+  public void incrementCountersAreKeptWithScheduledCommands() throws IOException, ClassNotFoundException {
+    Command command = interruptedCommand();
+    ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+
+    try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+      out.writeObject(command);
+    }
+    Command commandRead;
+    try (ObjectInputStream in = new ObjectInputStream(
+        new ByteArrayInputStream(serialized.toByteArray()))) {
+      commandRead = (Command) in.readObject();
+    }
+
+    Assert.assertEquals(command.getCommandUuid(), commandRead.getCommandUuid());
+    Assert.assertEquals(Command.CommandStatus.RUNNING, commandRead.getStatus());
+    Assert.assertEquals(Map.of("id", 5000L, "order_id", 12L), commandRead.getIncrementCounters());
+    Assert.assertEquals(command.getConnectorsList(), commandRead.getConnectorsList());
+  }
+
+  // Command interrupted after its third batch, as written by its last checkpoint
+  private static Command interruptedCommand() {
+    Command command = new Command();
+    command.setCommandUuid(UUID.randomUUID());
+    command.setStatus(Command.CommandStatus.RUNNING);
+    command.setModelId("customer");
+    command.setModelFilePath("/tmp/customer.json");
+    command.setOwner("admin");
+    command.setNumberOfThreads(4);
+    command.setNumberOfBatches(10L);
+    command.setRowsPerBatch(1000L);
+    command.setScheduled(true);
+    command.setDelayBetweenExecutions(60000L);
+    command.setConnectorsList(new ArrayList<>(List.of(
+        ConnectorParser.Connector.CSV, ConnectorParser.Connector.JSON)));
+    Map<ApplicationConfigs, String> properties = new HashMap<>();
+    properties.put(ApplicationConfigs.GENERATION_SEED, "42");
+    command.setProperties(properties);
+    command.setDurationMilliSeconds(1234L);
+    command.setLastFinishedTimestamp(0L);
+    command.setLastStartedTimestamp(System.currentTimeMillis());
+    command.setProgress(30d);
+    command.setBatchesDone(3L);
+    command.setConnectorsCounters(List.of(3000, 2000));
+    command.setIncrementCounters(Map.of("id", 5000L, "order_id", 12L));
+    command.setResuming(true);
+    return command;
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import com.datagen.connector.ConnectorInterface;
+import com.datagen.model.Model;
+import com.datagen.model.Row;
+import com.datagen.model.RowBatch;
+import com.datagen.model.type.Field;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+public class ConnectorWriterTest {
+
+  private static final int DEPTH = 2;
+
+  @Test
+  public void failPolicyThrowsWhenBufferIsFull() throws InterruptedException {
+    Model<Field> model = SpillFileTest.model();
+    BlockedConnector connector = new BlockedConnector();
+    ConnectorWriter writer = new ConnectorWriter("fail", connector, DEPTH,
+        ConnectorWriter.OverflowPolicy.FAIL, new SpillFile(model), null);
+    List<String> expected = new ArrayList<>();
+
+    // A chunk keeps its place in the buffer until the connector has written it
+    for (int c = 0; c < DEPTH; c++) {
+      RowBatch rowBatch = SpillFileTest.rowBatch(model, c);
+      writer.submitRowBatch(rowBatch);
+      expected.addAll(lines(rowBatch));
+    }
+    List<Row> rowsNotTaken = SpillFileTest.rowBatch(model, DEPTH).toRows();
+    Assert.assertThrows(IllegalStateException.class,
+        () -> writer.submitRows(rowsNotTaken));
+
+    connector.unblock();
+    writer.close();
+    Assert.assertNull(writer.getFailure());
+    Assert.assertEquals(expected, connector.getLines());
+  }
+
+  @Test
+  public void spillPolicyDeliversAllRowsInOrder() throws InterruptedException, IOException {
+    Model<Field> model = SpillFileTest.model();
+    BlockedConnector connector = new BlockedConnector();
+    Path spillDirectory = Files.createTempDirectory("datagen-spill-test");
+    ConnectorWriter writer = new ConnectorWriter("spill", connector, DEPTH,
+        ConnectorWriter.OverflowPolicy.SPILL, new SpillFile(model), spillDirectory);
+    List<String> expected = new ArrayList<>();
+    List<Integer> linesAtMarker = new ArrayList<>();
+
+    try {
+      // Chunks after the first (DEPTH) ones are spilled, rows and batches of rows alternately
+      for (int c = 0; c < 3 * DEPTH; c++) {
+        RowBatch rowBatch = SpillFileTest.rowBatch(model, c);
+        if (c % 2 == 0) {
+          writer.submitRowBatch(rowBatch);
+        } else {
+          writer.submitRows(rowBatch.toRows());
+        }
+        expected.addAll(lines(rowBatch));
+      }
+      writer.submitMarker(() -> linesAtMarker.add(connector.getLines().size()));
+      try (var spilled = Files.list(spillDirectory)) {
+        Assert.assertEquals(2 * DEPTH, spilled.count());
+      }
+
+      connector.unblock();
+      writer.close();
+
+      Assert.assertNull(writer.getFailure());
+      Assert.assertEquals(expected, connector.getLines());
+      // Marker comes after all chunks submitted before it, spilled ones included
+      Assert.assertEquals(List.of(expected.size()), linesAtMarker);
+      try (var spilled = Files.list(spillDirectory)) {
+        Assert.assertEquals(0, spilled.count());
+      }
+    } finally {
+      Files.deleteIfExists(spillDirectory);
+    }
+  }
+
+  private static List<String> lines(RowBatch rowBatch) {
+    return IntStream.range(0, rowBatch.getSize()).mapToObj(rowBatch::toCSV).toList();
+  }
+
+  /**
+   * Connector that does not write anything until it is unblocked, it keeps lines it received
+   */
+  private static class BlockedConnector implements ConnectorInterface {
+
+    private final CountDownLatch unblocked = new CountDownLatch(1);
+    private final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+
+    void unblock() {
+      unblocked.countDown();
+    }
+
+    List<String> getLines() {
+      return lines;
+    }
+
+    @Override
+    public void init(Model model, boolean writer) {}
+
+    @Override
+    public void terminate() {}
+
+    @Override
+    public void sendOneBatchOfRows(List<Row> rows) {
+      waitUntilUnblocked();
+      rows.forEach(row -> lines.add(row.toCSV()));
+    }
+
+    @Override
+    public void sendOneRowBatch(RowBatch rowBatch) {
+      waitUntilUnblocked();
+      lines.addAll(lines(rowBatch));
+    }
+
+    @Override
+    public boolean supportsRowBatch() {
+      return true;
+    }
+
+    @Override
+    public Model generateModel(Boolean deepAnalysis) {
+      return null;
+    }
+
+    private void waitUntilUnblocked() {
+      try {
+        unblocked.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RateLimiterTest {
+
+  private static final double DELTA = 1e-9;
+
+  @Test
+  public void constantProfileAlwaysGivesTargetRate() {
+    for (double elapsed : new double[] {0d, 0.5d, 10d, 1000d}) {
+      Assert.assertEquals(200d,
+          RateLimiter.Profile.CONSTANT.rateAt(200d, elapsed, 10d), DELTA);
+    }
+  }
+
+  @Test
+  public void rampUpProfileReachesTargetRateAfterOnePeriod() {
+    Assert.assertEquals(0d, RateLimiter.Profile.RAMP_UP.rateAt(200d, 0d, 10d), DELTA);
+    Assert.assertEquals(100d, RateLimiter.Profile.RAMP_UP.rateAt(200d, 5d, 10d), DELTA);
+    Assert.assertEquals(200d, RateLimiter.Profile.RAMP_UP.rateAt(200d, 10d, 10d), DELTA);
+    Assert.assertEquals(200d, RateLimiter.Profile.RAMP_UP.rateAt(200d, 60d, 10d), DELTA);
+  }
+
+  @Test
+  public void sineProfileOscillatesAroundTargetRate() {
+    Assert.assertEquals(200d, RateLimiter.Profile.SINE.rateAt(200d, 0d, 10d), DELTA);
+    Assert.assertEquals(300d, RateLimiter.Profile.SINE.rateAt(200d, 2.5d, 10d), DELTA);
+    Assert.assertEquals(100d, RateLimiter.Profile.SINE.rateAt(200d, 7.5d, 10d), DELTA);
+    Assert.assertEquals(300d, RateLimiter.Profile.SINE.rateAt(200d, 12.5d, 10d), DELTA);
+  }
+
+  @Test
+  public void spikesProfileTriplesRateAtStartOfEachPeriod() {
+    Assert.assertEquals(600d, RateLimiter.Profile.SPIKES.rateAt(200d, 0.5d, 10d), DELTA);
+    Assert.assertEquals(200d, RateLimiter.Profile.SPIKES.rateAt(200d, 5d, 10d), DELTA);
+    Assert.assertEquals(600d, RateLimiter.Profile.SPIKES.rateAt(200d, 20.5d, 10d), DELTA);
+    Assert.assertEquals(200d, RateLimiter.Profile.SPIKES.rateAt(200d, 21d, 10d), DELTA);
+  }
+
+  @Test
+  public void currentRateIsAtLeastOneRowPerSecond() {
+    RateLimiter rateLimiter = new RateLimiter(200d, RateLimiter.Profile.RAMP_UP, 3600d);
+    Assert.assertTrue(rateLimiter.getCurrentRate() >= 1d);
+  }
+
+  @Test
+  public void rowsAreAcquiredAtTargetRate() throws InterruptedException {
+    RateLimiter rateLimiter = new RateLimiter(1000d, RateLimiter.Profile.CONSTANT, 1d);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 5; i++) {
+      rateLimiter.acquire(100);
+    }
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9d;
+
+    // Bucket starts empty, so 500 rows take half a second
+    Assert.assertTrue("Took " + elapsedSeconds + "s", elapsedSeconds >= 0.45d);
+    Assert.assertTrue("Took " + elapsedSeconds + "s", elapsedSeconds < 2d);
+  }
+
+  @Test
+  public void requestBiggerThanBucketWaitsForItToBeFull() throws InterruptedException {
+    RateLimiter rateLimiter = new RateLimiter(100d, RateLimiter.Profile.CONSTANT, 1d);
+
+    long start = System.nanoTime();
+    rateLimiter.acquire(300);
+    double firstElapsedSeconds = (System.nanoTime() - start) / 1e9d;
+    // Rows taken beyond the bucket are paid back by the next request
+    rateLimiter.acquire(1);
+    double totalElapsedSeconds = (System.nanoTime() - start) / 1e9d;
+
+    Assert.assertTrue("Took " + firstElapsedSeconds + "s",
+        firstElapsedSeconds >= 0.95d && firstElapsedSeconds < 2.5d);
+    Assert.assertTrue("Took " + totalElapsedSeconds + "s",
+        totalElapsedSeconds >= 2.95d && totalElapsedSeconds < 5d);
+  }
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ShardDispatcherTest {
+
+  private static final List<String> WORKERS =
+      List.of("http://worker-0:4243", "http://worker-1:4243", "http://worker-2:4243");
+
+  @Test
+  public void workersGetWholeBatchesWhenThereAreEnough() {
+    List<ShardDispatcher.Shard> shards = ShardDispatcher.split(WORKERS, 10, 100);
+
+    Assert.assertEquals(3, shards.size());
+    Assert.assertEquals(List.of(4L, 3L, 3L),
+        shards.stream().map(ShardDispatcher.Shard::numberOfBatches).toList());
+    shards.forEach(s -> Assert.assertEquals(100, s.rowsPerBatch()));
+    assertContiguous(shards, 10 * 100);
+  }
+
+  @Test
+  public void workersGetPartOfEachBatchWhenThereAreFewBatches() {
+    List<ShardDispatcher.Shard> shards = ShardDispatcher.split(WORKERS, 2, 100);
+
+    Assert.assertEquals(3, shards.size());
+    shards.forEach(s -> Assert.assertEquals(2, s.numberOfBatches()));
+    Assert.assertEquals(List.of(34L, 33L, 33L),
+        shards.stream().map(ShardDispatcher.Shard::rowsPerBatch).toList());
+    assertContiguous(shards, 2 * 100);
+  }
+
+  @Test
+  public void workersWithoutRowsGetNoShard() {
+    List<ShardDispatcher.Shard> shards = ShardDispatcher.split(WORKERS, 1, 2);
+
+    Assert.assertEquals(2, shards.size());
+    Assert.assertEquals(List.of("http://worker-0:4243", "http://worker-1:4243"),
+        shards.stream().map(ShardDispatcher.Shard::worker).toList());
+    assertContiguous(shards, 2);
+  }
+
+  @Test
+  public void shardsHaveDistinctNames() {
+    List<ShardDispatcher.Shard> shards = ShardDispatcher.split(WORKERS, 7, 5);
+
+    Assert.assertEquals(List.of("shard-0", "shard-1", "shard-2"),
+        shards.stream().map(ShardDispatcher.Shard::name).toList());
+  }
+
+  @Test
+  public void incrementOriginsAreSentAsText() {
+    Map<String, Long> incrementOrigins = new LinkedHashMap<>();
+    incrementOrigins.put("id", 1000L);
+    incrementOrigins.put("order_id", -5L);
+
+    String formatted = ShardDispatcher.formatIncrementOrigins(incrementOrigins);
+
+    Assert.assertEquals("id:1000,order_id:-5", formatted);
+    Assert.assertEquals(incrementOrigins, ShardDispatcher.parseIncrementOrigins(formatted));
+    Assert.assertEquals(Map.of("id", 3L), ShardDispatcher.parseIncrementOrigins(" id : 3 "));
+    Assert.assertNull(ShardDispatcher.parseIncrementOrigins(""));
+    Assert.assertNull(ShardDispatcher.parseIncrementOrigins(null));
+  }
+
+  // Each shard must start where the previous one ends, so that row indexes do not overlap nor leave holes
+  private static void assertContiguous(List<ShardDispatcher.Shard> shards, long totalRows) {
+    long nextRowIndex = 0;
+    for (ShardDispatcher.Shard shard : shards) {
+      Assert.assertEquals(shard.name(), nextRowIndex, shard.firstRowIndex());
+      nextRowIndex += shard.numberOfRows();
+    }
+    Assert.assertEquals(totalRows, nextRowIndex);
+  }
+}
@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datagen.service.command;
+
+import com.datagen.model.GenerationContext;
+import com.datagen.model.Model;
+import com.datagen.model.Row;
+import com.datagen.model.RowBatch;
+import com.datagen.model.type.BirthdateField;
+import com.datagen.model.type.BooleanField;
+import com.datagen.model.type.CityField;
+import com.datagen.model.type.Field;
+import com.datagen.model.type.FloatField;
+import com.datagen.model.type.LongField;
+import com.datagen.model.type.StringField;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+public class SpillFileTest {
+
+  private static final int ROWS = 200;
+
+  @Test
+  public void rowsAreReadBackAsWritten() throws IOException {
+    Model<Field> model = model();
+    List<Row> rows = rowBatch(model, 1L).toRows();
+    Path path = Files.createTempFile("datagen-spill-test", ".spill");
+    try {
+      SpillFile spillFile = new SpillFile(model);
+      spillFile.write(rows, path);
+      List<Row> rowsRead = spillFile.read(path);
+
+      assertSameRows(rows, rowsRead);
+      // Values of dictionaries are written as they are, not as ordinals
+      Assert.assertTrue(rowsRead.get(0).getValue("city") instanceof CityField.City);
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  @Test
+  public void rowBatchIsReadBackAsWritten() throws IOException {
+    Model<Field> model = model();
+    RowBatch rowBatch = rowBatch(model, 2L);
+    Path path = Files.createTempFile("datagen-spill-test", ".spill");
+    try {
+      SpillFile spillFile = new SpillFile(model);
+      spillFile.write(rowBatch, path);
+      RowBatch rowBatchRead = spillFile.readRowBatch(path);
+
+      assertSameRowBatch(rowBatch, rowBatchRead);
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  @Test
+  public void rowBatchWithOneRowIsReadBackAsWritten() throws IOException {
+    Model<Field> model = model();
+    RowBatch rowBatch = new RowBatch(model, 1);
+    rowBatch.generateRow(GenerationContext.seeded(3L).forRange(0L));
+    Path path = Files.createTempFile("datagen-spill-test", ".spill");
+    try {
+      SpillFile spillFile = new SpillFile(model);
+      spillFile.write(rowBatch, path);
+
+      assertSameRowBatch(rowBatch, spillFile.readRowBatch(path));
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  static void assertSameRows(List<Row> expected, List<Row> actual) {
+    Assert.assertEquals(expected.size(), actual.size());
+    for (int r = 0; r < expected.size(); r++) {
+      Assert.assertEquals("Row " + r, expected.get(r).toCSV(), actual.get(r).toCSV());
+    }
+  }
+
+  static void assertSameRowBatch(RowBatch expected, RowBatch actual) {
+    Assert.assertEquals(expected.getSize(), actual.getSize());
+    RowBatch.ColumnType[] columnTypes = expected.getColumnTypes();
+    Assert.assertArrayEquals(columnTypes, actual.getColumnTypes());
+    for (int c = 0; c < columnTypes.length; c++) {
+      if (columnTypes[c] == RowBatch.ColumnType.DICTIONARY) {
+        // Ordinals are spilled, so values come back from the same dictionary
+        for (int r = 0; r < expected.getSize(); r++) {
+          Assert.assertEquals(expected.getDictionaryColumn(c)[r], actual.getDictionaryColumn(c)[r]);
+          Assert.assertSame(expected.getValue(c, r), actual.getValue(c, r));
+        }
+      }
+    }
+    for (int r = 0; r < expected.getSize(); r++) {
+      Assert.assertEquals("Row " + r, expected.toCSV(r), actual.toCSV(r));
+    }
+  }
+
+  static RowBatch rowBatch(Model<Field> model, long seed) {
+    RowBatch rowBatch = new RowBatch(model, ROWS);
+    rowBatch.generateRows(ROWS, GenerationContext.seeded(seed).forRange(0L));
+    return rowBatch;
+  }
+
+  // Columns of each kind: longs, doubles, bytes, ordinals of a dictionary and objects
+  static Model<Field> model() {
+    LinkedHashMap<String, Field> fields = new LinkedHashMap<>();
+    fields.put("id", new LongField("id", null, 0L, 1_000_000L));
+    fields.put("score", new FloatField("score", null, 0L, 100L));
+    fields.put("active", new BooleanField("active", null));
+    fields.put("code", new StringField("code", 8, null));
+    fields.put("city", new CityField("city", List.of("France")));
+    fields.put("birthdate", new BirthdateField("birthdate", null, null, null));
+    return new Model<>("spill", fields, null, null, null, null);
+  }
+}